@@ -0,0 +1,96 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.controller;
+
+import com.kuuhaku.model.persistent.user.Account;
+import com.kuuhaku.model.persistent.user.Profile;
+import com.kuuhaku.model.records.id.ProfileId;
+import com.ygimenez.json.JSONObject;
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Id;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Id resolution done by {@link DAO#find} per call: the field walk it used to do against {@link EntityMeta}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EntityMetaBenchmark {
+	@Param({"account", "profile"})
+	public String entity;
+
+	private Class<?> klass;
+	private Object id;
+
+	@Setup
+	public void setup() {
+		switch (entity) {
+			case "account" -> {
+				klass = Account.class;
+				id = "350836145921327115";
+			}
+			case "profile" -> {
+				klass = Profile.class;
+				id = new ProfileId("350836145921327115", "421495229594730496");
+			}
+		}
+
+		EntityMeta.of(klass);
+	}
+
+	@Benchmark
+	public JSONObject reflection() throws IllegalAccessException {
+		Map<String, Object> ids = new HashMap<>();
+		for (Field f : FieldUtils.getAllFields(klass)) {
+			if (f.isAnnotationPresent(Id.class)) {
+				ids.put(f.getName(), id);
+				break;
+			} else if (f.isAnnotationPresent(EmbeddedId.class)) {
+				for (Field ef : f.getType().getDeclaredFields()) {
+					if (ef.isAnnotationPresent(Column.class)) {
+						ef.setAccessible(true);
+						ids.put(f.getName() + "." + ef.getName(), ef.get(id));
+						ef.setAccessible(false);
+					}
+				}
+			}
+		}
+
+		return new JSONObject(ids);
+	}
+
+	@Benchmark
+	public boolean metaLookup() {
+		EntityMeta meta = EntityMeta.of(klass);
+		return meta.hasId() && meta.isAutoMake();
+	}
+
+	@Benchmark
+	public JSONObject metaIdMap() {
+		return EntityMeta.of(klass).toIdMap(id);
+	}
+}
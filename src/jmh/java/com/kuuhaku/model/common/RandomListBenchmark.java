@@ -0,0 +1,164 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.model.common;
+
+import com.kuuhaku.util.Calc;
+import kotlin.Pair;
+import org.apache.commons.collections4.list.TreeList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * {@link RandomList} draws against the {@code TreeMap} sampler it replaced, kept below as {@link TreeMapList}.
+ * <p>
+ * {@code draw} is one weighted draw from a built list, {@code build} fills a fresh list and takes one draw (the gacha
+ * and spawn pattern), {@code batch} takes {@value #BATCH} draws (the synthesis simulation pattern).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RandomListBenchmark {
+	private static final int BATCH = 1000;
+	private static final double MULT = 1.5;
+
+	@Param({"4", "64", "1024", "10000"})
+	public int pool;
+
+	private final RandomGenerator rng = new SplittableRandom(42);
+	private double[] weights;
+	private RandomList<Integer> alias;
+	private TreeMapList<Integer> treeMap;
+
+	@Setup
+	public void setup() {
+		Random seed = new Random(42);
+		weights = new double[pool];
+		for (int i = 0; i < pool; i++) {
+			weights[i] = 1 + seed.nextInt(5) + seed.nextDouble();
+		}
+
+		alias = fillAlias();
+		treeMap = fillTreeMap();
+		alias.get();
+		treeMap.get();
+	}
+
+	private RandomList<Integer> fillAlias() {
+		RandomList<Integer> out = new RandomList<>(rng, MULT);
+		for (int i = 0; i < pool; i++) {
+			out.add(i, weights[i]);
+		}
+
+		return out;
+	}
+
+	private TreeMapList<Integer> fillTreeMap() {
+		TreeMapList<Integer> out = new TreeMapList<>(rng, MULT);
+		for (int i = 0; i < pool; i++) {
+			out.add(i, weights[i]);
+		}
+
+		return out;
+	}
+
+	@Benchmark
+	public Integer drawTreeMap() {
+		return treeMap.get();
+	}
+
+	@Benchmark
+	public Integer drawAlias() {
+		return alias.get();
+	}
+
+	@Benchmark
+	public Integer buildTreeMap() {
+		return fillTreeMap().get();
+	}
+
+	@Benchmark
+	public Integer buildAlias() {
+		return fillAlias().get();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void batchTreeMap(Blackhole bh) {
+		for (int i = 0; i < BATCH; i++) {
+			bh.consume(treeMap.get());
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public int[] batchAlias() {
+		return alias.sample(BATCH);
+	}
+
+	/**
+	 * The sampler {@link RandomList} used before the alias table: boxed weights in a {@link TreeList}, turned into a
+	 * cumulative {@link TreeMap} on the first draw after every change.
+	 */
+	private static final class TreeMapList<T> {
+		private final NavigableMap<Double, T> map = new TreeMap<>();
+		private final List<Pair<Double, T>> pool = new TreeList<>();
+		private final RandomGenerator rng;
+		private final double mult;
+		private double total = 0;
+
+		private TreeMapList(RandomGenerator rng, double mult) {
+			this.rng = rng;
+			this.mult = mult;
+		}
+
+		private void add(T item, double weight) {
+			total = 0;
+			map.clear();
+			pool.add(new Pair<>(weight, item));
+		}
+
+		private T get() {
+			if (pool.isEmpty()) return null;
+			else if (map.isEmpty()) {
+				pool.sort(Comparator.comparingDouble(Pair::getFirst));
+				double min = pool.getFirst().getFirst();
+				double max = pool.getLast().getFirst();
+
+				for (Pair<Double, T> p : pool) {
+					double weight = p.getFirst();
+					double fac;
+					if (min == max) {
+						fac = 0;
+					} else {
+						fac = 1 - Calc.offsetPrcnt(weight, max, min);
+					}
+
+					double mult = Math.pow(1 + fac / 2, this.mult);
+					map.put(total += (weight * mult), p.getSecond());
+				}
+			}
+
+			return map.ceilingEntry(rng.nextDouble(total)).getValue();
+		}
+	}
+}
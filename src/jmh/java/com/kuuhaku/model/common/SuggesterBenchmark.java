@@ -0,0 +1,115 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.model.common;
+
+import org.apache.commons.text.similarity.LevenshteinDistance;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mistyped card id lookups through {@link Suggester} against a linear scan scoring every id the way the
+ * {@code levenshtein_less_equal} query in {@code Utils.didYouMean} does, without the database round trip.
+ * <p>
+ * Ids are synthetic {@code NAME_NAME} strings, queries are ids with one to three random edits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SuggesterBenchmark {
+	private static final int MAX_DISTANCE = 5;
+	private static final LevenshteinDistance LEVENSHTEIN = LevenshteinDistance.getDefaultInstance();
+	private static final String[] SYLLABLES = {
+			"A", "KA", "SA", "TA", "NA", "HA", "MA", "YA", "RA", "WA", "KI", "SHI", "CHI", "NI", "HI", "MI", "RI",
+			"KU", "SU", "TSU", "NU", "FU", "MU", "YU", "RU", "KE", "SE", "TE", "NE", "RE", "KO", "SO", "TO", "NO", "YO"
+	};
+
+	@Param({"1000", "5000"})
+	public int cards;
+
+	private List<String> ids;
+	private String[] queries;
+	private Suggester suggester;
+	private int next;
+
+	@Setup
+	public void setup() {
+		Random rng = new Random(42);
+		TreeSet<String> names = new TreeSet<>();
+		while (names.size() < cards) {
+			names.add(word(rng) + "_" + word(rng));
+		}
+
+		ids = new ArrayList<>(names);
+		queries = new String[256];
+		for (int i = 0; i < queries.length; i++) {
+			StringBuilder sb = new StringBuilder(ids.get(rng.nextInt(cards)));
+			for (int j = rng.nextInt(3); j >= 0; j--) {
+				int at = rng.nextInt(sb.length());
+				switch (rng.nextInt(3)) {
+					case 0 -> sb.deleteCharAt(at);
+					case 1 -> sb.insert(at, (char) ('A' + rng.nextInt(26)));
+					default -> sb.setCharAt(at, (char) ('A' + rng.nextInt(26)));
+				}
+			}
+
+			queries[i] = sb.toString().toLowerCase();
+		}
+
+		suggester = new Suggester(ids, MAX_DISTANCE);
+		for (String q : queries) {
+			suggester.suggest(q);
+		}
+	}
+
+	private static String word(Random rng) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 2 + rng.nextInt(3); i > 0; i--) {
+			sb.append(SYLLABLES[rng.nextInt(SYLLABLES.length)]);
+		}
+
+		return sb.toString();
+	}
+
+	@Benchmark
+	public String scan() {
+		String query = queries[next++ & 255].toUpperCase();
+
+		String best = null;
+		int bestDist = MAX_DISTANCE + 1;
+		for (String id : ids) {
+			int dist = LEVENSHTEIN.apply(id.substring(0, Math.min(query.length(), id.length())), query);
+			if (dist < bestDist) {
+				best = id;
+				bestDist = dist;
+			}
+		}
+
+		return best;
+	}
+
+	@Benchmark
+	public String bkTree() {
+		return suggester.suggest(queries[next++ & 255]);
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.model.common.shoukan;
+
+import com.kuuhaku.Main;
+import com.kuuhaku.controller.DAO;
+import com.kuuhaku.interfaces.shoukan.Drawable;
+import com.kuuhaku.model.persistent.shoukan.Deck;
+import com.kuuhaku.model.persistent.shoukan.Evogear;
+import com.kuuhaku.model.persistent.shoukan.Field;
+import com.kuuhaku.model.persistent.shoukan.Senshi;
+import com.kuuhaku.model.persistent.user.StashedCard;
+import com.kuuhaku.model.records.shoukan.DeckEntry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Card loading done by {@link Hand#loadCards()} for one player at match start, before and after the card catalog.
+ * <p>
+ * Runs against a live database, configured through the same {@code SERVER_IP}, {@code DB_NAME}, {@code DB_LOGIN}
+ * and {@code DB_PASS} variables as the bot. The deck defaults to the largest one in the database, pass
+ * {@code -p deck=<id>} to pick another.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MatchStartBenchmark {
+	@Param({"0"})
+	public int deck;
+
+	private Deck userDeck;
+
+	@Setup
+	public void setup() {
+		if (deck == 0) {
+			deck = DAO.queryNative(Integer.class, """
+					SELECT deck_id
+					FROM stashed_card
+					WHERE deck_id IS NOT NULL
+					GROUP BY deck_id
+					ORDER BY count(1) DESC
+					LIMIT 1
+					""");
+		}
+
+		userDeck = DAO.find(Deck.class, deck);
+		Main.getCatalogManager().reload();
+	}
+
+	@Benchmark
+	public List<Drawable<?>> cardmasterQueries() {
+		List<List<? extends Drawable<?>>> cards = new ArrayList<>();
+		cards.add(DAO.queryAll(Senshi.class, "SELECT s FROM Senshi s WHERE cast(get_rarity_index(s.card.rarity) AS INTEGER) BETWEEN 1 AND 5 AND NOT CAST(has(s.base.tags, 'FUSION') AS BOOLEAN)"));
+		cards.add(DAO.queryAll(Evogear.class, "SELECT e FROM Evogear e WHERE e.base.mana > 0"));
+		cards.add(DAO.queryAll(Field.class, "SELECT f FROM Field f WHERE NOT f.effect"));
+
+		return cards.parallelStream()
+				.flatMap(List::stream)
+				.<Drawable<?>>map(Drawable::copy)
+				.toList();
+	}
+
+	@Benchmark
+	public List<Drawable<?>> cardmasterCatalog() {
+		return Main.getCatalogManager().getCardmasterPool();
+	}
+
+	@Benchmark
+	public List<Drawable<?>> deckPerCard() {
+		List<Drawable<?>> out = new ArrayList<>();
+		for (List<DeckEntry> entries : List.of(userDeck.getSenshiRaw(), userDeck.getEvogearRaw(), userDeck.getFieldsRaw())) {
+			for (DeckEntry de : entries) {
+				Drawable<?> d = switch (de.type()) {
+					case KAWAIPON, SENSHI -> DAO.find(Senshi.class, de.id());
+					case EVOGEAR -> DAO.find(Evogear.class, de.id());
+					case FIELD -> DAO.find(Field.class, de.id());
+				};
+
+				d.setStashRef(DAO.find(StashedCard.class, de.stashId()));
+				out.add(d);
+			}
+		}
+
+		return out;
+	}
+
+	@Benchmark
+	public List<Drawable<?>> deckBatched() {
+		return DeckEntry.load(userDeck.getEntries());
+	}
+}
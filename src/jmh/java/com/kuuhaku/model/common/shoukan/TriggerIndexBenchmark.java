@@ -0,0 +1,111 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.model.common.shoukan;
+
+import com.kuuhaku.model.enums.shoukan.Trigger;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static com.kuuhaku.model.enums.shoukan.Trigger.*;
+
+/**
+ * Dispatch of the triggers fired by one attack exchange, against {@code listeners} bindings listening for one to three
+ * triggers each, half of them on the current side.
+ * <p>
+ * {@link #scan} is how {@code Shoukan.triggerBindings} and {@code triggerEOTs} worked before the index: sort or copy
+ * every listener, then test each one. {@link #indexed} is the {@link TriggerIndex} lookup with the current-side-first
+ * partition done on the hits only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TriggerIndexBenchmark {
+	private static final Trigger[] EXCHANGE = {
+			ON_ATTACK, ON_DEFEND, ON_HIT, ON_DAMAGE, ON_LOSE, ON_KILL, ON_CONFIRMED_KILL, ON_GRAVEYARD, ON_EFFECT_TARGET
+	};
+
+	public record Listener(int side, Set<Trigger> triggers) {
+	}
+
+	@Param({"8", "32", "128"})
+	public int listeners;
+
+	private final Set<Listener> all = new HashSet<>();
+	private final TriggerIndex<Listener> index = new TriggerIndex<>(Listener::triggers);
+
+	@Setup
+	public void setup() {
+		Random rng = new Random(42);
+		Trigger[] values = Trigger.values();
+		for (int i = 0; i < listeners; i++) {
+			Set<Trigger> trigs = EnumSet.noneOf(Trigger.class);
+			for (int j = rng.nextInt(3); j >= 0; j--) {
+				trigs.add(rng.nextBoolean() ? EXCHANGE[rng.nextInt(EXCHANGE.length)] : values[rng.nextInt(values.length)]);
+			}
+
+			Listener l = new Listener(i % 2, trigs);
+			all.add(l);
+			index.add(l);
+		}
+	}
+
+	@Benchmark
+	public void scan(Blackhole bh) {
+		for (Trigger fired : EXCHANGE) {
+			List<Listener> binds = all.stream()
+					.sorted(Comparator.comparing(l -> l.side() == 0, Comparator.reverseOrder()))
+					.toList();
+
+			for (Listener l : binds) {
+				if (l.triggers().contains(fired)) bh.consume(l);
+			}
+
+			for (Listener l : Set.copyOf(all)) {
+				if (l.triggers().contains(fired)) bh.consume(l);
+			}
+		}
+	}
+
+	@Benchmark
+	public void indexed(Blackhole bh) {
+		for (Trigger fired : EXCHANGE) {
+			List<Listener> binds = index.get(fired);
+			if (!binds.isEmpty()) {
+				List<Listener> ordered = new ArrayList<>(binds.size());
+				for (Listener l : binds) {
+					if (l.side() == 0) ordered.add(l);
+				}
+				for (Listener l : binds) {
+					if (l.side() != 0) ordered.add(l);
+				}
+
+				for (Listener l : ordered) {
+					bh.consume(l);
+				}
+			}
+
+			for (Listener l : index.get(EnumSet.of(fired))) {
+				bh.consume(l);
+			}
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.util.text;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Locale message lookup plus formatting, cycling through {@value #KEYS} real English messages that take arguments.
+ * <p>
+ * {@link #bundle} is the path {@code I18N.get} took before the compiled tables: a 128-entry Caffeine cache in front
+ * of {@link ResourceBundle} lookups, then {@link String#formatted}. {@link #template} is the {@link Template} table
+ * {@code LocaleManager} compiles at boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TemplateBenchmark {
+	private static final int KEYS = 256;
+	private static final Object[] ARGS = {"Shiro", "1,250", "KAWAIPON"};
+
+	private ResourceBundle messages;
+	private Cache<String, String> cache;
+	private Map<String, Template> table;
+	private String[] keys;
+	private int next;
+
+	@Setup
+	public void setup() {
+		messages = ResourceBundle.getBundle("locale/lang", Locale.of("en"));
+		cache = Caffeine.newBuilder().maximumSize(128).build();
+
+		Map<String, Template> compiled = new HashMap<>();
+		List<String> usable = new ArrayList<>();
+		for (String key : new TreeSet<>(messages.keySet())) {
+			String message = messages.getString(key);
+			Template tpl = Template.of(message);
+			compiled.put(key, tpl);
+
+			if (!message.contains("%") || usable.size() >= KEYS) continue;
+
+			try {
+				message.formatted(ARGS);
+				tpl.format(ARGS);
+				usable.add(key);
+			} catch (IllegalFormatException e) {
+				continue;
+			}
+		}
+
+		table = Map.copyOf(compiled);
+		keys = new String[KEYS];
+		for (int i = 0; i < KEYS; i++) {
+			keys[i] = usable.get(i % usable.size());
+		}
+	}
+
+	@Benchmark
+	public String bundle() {
+		String key = keys[next++ & (KEYS - 1)];
+
+		String message = cache.getIfPresent("EN-" + key);
+		if (message == null) {
+			try {
+				message = messages.getString(key);
+			} catch (MissingResourceException e) {
+				message = key;
+			}
+		}
+
+		cache.put("EN-" + key, message);
+		return message.formatted(ARGS);
+	}
+
+	@Benchmark
+	public String template() {
+		String key = keys[next++ & (KEYS - 1)];
+
+		Template tpl = table.get(key);
+		return tpl == null ? key.formatted(ARGS) : tpl.format(ARGS);
+	}
+}
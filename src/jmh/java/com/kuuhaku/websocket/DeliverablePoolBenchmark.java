@@ -0,0 +1,108 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.websocket;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of {@value #BURST} card render requests drawn from {@code distinct} card keys, handled the way
+ * {@code CommonSocket} used to (one after the other on the socket thread) and through {@link DeliverablePool}.
+ * <p>
+ * Each render draws and encodes a card-sized PNG, standing in for {@code Drawable.render}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DeliverablePoolBenchmark {
+	private static final int BURST = 256;
+
+	@Param({"16", "256"})
+	public int distinct;
+
+	private DeliverablePool pool;
+	private String[] keys;
+
+	@Setup
+	public void setup() {
+		pool = new DeliverablePool();
+
+		Random rng = new Random(42);
+		keys = new String[BURST];
+		for (int i = 0; i < BURST; i++) {
+			keys[i] = "CARD_" + rng.nextInt(distinct) + "-DEFAULT-EN";
+		}
+	}
+
+	private static byte[] render(String key) {
+		BufferedImage bi = new BufferedImage(225, 350, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g2d = bi.createGraphics();
+		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g2d.setPaint(new GradientPaint(0, 0, new Color(key.hashCode()), 225, 350, Color.BLACK));
+		g2d.fillRoundRect(0, 0, 225, 350, 20, 20);
+		g2d.setColor(Color.WHITE);
+		g2d.drawString(key, 10, 30);
+		g2d.dispose();
+
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+			ImageIO.write(bi, "png", baos);
+			return baos.toByteArray();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BURST)
+	public int inline() {
+		int bytes = 0;
+		for (String key : keys) {
+			bytes += render(key).length;
+		}
+
+		return bytes;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BURST)
+	public int pooled() {
+		List<CompletableFuture<byte[]>> pending = new ArrayList<>(BURST);
+		for (String key : keys) {
+			pending.add(pool.submit(key, () -> render(key)));
+		}
+
+		int bytes = 0;
+		for (CompletableFuture<byte[]> f : pending) {
+			bytes += f.join().length;
+		}
+
+		return bytes;
+	}
+}
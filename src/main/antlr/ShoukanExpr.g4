@@ -19,3 +19,4 @@ MAX: 'max';
 NUM: [0-9]+ ('.' [0-9]+)?;
 NAME: [a-z]+;
 VAR: '$' NAME ('.' NAME)?;
+WS: [ \t]+ -> skip;
@@ -0,0 +1,165 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku;
+
+import com.kuuhaku.generated.ShoukanExprLexer;
+import com.kuuhaku.generated.ShoukanExprParser;
+import com.ygimenez.json.JSONObject;
+import org.antlr.v4.runtime.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.kuuhaku.generated.ShoukanExprParser.*;
+
+/**
+ * Description expression compiled once from the ShoukanExpr grammar into a tree of
+ * primitive nodes. Variables are resolved to indexes of {@link #VARIABLES} at compile time.
+ */
+public final class CompiledExpression {
+	public static final List<String> VARIABLES = List.of(
+			"php", "bhp", "pmp", "pdg", "prg", "mp", "hp", "atk", "dfs", "ddg", "pry"
+	);
+
+	private static final Map<String, Optional<CompiledExpression>> CACHE = new ConcurrentHashMap<>();
+	private static final BaseErrorListener THROWING = new BaseErrorListener() {
+		@Override
+		public void syntaxError(Recognizer<?, ?> recognizer, Object symbol, int line, int pos, String msg, RecognitionException e) {
+			throw new IllegalArgumentException(msg);
+		}
+	};
+
+	private interface Node {
+		double eval(double[] vars, JSONObject data);
+	}
+
+	private final Node root;
+
+	private CompiledExpression(Node root) {
+		this.root = root;
+	}
+
+	/**
+	 * Returns the compiled form of the expression, or {@code null} if the grammar doesn't cover it.
+	 */
+	public static CompiledExpression compile(String expr) {
+		return CACHE.computeIfAbsent(expr, k -> {
+			try {
+				ShoukanExprLexer lex = new ShoukanExprLexer(CharStreams.fromString(k));
+				lex.removeErrorListeners();
+				lex.addErrorListener(THROWING);
+
+				ShoukanExprParser parser = new ShoukanExprParser(new CommonTokenStream(lex));
+				parser.removeErrorListeners();
+				parser.addErrorListener(THROWING);
+
+				LineContext tree = parser.line();
+				if (parser.getCurrentToken().getType() != Token.EOF) {
+					return Optional.empty();
+				}
+
+				return Optional.of(new CompiledExpression(build(tree.expr())));
+			} catch (IllegalArgumentException e) {
+				return Optional.empty();
+			}
+		}).orElse(null);
+	}
+
+	public double eval(double[] vars, JSONObject data) {
+		double out = root.eval(vars, data);
+		if (!Double.isFinite(out)) return 0;
+
+		// Drops binary floating point noise so rounding matches decimal evaluation
+		return Math.rint(out * 1e8) / 1e8;
+	}
+
+	private static Node build(ExprContext ctx) {
+		boolean neg = !ctx.getTokens(SUB).isEmpty() && !(ctx instanceof SumSubContext);
+
+		Node node = switch (ctx) {
+			case ValueContext v -> value(v);
+			case GroupContext g -> build(g.expr());
+			case MulDivContext md -> {
+				Node l = build(md.left);
+				Node r = build(md.right);
+
+				if (md.op.getType() == MUL) {
+					yield (vars, data) -> l.eval(vars, data) * r.eval(vars, data);
+				} else {
+					yield (vars, data) -> l.eval(vars, data) / r.eval(vars, data);
+				}
+			}
+			case SumSubContext ss -> {
+				Node l = build(ss.left);
+				Node r = build(ss.right);
+
+				if (ss.op.getType() == SUM) {
+					yield (vars, data) -> l.eval(vars, data) + r.eval(vars, data);
+				} else {
+					yield (vars, data) -> l.eval(vars, data) - r.eval(vars, data);
+				}
+			}
+			case FunctionContext fc -> {
+				Node l = build(fc.left);
+				Node r = build(fc.right);
+
+				if (fc.func.getType() == MAX) {
+					yield (vars, data) -> Math.max(l.eval(vars, data), r.eval(vars, data));
+				} else {
+					yield (vars, data) -> Math.min(l.eval(vars, data), r.eval(vars, data));
+				}
+			}
+			default -> throw new IllegalArgumentException("Unsupported expression " + ctx.getText());
+		};
+
+		if (neg) {
+			Node inner = node;
+			return (vars, data) -> -inner.eval(vars, data);
+		}
+
+		return node;
+	}
+
+	private static Node value(ValueContext ctx) {
+		String text = ctx.element.getText();
+		if (ctx.element.getType() == NUM) {
+			double val = Double.parseDouble(text);
+			return (vars, data) -> val;
+		}
+
+		String[] path = text.substring(1).split("\\.");
+		if (path.length == 2) {
+			if (!path[0].equals("data")) {
+				throw new IllegalArgumentException("Unknown variable " + text);
+			}
+
+			String field = path[1];
+			return (vars, data) -> data != null && data.get(field) instanceof Number n ? n.doubleValue() : 0;
+		}
+
+		int idx = VARIABLES.indexOf(path[0]);
+		if (idx == -1) {
+			throw new IllegalArgumentException("Unknown variable " + text);
+		}
+
+		return (vars, data) -> vars[idx];
+	}
+}
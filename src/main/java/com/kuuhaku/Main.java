@@ -20,8 +20,17 @@ package com.kuuhaku;
 
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.manager.CacheManager;
+import com.kuuhaku.manager.CatalogManager;
 import com.kuuhaku.manager.CommandManager;
+import com.kuuhaku.manager.GameManager;
+import com.kuuhaku.manager.LeaderboardManager;
+import com.kuuhaku.manager.LocaleManager;
+import com.kuuhaku.manager.MarketManager;
+import com.kuuhaku.manager.MetricsManager;
 import com.kuuhaku.manager.ScheduleManager;
+import com.kuuhaku.manager.SuggestionManager;
+import com.kuuhaku.manager.TitleManager;
+import com.kuuhaku.manager.WeightManager;
 import com.kuuhaku.model.common.ExecChain;
 import com.kuuhaku.model.persistent.shiro.GlobalProperty;
 import com.sun.management.OperatingSystemMXBean;
@@ -37,9 +46,18 @@ public class Main {
 	private static final OperatingSystemMXBean info = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
 	protected static final StopWatch boot = new StopWatch();
 
+	private static final LocaleManager localeManager = new LocaleManager();
 	private static final CacheManager cacheManager = new CacheManager();
 	private static final CommandManager commandManager = new CommandManager();
 	private static final ScheduleManager scheduleManager = new ScheduleManager();
+	private static final MetricsManager metricsManager = new MetricsManager();
+	private static final WeightManager weightManager = new WeightManager();
+	private static final LeaderboardManager leaderboardManager = new LeaderboardManager();
+	private static final TitleManager titleManager = new TitleManager();
+	private static final GameManager gameManager = new GameManager();
+	private static final SuggestionManager suggestionManager = new SuggestionManager();
+	private static final MarketManager marketManager = new MarketManager();
+	private static final CatalogManager catalogManager = new CatalogManager();
 
 	private static Application app;
 
@@ -93,6 +111,10 @@ public class Main {
 		READY.run();
 	}
 
+	public static LocaleManager getLocaleManager() {
+		return localeManager;
+	}
+
 	public static CacheManager getCacheManager() {
 		return cacheManager;
 	}
@@ -105,6 +127,38 @@ public class Main {
 		return scheduleManager;
 	}
 
+	public static MetricsManager getMetricsManager() {
+		return metricsManager;
+	}
+
+	public static WeightManager getWeightManager() {
+		return weightManager;
+	}
+
+	public static LeaderboardManager getLeaderboardManager() {
+		return leaderboardManager;
+	}
+
+	public static TitleManager getTitleManager() {
+		return titleManager;
+	}
+
+	public static GameManager getGameManager() {
+		return gameManager;
+	}
+
+	public static SuggestionManager getSuggestionManager() {
+		return suggestionManager;
+	}
+
+	public static MarketManager getMarketManager() {
+		return marketManager;
+	}
+
+	public static CatalogManager getCatalogManager() {
+		return catalogManager;
+	}
+
 	public static Application getApp() {
 		return app;
 	}
@@ -38,9 +38,13 @@ public class ClearCacheCommand implements Executable {
 	public void execute(JDA bot, I18N locale, EventData data, MessageData.Guild event, JSONObject args) {
 		CacheManager man = Main.getCacheManager();
 		man.getResourceCache().invalidateAll();
-		man.getLocaleCache().invalidateAll();
+		man.getImageCache().invalidateAll();
 		man.getScriptCache().invalidateAll();
 		man.getPatternCache().invalidateAll();
+		man.invalidateRenders();
+		Main.getLocaleManager().reload();
+		Main.getMarketManager().rebuild();
+		Main.getCatalogManager().reload();
 
 		event.channel().sendMessage(locale.get("success/cache_clear")).queue();
 	}
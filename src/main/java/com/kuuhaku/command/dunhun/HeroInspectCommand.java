@@ -233,18 +233,16 @@ public class HeroInspectCommand implements Executable {
 				case UNIQUE -> new Color(0xC64C00);
 			}).getRGB());
 
-			ThreadLocal<int[]> out = ThreadLocal.withInitial(() -> new int[4]);
 			BufferedImage icon = IO.getImage(e.getImageUrl());
-			Graph.forEachPixel(icon, (x, y, rgb) -> {
+			Graph.forEachPixel(icon, rgb -> {
 				double bright = (rgb & 0xFF) / 255d;
-				int[] aux = out.get();
 
-				aux[0] = (rgb >> 24) & 0xFF;
-				for (int i = 1; i < color.length; i++) {
-					aux[i] = (int) (color[i] * bright);
-				}
-
-				return Graph.packRGB(aux);
+				return Graph.packRGB(
+						(rgb >> 24) & 0xFF,
+						(int) (color[1] * bright),
+						(int) (color[2] * bright),
+						(int) (color[3] * bright)
+				);
 			});
 
 			action.addFiles(FileUpload.fromData(IO.getBytes(icon, "png"), "thumb.png"));
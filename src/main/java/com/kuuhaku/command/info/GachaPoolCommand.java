@@ -30,9 +30,12 @@ import com.kuuhaku.model.common.gacha.Gacha;
 import com.kuuhaku.model.enums.Category;
 import com.kuuhaku.model.enums.I18N;
 import com.kuuhaku.model.persistent.shiro.Card;
+import com.kuuhaku.model.persistent.user.Account;
 import com.kuuhaku.model.persistent.user.Kawaipon;
 import com.kuuhaku.model.records.EventData;
 import com.kuuhaku.model.records.MessageData;
+import com.kuuhaku.util.Calc;
+import com.kuuhaku.util.Odds;
 import com.kuuhaku.util.Utils;
 import com.ygimenez.json.JSONObject;
 import net.dv8tion.jda.api.EmbedBuilder;
@@ -82,7 +85,9 @@ public class GachaPoolCommand implements Executable {
 				.setTitle(locale.get("str/gacha_pool", locale.get("gacha/" + type.value()).toLowerCase()));
 
 		try {
-			Kawaipon kp = data.profile().getAccount().getKawaipon();
+			Account acc = data.profile().getAccount();
+			Kawaipon kp = acc.getKawaipon();
+			int draws = type.prizes() + acc.getItemCount("extra_draw");
 
 			Gacha gacha = chosen.getConstructor(User.class).newInstance(event.user());
 			List<Card> pool = new ArrayList<>(DAO.queryAll(Card.class, "SELECT c FROM Card c WHERE id IN ?1", gacha.getPool()));
@@ -92,14 +97,16 @@ public class GachaPoolCommand implements Executable {
 			);
 
 			Card fav = kp.getFavCard();
+			Map<String, Double> odds = gacha.getOdds(kp.getFavCardId(), false);
+			eb.setDescription(locale.get("str/gacha_pool_odds", draws));
 			if (pool.contains(fav)) {
-				eb.setDescription("### " + fav.getRarity().getEmote(fav) + fav.getName());
+				eb.appendDescription("\n### " + fav.getRarity().getEmote(fav) + fav.getName() + formatOdds(odds, fav, draws));
 			}
 
 			List<Page> pages = Utils.generatePages(eb, pool, 20, 10,
 					c -> {
 						if (c.equals(fav)) return null;
-						return c.getRarity().getEmote(c) + c.getName();
+						return c.getRarity().getEmote(c) + c.getName() + formatOdds(odds, c, draws);
 					},
 					(p, t) -> eb.setFooter(locale.get("str/page", p + 1, t))
 			);
@@ -110,4 +117,9 @@ public class GachaPoolCommand implements Executable {
 			throw new RuntimeException(e);
 		}
 	}
+
+	private static String formatOdds(Map<String, Double> odds, Card card, int draws) {
+		double p = odds.getOrDefault(card.getId(), 0d);
+		return " `" + Calc.round(p * 100, 3) + "%` / `" + Calc.round(Odds.atLeastOnce(p, draws) * 100, 3) + "%`";
+	}
 }
@@ -115,7 +115,7 @@ public class SeeCardCommand implements Executable {
         // Tenta encontrar o objeto Card pelo identificador fornecido.
 		Card card = DAO.find(Card.class, args.getString("card").toUpperCase());
 		if (card == null) {
-			String sug = Utils.didYouMean(args.getString("card"), "SELECT id AS value FROM v_card_names");
+			String sug = Utils.didYouMeanCard(args.getString("card"));
 			if (sug == null) {
 				// Se não houver sugestões, envia mensagem de erro.
 				event.channel().sendMessage(locale.get("error/unknown_card_none")).queue();
@@ -155,7 +155,7 @@ public class SeeCardCommand implements Executable {
 			// Se o cartão do Kawaipon não existir, desenha a versão padrão do cartão.
 			bi = card.drawCard(false);
 			ImageFilters.silhouette(bi);
-			Graph.overlay(bi, IO.getResourceAsImage("kawaipon/missing.png"));
+			Graph.overlay(bi, IO.getSharedResourceAsImage("kawaipon/missing.png"));
 		} else {
 			// Caso o cartão do Kawaipon exista, utiliza a versão renderizada dele.
 			bi = kc.render();
@@ -33,6 +33,7 @@ import com.kuuhaku.model.persistent.user.Kawaipon;
 import com.kuuhaku.model.records.EventData;
 import com.kuuhaku.model.records.MessageData;
 import com.kuuhaku.util.Calc;
+import com.kuuhaku.util.Spawn;
 import com.kuuhaku.util.Utils;
 import com.ygimenez.json.JSONObject;
 import kotlin.Pair;
@@ -85,6 +86,12 @@ public class KawaiponRarityCommand implements Executable {
 						Calc.prcntToInt(count.getSecond(), total)
 				));
 
+		String odds = "";
+		Double chance = Spawn.getRarityOdds(data.config().getCumBuffs()).get(rarity);
+		if (chance != null) {
+			odds = "\n" + locale.get("str/spawn_odds", Calc.round(chance * 100, 3));
+		}
+
 		List<Page> pages = new ArrayList<>();
 		int max = (int) Math.ceil(total / 50d);
 		for (int i = 1; i <= max; i++) {
@@ -92,7 +99,7 @@ public class KawaiponRarityCommand implements Executable {
 					locale, kp.getUid(), rarity, args.getString("kind", "n"), System.currentTimeMillis(), i
 			);
 
-			eb.setImage(url).setDescription(locale.get("str/fallback_url", url));
+			eb.setImage(url).setDescription(locale.get("str/fallback_url", url) + odds);
 			pages.add(InteractPage.of(eb.build()));
 		}
 
@@ -21,7 +21,7 @@ package com.kuuhaku.command.market;
 import com.github.ygimenez.model.Page;
 import com.github.ygimenez.model.ThrowingFunction;
 import com.kuuhaku.Constants;
-import com.kuuhaku.controller.DAO;
+import com.kuuhaku.Main;
 import com.kuuhaku.interfaces.Executable;
 import com.kuuhaku.interfaces.annotations.Command;
 import com.kuuhaku.interfaces.annotations.Requires;
@@ -83,7 +83,7 @@ public class MarketCommand implements Executable {
 			return;
 		}
 
-		int total = DAO.queryNative(Integer.class, "SELECT count(1) FROM stashed_card c WHERE c.price > 0");
+		int total = Main.getMarketManager().getOfferCount();
 		EmbedBuilder eb = new ColorlessEmbedBuilder()
 				.setImage(Constants.API_ROOT + "market/offer/" + locale.getParent() + "?hide=true&v=" + System.currentTimeMillis())
 				.setFooter(acc.getBalanceFooter(locale));
@@ -55,7 +55,7 @@ public class MarketOrderPlaceCommand implements Executable {
 
 		Card card = DAO.find(Card.class, args.getString("card").toUpperCase());
 		if (card == null) {
-			String sug = Utils.didYouMean(args.getString("card"), "SELECT id AS value FROM v_card_names");
+			String sug = Utils.didYouMeanCard(args.getString("card"));
 			if (sug == null) {
 				event.channel().sendMessage(locale.get("error/unknown_card_none")).queue();
 			} else {
@@ -81,10 +81,7 @@ public class MarketOrderPlaceCommand implements Executable {
 						MarketOrder order = new MarketOrder(kp, card, price);
 
 						StashedCard offer = order.search();
-						if (offer != null) {
-							Market m = new Market(event.user().getId());
-							m.buy(order, offer.getId());
-						} else {
+						if (offer == null || !new Market(event.user().getId()).buy(order, offer.getId())) {
 							order.save();
 						}
 
@@ -216,7 +216,7 @@ public class GachaCommand implements Executable {
 
 					g2d.drawImage(e.render(locale, deck), 5, 20, null);
 					if (e.getTier() == 4) {
-						g2d.drawImage(IO.getResourceAsImage("shoukan/frames/state/" + hPath + "/hero.png"), 5, 20, null);
+						g2d.drawImage(IO.getSharedResourceAsImage("shoukan/frames/state/" + hPath + "/hero.png"), 5, 20, null);
 					}
 
 					new StashedCard(kp, e).save();
@@ -225,7 +225,7 @@ public class GachaCommand implements Executable {
 					Field f = card.asField();
 
 					g2d.drawImage(f.render(locale, deck), 5, 20, null);
-					g2d.drawImage(IO.getResourceAsImage("shoukan/frames/state/" + hPath + "/buffed.png"), 5, 20, null);
+					g2d.drawImage(IO.getSharedResourceAsImage("shoukan/frames/state/" + hPath + "/buffed.png"), 5, 20, null);
 
 					new StashedCard(kp, f).save();
 				}
@@ -23,12 +23,14 @@ import com.github.ygimenez.model.InteractPage;
 import com.github.ygimenez.model.Page;
 import com.github.ygimenez.model.helper.ButtonizeHelper;
 import com.kuuhaku.Constants;
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.exceptions.PendingConfirmationException;
 import com.kuuhaku.interfaces.Executable;
 import com.kuuhaku.interfaces.annotations.Command;
 import com.kuuhaku.interfaces.annotations.Requires;
 import com.kuuhaku.interfaces.annotations.Syntax;
+import com.kuuhaku.manager.WeightManager;
 import com.kuuhaku.model.common.ColorlessEmbedBuilder;
 import com.kuuhaku.model.common.RandomList;
 import com.kuuhaku.model.enums.CardType;
@@ -99,7 +101,7 @@ public class SynthesizeCommand implements Executable {
 		for (String id : ids) {
 			Card c = DAO.find(Card.class, id.toUpperCase());
 			if (c == null) {
-				String sug = Utils.didYouMean(id, "SELECT id AS value FROM v_card_names");
+				String sug = Utils.didYouMeanCard(id);
 				if (sug == null) {
 					event.channel().sendMessage(locale.get("error/unknown_card_none")).queue();
 				} else {
@@ -317,8 +319,9 @@ public class SynthesizeCommand implements Executable {
 
 	public static Evogear rollSynthesis(User u, double mult, boolean lucky) {
 		RandomList<SynthResult> pool = new RandomList<>(mult * (lucky ? 1.5 : 1));
-		List<SynthResult> evos = DAO.queryAllUnmapped("SELECT card_id, get_weight(card_id, ?1) FROM evogear WHERE tier > 0", u.getId()).stream()
-				.map(o -> Utils.map(SynthResult.class, o))
+		WeightManager weights = Main.getWeightManager();
+		List<SynthResult> evos = weights.getEvogears().stream()
+				.map(id -> new SynthResult(id, weights.getWeight(id, u.getId())))
 				.toList();
 
 		for (SynthResult evo : evos) {
@@ -67,7 +67,7 @@ public class SynthesizeFastCommand implements Executable {
 		for (String id : ids) {
 			Card c = DAO.find(Card.class, id);
 			if (c == null) {
-				String sug = Utils.didYouMean(id, "SELECT id AS value FROM v_card_names");
+				String sug = Utils.didYouMeanCard(id);
 				if (sug == null) {
 					event.channel().sendMessage(locale.get("error/unknown_card_none")).queue();
 				} else {
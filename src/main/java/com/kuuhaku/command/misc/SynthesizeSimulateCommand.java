@@ -18,25 +18,22 @@
 
 package com.kuuhaku.command.misc;
 
-import com.kuuhaku.controller.DAO;
 import com.kuuhaku.interfaces.Executable;
 import com.kuuhaku.interfaces.annotations.Command;
 import com.kuuhaku.interfaces.annotations.Requires;
 import com.kuuhaku.interfaces.annotations.Syntax;
+import com.kuuhaku.manager.WeightManager;
 import com.kuuhaku.model.common.ColorlessEmbedBuilder;
-import com.kuuhaku.model.common.RandomList;
 import com.kuuhaku.model.enums.Category;
 import com.kuuhaku.model.enums.I18N;
 import com.kuuhaku.model.records.EventData;
 import com.kuuhaku.model.records.MessageData;
 import com.kuuhaku.util.Calc;
+import com.kuuhaku.util.Odds;
 import com.ygimenez.json.JSONObject;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.Permission;
-import org.apache.commons.collections4.bag.HashBag;
-
-import java.util.stream.DoubleStream;
 
 @Command(
 		name = "synth",
@@ -54,39 +51,23 @@ public class SynthesizeSimulateCommand implements Executable {
 			return;
 		}
 
-		RandomList<Byte> pool = new RandomList<>(mult);
-		for (byte i = 0; i < 4; i++) {
-			pool.add(i, DAO.queryNative(Integer.class, "SELECT get_weight('EVOGEAR', ?1)", i + 1));
+		double[] weights = new double[4];
+		for (int i = 0; i < weights.length; i++) {
+			weights[i] = WeightManager.getWeight("EVOGEAR", i + 1);
 		}
 
-		double[][] odds = new double[4][5];
-
-		HashBag<Byte> bag = new HashBag<>();
-		for (int i = 0; i < 5; i++) {
-			bag.clear();
-
-			for (int j = 0; j < 300_000; j++) {
-				bag.add(pool.get());
-			}
-
-			for (byte b = 0; b < 4; b++) {
-				odds[b][i] = (double) bag.getCount(b) / bag.size();
-			}
-		}
+		double[] odds = Odds.of("synth", weights, mult);
+		double[] lucky = Odds.of("synth", weights, mult * 1.5, 2, -1);
 
 		EmbedBuilder eb = new ColorlessEmbedBuilder()
-				.setTitle(locale.get("str/simulated_odds"))
+				.setTitle(locale.get("str/exact_odds"))
 				.setDescription(locale.get("str/multiplier", mult));
 
 		for (int i = 0; i < odds.length; i++) {
-			double[] results = odds[i];
-			double avg = DoubleStream.of(results).average().orElseThrow();
-			double var = DoubleStream.of(results).max().orElseThrow();
-
-			eb.appendDescription("\n**%s:** %s%% `± %s%%`".formatted(
+			eb.appendDescription("\n**%s:** %s%% `%s`".formatted(
 					locale.get("str/tier", i + 1),
-					Calc.round(avg * 100, 2),
-					Calc.round((var - avg) * 100, 2)
+					Calc.round(odds[i] * 100, 2),
+					locale.get("str/lucky_odds", Calc.round(lucky[i] * 100, 2))
 			));
 		}
 
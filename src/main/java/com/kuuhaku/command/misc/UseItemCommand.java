@@ -18,6 +18,7 @@
 
 package com.kuuhaku.command.misc;
 
+import com.kuuhaku.Constants;
 import com.kuuhaku.exceptions.ItemUseException;
 import com.kuuhaku.exceptions.PassiveItemException;
 import com.kuuhaku.exceptions.PendingConfirmationException;
@@ -39,6 +40,7 @@ import net.dv8tion.jda.api.JDA;
 import java.util.List;
 import java.util.Map;
 import java.util.MissingFormatArgumentException;
+import java.util.regex.PatternSyntaxException;
 
 @Command(
 		name = "items",
@@ -90,6 +92,10 @@ public class UseItemCommand implements Executable {
 
 							event.channel().sendMessage(Utils.getOr(out, e.getMessage())).queue();
 							return true;
+						} catch (PatternSyntaxException e) {
+							Constants.LOGGER.error("Invalid syntax pattern for item {}", item.getId(), e);
+							event.channel().sendMessage(locale.get("error/item_invalid_syntax", e.getDescription())).queue();
+							return true;
 						} catch (Exception e) {
 							event.channel().sendMessage(locale.get("error/item_invalid_args")).queue();
 							return true;
@@ -18,22 +18,24 @@
 
 package com.kuuhaku.command.ranking;
 
-import com.kuuhaku.controller.DAO;
+import com.kuuhaku.Main;
 import com.kuuhaku.interfaces.Executable;
 import com.kuuhaku.interfaces.annotations.Command;
 import com.kuuhaku.interfaces.annotations.Requires;
 import com.kuuhaku.model.common.ColorlessEmbedBuilder;
 import com.kuuhaku.model.enums.Category;
 import com.kuuhaku.model.enums.I18N;
+import com.kuuhaku.model.persistent.user.Account;
 import com.kuuhaku.model.records.EventData;
 import com.kuuhaku.model.records.MessageData;
+import com.kuuhaku.model.records.rank.LeaderboardEntry;
 import com.kuuhaku.model.records.rank.RankCandiesEntry;
-import com.kuuhaku.util.Utils;
 import com.ygimenez.json.JSONObject;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.Permission;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 
@@ -51,25 +53,13 @@ public class RankCandiesCommand implements Executable {
 			return;
 		}
 
-		List<RankCandiesEntry> rank = DAO.queryAllUnmapped("""
-						SELECT rank() OVER (ORDER BY x.candies DESC) AS rank
-						     , x.uid
-						     , x.name
-						     , x.candies
-						FROM (
-						     SELECT a.uid
-						          , a.name
-						          , coalesce(cast(a.inventory -> 'SPOOKY_CANDY' AS INT), 0) AS candies
-						     FROM account a
-						              INNER JOIN account_settings s ON s.uid = a.uid
-						     WHERE NOT s.private
-						     ) x
-						WHERE x.candies > 0
-						ORDER BY x.candies DESC
-						LIMIT 10
-						""").stream()
-				.map(o -> Utils.map(RankCandiesEntry.class, o))
-				.toList();
+		List<RankCandiesEntry> rank = new ArrayList<>();
+		for (LeaderboardEntry e : Main.getLeaderboardManager().getCandiesPage(0, 10)) {
+			Account acc = Main.getCacheManager().getAccount(e.id());
+			if (acc == null) continue;
+
+			rank.add(new RankCandiesEntry(e.rank(), e.id(), acc.getName(), (int) e.score()));
+		}
 
 		if (rank.isEmpty()) {
 			event.channel().sendMessage(locale.get("error/empty_ranking")).queue();
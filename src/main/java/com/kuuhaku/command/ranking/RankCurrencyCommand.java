@@ -18,22 +18,24 @@
 
 package com.kuuhaku.command.ranking;
 
-import com.kuuhaku.controller.DAO;
+import com.kuuhaku.Main;
 import com.kuuhaku.interfaces.Executable;
 import com.kuuhaku.interfaces.annotations.Command;
 import com.kuuhaku.interfaces.annotations.Requires;
 import com.kuuhaku.model.common.ColorlessEmbedBuilder;
 import com.kuuhaku.model.enums.Category;
 import com.kuuhaku.model.enums.I18N;
+import com.kuuhaku.model.persistent.user.Account;
 import com.kuuhaku.model.records.EventData;
 import com.kuuhaku.model.records.MessageData;
+import com.kuuhaku.model.records.rank.LeaderboardEntry;
 import com.kuuhaku.model.records.rank.RankCurrencyEntry;
-import com.kuuhaku.util.Utils;
 import com.ygimenez.json.JSONObject;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.Permission;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Command(
@@ -45,28 +47,13 @@ import java.util.List;
 public class RankCurrencyCommand implements Executable {
 	@Override
 	public void execute(JDA bot, I18N locale, EventData data, MessageData.Guild event, JSONObject args) {
-		List<RankCurrencyEntry> rank = DAO.queryAllUnmapped("""
-						SELECT rank() OVER (ORDER BY x.score DESC)  AS rank
-						     , x.uid
-						     , x.name
-						     , x.balance
-						     , x.gems
-						FROM (
-						     SELECT a.uid
-						          , a.name
-						          , a.balance
-						          , a.gems
-						          , (a.balance + a.gems * 20000) AS score
-						     FROM account a
-						              INNER JOIN account_settings s ON s.uid = a.uid
-						     WHERE NOT s.private
-						       AND a.balance > 0
-						     ) x
-						ORDER BY x.score DESC
-						LIMIT 10
-						""").stream()
-				.map(o -> Utils.map(RankCurrencyEntry.class, o))
-				.toList();
+		List<RankCurrencyEntry> rank = new ArrayList<>();
+		for (LeaderboardEntry e : Main.getLeaderboardManager().getCurrencyPage(0, 10)) {
+			Account acc = Main.getCacheManager().getAccount(e.id());
+			if (acc == null) continue;
+
+			rank.add(new RankCurrencyEntry(e.rank(), e.id(), acc.getName(), (int) acc.getBalance(), acc.getGems()));
+		}
 
 		if (rank.isEmpty()) {
 			event.channel().sendMessage(locale.get("error/empty_ranking")).queue();
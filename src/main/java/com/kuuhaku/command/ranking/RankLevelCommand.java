@@ -18,22 +18,24 @@
 
 package com.kuuhaku.command.ranking;
 
-import com.kuuhaku.controller.DAO;
+import com.kuuhaku.Main;
 import com.kuuhaku.interfaces.Executable;
 import com.kuuhaku.interfaces.annotations.Command;
 import com.kuuhaku.interfaces.annotations.Requires;
 import com.kuuhaku.model.common.ColorlessEmbedBuilder;
 import com.kuuhaku.model.enums.Category;
 import com.kuuhaku.model.enums.I18N;
+import com.kuuhaku.model.persistent.user.Account;
 import com.kuuhaku.model.records.EventData;
 import com.kuuhaku.model.records.MessageData;
+import com.kuuhaku.model.records.rank.LeaderboardEntry;
 import com.kuuhaku.model.records.rank.RankLevelEntry;
-import com.kuuhaku.util.Utils;
 import com.ygimenez.json.JSONObject;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.Permission;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Command(
@@ -45,25 +47,14 @@ import java.util.List;
 public class RankLevelCommand implements Executable {
 	@Override
 	public void execute(JDA bot, I18N locale, EventData data, MessageData.Guild event, JSONObject args) {
-		List<RankLevelEntry> rank = DAO.queryAllUnmapped("""
-						SELECT rank() OVER (ORDER BY x.xp DESC)  AS rank
-						     , x.uid
-						     , x.name
-						     , cast(sqrt(x.xp / 100) AS INT) + 1 AS level
-						FROM (
-						     SELECT a.uid
-						          , a.name
-						          , p.xp
-						     FROM profile p
-						              INNER JOIN account a ON a.uid = p.uid
-						              INNER JOIN account_settings s ON s.uid = a.uid
-						     WHERE NOT s.private
-						     ) x
-						ORDER BY x.xp DESC
-						LIMIT 10
-						""").stream()
-				.map(o -> Utils.map(RankLevelEntry.class, o))
-				.toList();
+		List<RankLevelEntry> rank = new ArrayList<>();
+		for (LeaderboardEntry e : Main.getLeaderboardManager().getLevelPage(0, 10)) {
+			String uid = e.id().split("-")[0];
+			Account acc = Main.getCacheManager().getAccount(uid);
+			if (acc == null) continue;
+
+			rank.add(new RankLevelEntry(e.rank(), uid, acc.getName(), (int) Math.round(Math.sqrt(e.score() / 100)) + 1));
+		}
 
 		if (rank.isEmpty()) {
 			event.channel().sendMessage(locale.get("error/empty_ranking")).queue();
@@ -59,7 +59,7 @@ public class StashUnlockCommand implements Executable {
 		} else {
 			Card card = DAO.find(Card.class, args.getString("card").toUpperCase());
 			if (card == null) {
-				String sug = Utils.didYouMean(args.getString("card"), "SELECT id AS value FROM v_card_names");
+				String sug = Utils.didYouMeanCard(args.getString("card"));
 				if (sug == null) {
 					event.channel().sendMessage(locale.get("error/unknown_card_none")).queue();
 				} else {
@@ -66,7 +66,7 @@ public class TradeAddCardCommand implements Executable {
 
         Card card = DAO.find(Card.class, args.getString("card").toUpperCase());
         if (card == null) {
-            String sug = Utils.didYouMean(args.getString("card"), "SELECT id AS value FROM v_card_names");
+            String sug = Utils.didYouMeanCard(args.getString("card"));
             event.channel().sendMessage(locale.get("error/unknown_card", sug)).queue();
             return;
         }
@@ -26,12 +26,11 @@ import com.kuuhaku.interfaces.DAOListener;
 import com.kuuhaku.util.Utils;
 import com.ygimenez.json.JSONObject;
 import jakarta.persistence.*;
-import org.apache.commons.lang3.reflect.FieldUtils;
+import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.query.NativeQuery;
 import org.intellij.lang.annotations.Language;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.Field;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -41,47 +40,32 @@ public abstract class DAO<T extends DAO<T>> implements DAOListener {
 	private static final XSync<Object> MUTEX = new XSync<>();
 
 	public static <T extends DAO<T>, ID> T find(@NotNull Class<T> klass, @NotNull ID id) {
-		return MUTEX.evaluate(id, () -> Manager.getFactory().callInTransaction(em -> {
-			try {
-				Map<String, Object> ids = new HashMap<>();
-				for (Field f : FieldUtils.getAllFields(klass)) {
-					if (f.isAnnotationPresent(Id.class)) {
-						ids.put(f.getName(), id);
-						break;
-					} else if (f.isAnnotationPresent(EmbeddedId.class)) {
-						for (Field ef : f.getType().getDeclaredFields()) {
-							if (ef.isAnnotationPresent(Column.class)) {
-								ef.setAccessible(true);
-								ids.put(f.getName() + "." + ef.getName(), ef.get(id));
-								ef.setAccessible(false);
-							}
-						}
-					}
-				}
-
-				if (ids.isEmpty()) {
-					throw new NoSuchFieldException("Class' ID not found");
-				}
+		EntityMeta meta = EntityMeta.of(klass);
+		if (!meta.hasId()) {
+			throw new RuntimeException(new NoSuchFieldException("Class' ID not found"));
+		} else if (!meta.isAutoMake()) {
+			return Manager.getFactory().callInTransaction(em -> em.find(klass, id));
+		}
 
-				T t = em.find(klass, id);
-				if (t == null && AutoMake.class.isAssignableFrom(klass)) {
-					try {
-						t = klass.cast(((AutoMake<?>) klass.getConstructor().newInstance()).make(new JSONObject(ids)));
-						t.save();
-					} catch (Exception e) {
-						Constants.LOGGER.error(new JSONObject(ids));
-						throw e;
-					}
+		return MUTEX.evaluate(id, () -> Manager.getFactory().callInTransaction(em -> {
+			T t = em.find(klass, id);
+			if (t == null) {
+				JSONObject ids = meta.toIdMap(id);
+				try {
+					t = klass.cast(((AutoMake<?>) klass.getConstructor().newInstance()).make(ids));
+					t.save();
+				} catch (Exception e) {
+					Constants.LOGGER.error(ids);
+					throw new RuntimeException(e);
 				}
-
-				return t;
-			} catch (Exception e) {
-				throw new RuntimeException(e);
 			}
+
+			return t;
 		}));
 	}
 
 	public static <T extends DAO<T>> T query(@NotNull Class<T> klass, @NotNull @Language("JPAQL") String query, @NotNull Object... params) {
+		EntityMeta meta = EntityMeta.of(klass);
 		return Manager.getFactory().callInTransaction(em -> {
 			TypedQuery<T> q = em.createQuery(query, klass);
 			q.setMaxResults(1);
@@ -94,10 +78,8 @@ public abstract class DAO<T extends DAO<T>> implements DAOListener {
 			T t;
 			try {
 				t = q.getSingleResult();
-				if (t instanceof Blacklistable lock) {
-					if (lock.isBlacklisted()) {
-						t = null;
-					}
+				if (meta.isBlacklistable() && ((Blacklistable) t).isBlacklisted()) {
+					t = null;
 				}
 			} catch (NoResultException e) {
 				t = null;
@@ -163,10 +145,11 @@ public abstract class DAO<T extends DAO<T>> implements DAOListener {
 	}
 
 	public static <T extends DAO<T>> List<T> findAll(@NotNull Class<T> klass) {
+		EntityMeta meta = EntityMeta.of(klass);
 		return Manager.getFactory().callInTransaction(em -> {
 			TypedQuery<T> q = em.createQuery("SELECT o FROM " + klass.getSimpleName() + " o", klass);
 
-			if (klass.isInstance(Blacklistable.class)) {
+			if (meta.isBlacklistable()) {
 				return q.getResultStream()
 						.filter(o -> !((Blacklistable) o).isBlacklisted())
 						.toList();
@@ -244,17 +227,21 @@ public abstract class DAO<T extends DAO<T>> implements DAOListener {
 	}
 
 	public static <T extends DAO<?>, ID> void apply(@NotNull Class<T> klass, @NotNull ID id, @NotNull Consumer<T> consumer) {
-		Manager.getFactory().runInTransaction(em -> {
+		T applied = Manager.getFactory().callInTransaction(em -> {
 			T obj = em.find(klass, id);
-			if (obj == null) return;
+			if (obj == null) return null;
 			else if (obj instanceof Blacklistable lock) {
-				if (lock.isBlacklisted()) return;
+				if (lock.isBlacklisted()) return null;
 			}
 
 			em.refresh(obj);
 			consumer.accept(obj);
-			em.merge(obj);
+			return em.merge(obj);
 		});
+
+		if (applied != null) {
+			applied.afterSave();
+		}
 	}
 
 	public static void apply(@NotNull @Language("JPAQL") String query, @NotNull Object... params) {
@@ -362,7 +349,13 @@ public abstract class DAO<T extends DAO<T>> implements DAOListener {
 				try {
 					DAO<?> ent = entry;
 					if (!em.contains(entry)) {
-						Object key = em.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entry);
+						Object key;
+						if (entry instanceof HibernateProxy proxy) {
+							key = proxy.getHibernateLazyInitializer().getIdentifier();
+						} else {
+							key = EntityMeta.of(entry.getClass()).getId(entry);
+						}
+
 						ent = em.find(entry.getClass(), key);
 
 						if (ent == null) {
@@ -378,16 +371,24 @@ public abstract class DAO<T extends DAO<T>> implements DAOListener {
 		});
 	}
 
-	public final void save() {
+	@SuppressWarnings("unchecked")
+	public final T save() {
 		try {
 			beforeSave();
-			Manager.getFactory().runInTransaction(em -> {
+			T saved = Manager.getFactory().callInTransaction(em -> {
 				if (this instanceof Blacklistable lock) {
-					if (lock.isBlacklisted()) return;
+					if (lock.isBlacklisted()) return (T) this;
 				}
 
-				em.merge(this);
+				return em.merge((T) this);
 			});
+
+			EntityMeta meta = EntityMeta.of(getClass());
+			if (saved != this && meta.hasId()) {
+				meta.setId(this, meta.getId(saved));
+			}
+
+			return saved;
 		} finally {
 			afterSave();
 		}
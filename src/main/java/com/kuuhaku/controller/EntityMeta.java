@@ -0,0 +1,147 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.controller;
+
+import com.kuuhaku.interfaces.AutoMake;
+import com.kuuhaku.interfaces.Blacklistable;
+import com.ygimenez.json.JSONObject;
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Id;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class EntityMeta {
+	private static final Map<Class<?>, EntityMeta> REGISTRY = new ConcurrentHashMap<>();
+
+	private final Class<?> klass;
+	private final String idName;
+	private final MethodHandle idGetter;
+	private final MethodHandle idSetter;
+	private final Map<String, MethodHandle> idColumns = new LinkedHashMap<>();
+	private final boolean autoMake;
+	private final boolean blacklistable;
+
+	private EntityMeta(Class<?> klass) {
+		this.klass = klass;
+		this.autoMake = AutoMake.class.isAssignableFrom(klass);
+		this.blacklistable = Blacklistable.class.isAssignableFrom(klass);
+
+		String name = null;
+		MethodHandle getter = null;
+		MethodHandle setter = null;
+		try {
+			for (Field f : FieldUtils.getAllFields(klass)) {
+				boolean embedded = f.isAnnotationPresent(EmbeddedId.class);
+				if (!embedded && !f.isAnnotationPresent(Id.class)) continue;
+
+				name = f.getName();
+				MethodHandles.Lookup owner = MethodHandles.privateLookupIn(f.getDeclaringClass(), MethodHandles.lookup());
+				getter = owner.unreflectGetter(f);
+				setter = owner.unreflectSetter(f);
+
+				if (embedded) {
+					Class<?> type = f.getType();
+					MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+					for (Field ef : type.getDeclaredFields()) {
+						if (ef.isAnnotationPresent(Column.class)) {
+							idColumns.put(name + "." + ef.getName(), lookup.unreflectGetter(ef));
+						}
+					}
+				}
+
+				break;
+			}
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Failed to read ID of class " + klass.getSimpleName(), e);
+		}
+
+		this.idName = name;
+		this.idGetter = getter;
+		this.idSetter = setter;
+	}
+
+	static void register(Metamodel model) {
+		for (EntityType<?> type : model.getEntities()) {
+			of(type.getJavaType());
+		}
+	}
+
+	public static EntityMeta of(Class<?> klass) {
+		return REGISTRY.computeIfAbsent(klass, EntityMeta::new);
+	}
+
+	public Class<?> getEntityClass() {
+		return klass;
+	}
+
+	public boolean hasId() {
+		return idGetter != null;
+	}
+
+	public boolean isAutoMake() {
+		return autoMake;
+	}
+
+	public boolean isBlacklistable() {
+		return blacklistable;
+	}
+
+	public Object getId(Object entity) {
+		try {
+			return idGetter.invoke(entity);
+		} catch (Throwable e) {
+			throw new IllegalStateException("Failed to read ID of class " + klass.getSimpleName(), e);
+		}
+	}
+
+	public void setId(Object entity, Object id) {
+		try {
+			idSetter.invoke(entity, id);
+		} catch (Throwable e) {
+			throw new IllegalStateException("Failed to write ID of class " + klass.getSimpleName(), e);
+		}
+	}
+
+	public JSONObject toIdMap(Object id) {
+		JSONObject ids = new JSONObject();
+		if (idColumns.isEmpty()) {
+			ids.put(idName, id);
+			return ids;
+		}
+
+		try {
+			for (Map.Entry<String, MethodHandle> e : idColumns.entrySet()) {
+				ids.put(e.getKey(), e.getValue().invoke(id));
+			}
+		} catch (Throwable e) {
+			throw new IllegalStateException("Failed to read ID of class " + klass.getSimpleName(), e);
+		}
+
+		return ids;
+	}
+}
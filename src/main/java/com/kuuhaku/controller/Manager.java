@@ -52,6 +52,8 @@ public abstract class Manager {
 	));
 
 	static {
+		EntityMeta.register(emf.getMetamodel());
+
 		String db = DAO.queryNative(String.class, "SELECT current_database()");
 		String schema = DAO.queryNative(String.class, "SELECT current_schema()");
 		Constants.LOGGER.info("Connected to database {}, schema {} successfully", db, schema);
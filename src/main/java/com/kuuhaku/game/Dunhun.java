@@ -5,6 +5,7 @@ import com.github.ygimenez.model.helper.ButtonizeHelper;
 import com.kuuhaku.Constants;
 import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
+import com.kuuhaku.game.engine.ActionTable;
 import com.kuuhaku.game.engine.GameInstance;
 import com.kuuhaku.game.engine.GameReport;
 import com.kuuhaku.game.engine.NullPhase;
@@ -40,17 +41,13 @@ import org.apache.commons.lang3.math.NumberUtils;
 import org.intellij.lang.annotations.MagicConstant;
 
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 public class Dunhun extends GameInstance<NullPhase> {
-	private final ExecutorService main = Executors.newSingleThreadExecutor();
 	private final Dungeon dungeon;
 	private final Map<String, Hero> heroes = new LinkedHashMap<>();
 	private final AtomicReference<Combat> combat = new AtomicReference<>();
@@ -318,7 +315,7 @@ public class Dunhun extends GameInstance<NullPhase> {
 					close(GameReport.OTHER);
 				}
 			}
-		}, main);
+		}, Main.getGameManager().getExecutor());
 	}
 
 	public void runCombat(Collection<String> pool) {
@@ -463,7 +460,7 @@ public class Dunhun extends GameInstance<NullPhase> {
 
 	@Override
 	protected void runtime(User user, String value) throws InvocationTargetException, IllegalAccessException {
-		Pair<Method, JSONObject> action = toAction(StringUtils.stripAccents(value).toLowerCase());
+		Pair<ActionTable.Action, JSONObject> action = toAction(StringUtils.stripAccents(value).toLowerCase());
 		if (action != null) {
 			action.getFirst().invoke(this, action.getSecond(), user);
 		}
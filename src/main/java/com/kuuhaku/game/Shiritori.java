@@ -19,13 +19,14 @@
 package com.kuuhaku.game;
 
 import com.kuuhaku.Main;
+import com.kuuhaku.game.engine.ActionTable;
 import com.kuuhaku.game.engine.GameInstance;
 import com.kuuhaku.game.engine.GameReport;
 import com.kuuhaku.game.engine.NullPhase;
 import com.kuuhaku.game.engine.PlayerAction;
+import com.kuuhaku.model.common.Lexicon;
 import com.kuuhaku.model.common.InfiniteList;
 import com.kuuhaku.model.enums.I18N;
-import com.kuuhaku.util.IO;
 import com.kuuhaku.util.Utils;
 import com.ygimenez.json.JSONObject;
 import kotlin.Pair;
@@ -35,12 +36,7 @@ import net.dv8tion.jda.api.entities.channel.middleman.GuildMessageChannel;
 import org.apache.commons.lang3.StringUtils;
 import org.intellij.lang.annotations.MagicConstant;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
@@ -50,7 +46,7 @@ public class Shiritori extends GameInstance<NullPhase> {
 
 	private final long seed = ThreadLocalRandom.current().nextLong();
 	private final InfiniteList<String> inGame;
-	private final File dict;
+	private final Lexicon dict;
 	private final Set<String> used = new HashSet<>();
 	private Pair<String, String> message;
 	private String current;
@@ -63,7 +59,7 @@ public class Shiritori extends GameInstance<NullPhase> {
 		super(locale, players);
 
 		this.inGame = new InfiniteList<>(Set.of(players));
-		this.dict = IO.getResourceAsFile("shiritori/" + locale.name().toLowerCase() + ".dict");
+		this.dict = Lexicon.get(locale);
 
 		setTimeout(turn -> {
 			getChannel().sendMessage(locale.get("str/game_wo_alt", "<@" + inGame.get() + ">", "<@" + inGame.peekNext() + ">")).queue();
@@ -96,7 +92,7 @@ public class Shiritori extends GameInstance<NullPhase> {
 
 	@Override
 	protected void runtime(User user, String value) throws InvocationTargetException, IllegalAccessException {
-		Pair<Method, JSONObject> action = toAction(StringUtils.stripAccents(value).toLowerCase());
+		Pair<ActionTable.Action, JSONObject> action = toAction(StringUtils.stripAccents(value).toLowerCase());
 		if (action != null) {
 			action.getFirst().invoke(this, action.getSecond());
 		}
@@ -106,72 +102,34 @@ public class Shiritori extends GameInstance<NullPhase> {
 	private void nextWord(JSONObject args) {
 		String word = args.getString("word").toLowerCase();
 
-		try {
-			if (scanWord(word)) {
-				if (used.contains(word)) {
-					getChannel().sendMessage(getString("str/game_out_shiritori", "<@" + inGame.get() + ">")).queue();
-					inGame.remove();
-
-					if (inGame.size() == 1) {
-						reportResult(GameReport.SUCCESS, "str/game_end_alt", "<@" + inGame.get() + ">");
-						return;
-					}
+		if (dict.contains(word)) {
+			if (used.contains(word)) {
+				getChannel().sendMessage(getString("str/game_out_shiritori", "<@" + inGame.get() + ">")).queue();
+				inGame.remove();
 
-					nextTurn();
+				if (inGame.size() == 1) {
+					reportResult(GameReport.SUCCESS, "str/game_end_alt", "<@" + inGame.get() + ">");
 					return;
 				}
 
-				if (current != null) {
-					String end = current.substring(current.length() - 2);
-					if (Utils.equalsAny(end, blacklisted)) {
-						getChannel().sendMessage(getString("error/blacklisted_ending")).queue();
-						return;
-					} else if (!end.equals(word.substring(0, 2))) {
-						getChannel().sendMessage(getString("error/invalid_word")).queue();
-						return;
-					}
-				}
-
-				used.add(current = word);
 				nextTurn();
+				return;
 			}
-		} catch (FileNotFoundException e) {
-			getChannel().sendMessage(getString("error/dict_not_found")).queue();
-			close(GameReport.DICT_NOT_FOUND);
-		}
-	}
 
-	private boolean scanWord(String word) throws FileNotFoundException {
-		try (Scanner s = new Scanner(new FileInputStream(dict), StandardCharsets.UTF_8)) {
-			char c = word.charAt(0);
-
-			int idx = 0;
-			int padSize = 0;
-			int lookupIndex = 0;
-
-			while (s.hasNextLine()) {
-				String line = s.nextLine();
-
-				if (idx == 0) {
-					padSize = Integer.parseInt(line);
-				} else if (idx == 1) {
-					int charIndex = line.indexOf(c);
-					if (charIndex == -1) return false;
-
-					lookupIndex = Integer.parseInt(line.substring(charIndex + 1, charIndex + 1 + padSize));
-				} else if (idx > lookupIndex) {
-					if (line.charAt(0) != c) {
-						return false;
-					} else if (line.equals(word)) {
-						return true;
-					}
+			if (current != null) {
+				String end = current.substring(current.length() - 2);
+				if (Utils.equalsAny(end, blacklisted)) {
+					getChannel().sendMessage(getString("error/blacklisted_ending")).queue();
+					return;
+				} else if (!end.equals(word.substring(0, 2))) {
+					getChannel().sendMessage(getString("error/invalid_word")).queue();
+					return;
 				}
-
-				idx++;
 			}
-		}
 
-		return false;
+			used.add(current = word);
+			nextTurn();
+		}
 	}
 
 	private void reportEvent(String msg, Object... args) {
@@ -26,6 +26,7 @@ import com.kuuhaku.Main;
 import com.kuuhaku.command.misc.SynthesizeCommand;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.exceptions.ActivationException;
+import com.kuuhaku.game.engine.ActionTable;
 import com.kuuhaku.game.engine.GameInstance;
 import com.kuuhaku.game.engine.GameReport;
 import com.kuuhaku.game.engine.PhaseConstraint;
@@ -69,7 +70,6 @@ import org.intellij.lang.annotations.MagicConstant;
 import org.jetbrains.annotations.Nullable;
 
 import java.awt.image.BufferedImage;
-import java.lang.reflect.Method;
 import java.util.*;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
@@ -91,8 +91,8 @@ public class Shoukan extends GameInstance<Phase> {
 	private final Arena arena;
 	private final Map<Side, Hand> hands;
 	private final Map<String, String> messages = new HashMap<>();
-	private final Set<EffectOverTime> eots = new HashSet<>();
-	private final Set<TriggerBind> bindings = new HashSet<>();
+	private final TriggerIndex<EffectOverTime> eots = new TriggerIndex<>(EffectOverTime::getTriggers);
+	private final TriggerIndex<TriggerBind> bindings = new TriggerIndex<>(TriggerBind::getTriggers);
 	private final List<Turn> turns = new TreeList<>();
 	private final JSONObject data = new JSONObject();
 
@@ -191,15 +191,15 @@ public class Shoukan extends GameInstance<Phase> {
 				.filter(h -> h.getUid().equals(user.getId()))
 				.findFirst().orElseThrow();
 
-		Pair<Method, JSONObject> action = toAction(value.toLowerCase().replace(" ", ""), m -> (!isLocked() || (hand.selectionPending() && m.getName().startsWith("sel"))) && hand.selectionPending() == m.getName().startsWith("sel") || m.getName().startsWith("deb"));
+		Pair<ActionTable.Action, JSONObject> action = toAction(value.toLowerCase().replace(" ", ""), m -> (!isLocked() || (hand.selectionPending() && m.getName().startsWith("sel"))) && hand.selectionPending() == m.getName().startsWith("sel") || m.getName().startsWith("deb"));
 
 		execAction(hand, action);
 	}
 
-	private void execAction(Hand hand, Pair<Method, JSONObject> action) {
+	private void execAction(Hand hand, Pair<ActionTable.Action, JSONObject> action) {
 		if (action == null) return;
 
-		Method m = action.getFirst();
+		ActionTable.Action m = action.getFirst();
 		try {
 			if (isLocked() && (!m.getName().startsWith("sel") && !m.getName().startsWith("deb"))) {
 				return;
@@ -1838,11 +1838,19 @@ public class Shoukan extends GameInstance<Phase> {
 	}
 
 	public void triggerBindings(EffectParameters ep) {
-		var binds = bindings.stream()
-				.sorted(Comparator.comparing(b -> b.getHolder().getSide() == getCurrentSide(), Comparator.reverseOrder()))
-				.toList();
+		List<TriggerBind> binds = bindings.get(ep.trigger());
+		if (binds.isEmpty()) return;
 
+		Side current = getCurrentSide();
+		List<TriggerBind> ordered = new ArrayList<>(binds.size());
+		for (TriggerBind binding : binds) {
+			if (binding.getHolder().getSide() == current) ordered.add(binding);
+		}
 		for (TriggerBind binding : binds) {
+			if (binding.getHolder().getSide() != current) ordered.add(binding);
+		}
+
+		for (TriggerBind binding : ordered) {
 			if (binding.isBound(ep)) {
 				EffectHolder<?> holder = binding.getHolder();
 				if (holder.getIndex() == -1 && !binding.isPermanent()) {
@@ -1856,7 +1864,25 @@ public class Shoukan extends GameInstance<Phase> {
 	}
 
 	public void triggerEOTs(EffectParameters ep) {
-		for (EffectOverTime effect : Set.copyOf(eots)) {
+		List<EffectOverTime> effects;
+		if (Utils.equalsAny(ep.trigger(), ON_TURN_BEGIN, ON_TICK)) {
+			effects = List.copyOf(eots);
+		} else {
+			EnumSet<Trigger> trigs = EnumSet.of(ep.trigger());
+			if (ep.source() != null && ep.source().trigger() != null) {
+				trigs.add(ep.source().trigger());
+			}
+
+			for (Target t : ep.targets()) {
+				if (t.trigger() != null) {
+					trigs.add(t.trigger());
+				}
+			}
+
+			effects = eots.get(trigs);
+		}
+
+		for (EffectOverTime effect : effects) {
 			if (effect.isClosed()) {
 				eots.remove(effect);
 				continue;
@@ -0,0 +1,168 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.game.engine;
+
+import com.kuuhaku.util.Utils;
+import com.ygimenez.json.JSONObject;
+import kotlin.Pair;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Player actions of a game class, compiled once and indexed by phase and by the first character they can match.
+ */
+public class ActionTable {
+	private static final Map<Class<?>, ActionTable> TABLES = new ConcurrentHashMap<>();
+	private static final Pattern GROUP = Pattern.compile("\\(\\?<([a-zA-Z][A-z\\d]*)>");
+	private static final int ASCII = 128;
+
+	private final Action[] actions;
+	private final Map<String, Index> phases = new ConcurrentHashMap<>();
+
+	public record Action(Method method, MethodHandle handle, Pattern pattern, String[] groups, String[] phases) {
+		public String getName() {
+			return method.getName();
+		}
+
+		public Object invoke(Object target, Object... args) throws InvocationTargetException {
+			Object[] params = new Object[args.length + 1];
+			params[0] = target;
+			System.arraycopy(args, 0, params, 1, args.length);
+
+			try {
+				return (Object) handle.invokeExact(params);
+			} catch (Throwable e) {
+				throw new InvocationTargetException(e);
+			}
+		}
+
+		private boolean accepts(String phase) {
+			return phases == null || (!phase.isEmpty() && Utils.equalsAny(phase, phases));
+		}
+
+		private JSONObject extract(Matcher m) {
+			JSONObject out = new JSONObject();
+			for (String name : groups) {
+				String val = m.group(name);
+				if (val != null) {
+					out.put(name, val);
+				}
+			}
+
+			return out;
+		}
+	}
+
+	private record Index(Action[][] byChar, Action[] all) {
+	}
+
+	private ActionTable(Class<?> klass) {
+		List<Action> out = new ArrayList<>();
+		for (Method meth : klass.getDeclaredMethods()) {
+			PlayerAction pa = meth.getAnnotation(PlayerAction.class);
+			if (pa == null) continue;
+
+			PhaseConstraint pc = meth.getAnnotation(PhaseConstraint.class);
+
+			List<String> groups = new ArrayList<>();
+			Matcher m = GROUP.matcher(pa.value());
+			while (m.find()) {
+				groups.add(m.group(1));
+			}
+
+			try {
+				meth.setAccessible(true);
+
+				int params = meth.getParameterCount() + 1;
+				MethodHandle handle = MethodHandles.lookup().unreflect(meth)
+						.asType(MethodType.genericMethodType(params))
+						.asSpreader(Object[].class, params);
+
+				out.add(new Action(
+						meth, handle, Pattern.compile(pa.value()),
+						groups.toArray(String[]::new),
+						pc == null ? null : pc.value()
+				));
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException("Cannot access action " + meth.getName(), e);
+			}
+		}
+
+		this.actions = out.toArray(Action[]::new);
+	}
+
+	public static ActionTable of(Class<?> klass) {
+		return TABLES.computeIfAbsent(klass, ActionTable::new);
+	}
+
+	public Pair<Action, JSONObject> find(String args, Enum<?> phase, Predicate<Method> condition) {
+		Index idx = phases.computeIfAbsent(phase == null ? "" : phase.name(), this::index);
+
+		Action[] candidates = idx.all();
+		if (!args.isEmpty() && args.charAt(0) < ASCII) {
+			candidates = idx.byChar()[args.charAt(0)];
+		}
+
+		for (Action a : candidates) {
+			Matcher m = a.pattern().matcher(args);
+			if (m.matches() && condition.test(a.method())) {
+				return new Pair<>(a, a.extract(m));
+			}
+		}
+
+		return null;
+	}
+
+	private Index index(String phase) {
+		List<Action> valid = new ArrayList<>();
+		for (Action a : actions) {
+			if (a.accepts(phase)) {
+				valid.add(a);
+			}
+		}
+
+		Action[][] byChar = new Action[ASCII][];
+		for (int c = 0; c < ASCII; c++) {
+			String s = String.valueOf((char) c);
+
+			List<Action> bucket = new ArrayList<>();
+			for (Action a : valid) {
+				Matcher m = a.pattern().matcher(s);
+				if (m.lookingAt() || m.hitEnd()) {
+					bucket.add(a);
+				}
+			}
+
+			byChar[c] = bucket.toArray(Action[]::new);
+		}
+
+		return new Index(byChar, valid.toArray(Action[]::new));
+	}
+}
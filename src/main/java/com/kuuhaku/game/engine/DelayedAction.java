@@ -18,23 +18,23 @@
 
 package com.kuuhaku.game.engine;
 
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 public class DelayedAction {
-	private final ScheduledExecutorService exec;
+	private final TimerWheel timer;
+	private final SerialExecutor exec;
 	private int time;
 	private TimeUnit unit;
-	private ScheduledFuture<?> action;
+	private TimerWheel.Timeout action;
 	private Runnable task;
 
-	private DelayedAction(ScheduledExecutorService exec) {
+	private DelayedAction(TimerWheel timer, SerialExecutor exec) {
+		this.timer = timer;
 		this.exec = exec;
 	}
 
-	public static DelayedAction of(ScheduledExecutorService exec) {
-		return new DelayedAction(exec);
+	public static DelayedAction of(TimerWheel timer, SerialExecutor exec) {
+		return new DelayedAction(timer, exec);
 	}
 
 	public DelayedAction setTimeUnit(int time, TimeUnit unit) {
@@ -53,7 +53,7 @@ public class DelayedAction {
 	public DelayedAction run(Runnable task) {
 		if (!exec.isShutdown()) {
 			stop();
-			action = exec.schedule(this.task = task, time, unit);
+			action = timer.schedule(this.task = task, time, unit, exec);
 		}
 
 		return this;
@@ -63,7 +63,7 @@ public class DelayedAction {
 		if (task != null && !exec.isShutdown()) {
 			if (action != null) return this;
 
-			action = exec.schedule(task, time, unit);
+			action = timer.schedule(task, time, unit, exec);
 		}
 
 		return this;
@@ -71,7 +71,7 @@ public class DelayedAction {
 
 	public DelayedAction stop() {
 		if (action != null && !exec.isShutdown()) {
-			action.cancel(true);
+			action.cancel();
 			action = null;
 		}
 
@@ -81,7 +81,7 @@ public class DelayedAction {
 	public DelayedAction restart() {
 		if (task != null && !exec.isShutdown()) {
 			stop();
-			action = exec.schedule(task, time, unit);
+			action = timer.schedule(task, time, unit, exec);
 		}
 
 		return this;
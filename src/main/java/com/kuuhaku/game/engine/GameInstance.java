@@ -43,19 +43,17 @@ import java.util.*;
 import java.util.concurrent.*;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 public abstract class GameInstance<T extends Enum<T>> {
 	public static final Set<String> CHANNELS = ConcurrentHashMap.newKeySet();
 	public static final Set<String> PLAYERS = ConcurrentHashMap.newKeySet();
 
-	private final ExecutorService worker = Executors.newSingleThreadExecutor();
-	private final ScheduledExecutorService service = Executors.newSingleThreadScheduledExecutor();
+	private final SerialExecutor worker = Main.getGameManager().newLane();
+	private final CompletableFuture<Void> exec = new CompletableFuture<>();
 	private final long seed = ThreadLocalRandom.current().nextLong();
 
 	private SplittableRandom rng = new SplittableRandom(seed);
-	private CompletableFuture<Void> exec;
 	private DelayedAction timeout;
 	private GameChannel channel;
 	private int turn = 1;
@@ -91,21 +89,33 @@ public abstract class GameInstance<T extends Enum<T>> {
 					&& Utils.equalsAny(event.getAuthor().getId(), players)
 					&& validate(event.getMessage())
 				) {
-					try {
-						runtime(event.getAuthor(), event.getMessage().getContentRaw());
-					} catch (InvocationTargetException | IllegalAccessException e) {
-						Constants.LOGGER.error(e, e);
-					}
+					User author = event.getAuthor();
+					String content = event.getMessage().getContentRaw();
+
+					worker.execute(() -> {
+						try {
+							runtime(author, content);
+						} catch (InvocationTargetException | IllegalAccessException e) {
+							Constants.LOGGER.error(e, e);
+						}
+					});
 				}
 			}
 		};
 
-		return exec = CompletableFuture.runAsync(() -> {
+		exec.whenComplete((v, e) -> {
+			sml.close();
+			Main.getGameManager().unregister(worker);
+		});
+
+		Main.getGameManager().register(worker);
+		worker.execute(() -> {
 			try {
 				channels = Stream.of(chns).map(GuildMessageChannel::getId).toArray(String[]::new);
 				for (String chn : channels) {
 					if (CHANNELS.contains(chn)) {
 						channel.sendMessage(locale.get("error/channel_occupied_self")).queue();
+						exec.complete(null);
 						return;
 					}
 				}
@@ -116,10 +126,6 @@ public abstract class GameInstance<T extends Enum<T>> {
 				begin();
 				GuildListener.addHandler(guild, sml);
 				initialized = true;
-
-				if (exec != null) {
-					exec.join();
-				}
 			} catch (GameReport e) {
 				initialized = true;
 				//noinspection MagicConstant
@@ -128,10 +134,10 @@ public abstract class GameInstance<T extends Enum<T>> {
 				initialized = true;
 				Constants.LOGGER.error(e, e);
 				close(GameReport.INITIALIZATION_ERROR);
-			} finally {
-				sml.close();
 			}
-		}, worker);
+		});
+
+		return exec;
 	}
 
 	protected abstract boolean validate(Message message);
@@ -166,7 +172,7 @@ public abstract class GameInstance<T extends Enum<T>> {
 			timeout.stop();
 		}
 
-		this.timeout = DelayedAction.of(service)
+		this.timeout = DelayedAction.of(Main.getGameManager().getTimer(), worker)
 				.setTimeUnit(time, unit)
 				.setTask(() -> action.accept(turn))
 				.start();
@@ -213,28 +219,12 @@ public abstract class GameInstance<T extends Enum<T>> {
 		return history;
 	}
 
-	protected Pair<Method, JSONObject> toAction(String args) {
+	protected Pair<ActionTable.Action, JSONObject> toAction(String args) {
 		return toAction(args, m -> true);
 	}
 
-	protected Pair<Method, JSONObject> toAction(String args, Predicate<Method> condition) {
-		Method[] meths = getClass().getDeclaredMethods();
-		for (Method meth : meths) {
-			PlayerAction pa = meth.getAnnotation(PlayerAction.class);
-			if (pa != null) {
-				PhaseConstraint pc = meth.getAnnotation(PhaseConstraint.class);
-				if (pc != null && (phase == null || !Utils.equalsAny(phase.name(), pc.value()))) {
-					continue;
-				}
-
-				Pattern pat = Main.getCacheManager().computePattern(pa.value(), (k, v) -> v == null ? Pattern.compile(pa.value()) : v);
-				if (Utils.match(args, pat) && condition.test(meth)) {
-					return new Pair<>(meth, Utils.extractNamedGroups(args, pat));
-				}
-			}
-		}
-
-		return null;
+	protected Pair<ActionTable.Action, JSONObject> toAction(String args, Predicate<Method> condition) {
+		return ActionTable.of(getClass()).find(args, phase, condition);
 	}
 
 	public SplittableRandom getRng() {
@@ -250,7 +240,9 @@ public abstract class GameInstance<T extends Enum<T>> {
 	}
 
 	public final void close(@MagicConstant(valuesFromClass = GameReport.class) byte code) {
-		timeout.stop();
+		if (timeout != null) {
+			timeout.stop();
+		}
 
 		if (Utils.equalsAny(code, GameReport.SUCCESS, GameReport.GAME_TIMEOUT)) {
 			exec.complete(null);
@@ -265,11 +257,5 @@ public abstract class GameInstance<T extends Enum<T>> {
 		for (String c : channels) {
 			CHANNELS.remove(c);
 		}
-
-		worker.shutdownNow();
-		worker.close();
-
-		service.shutdownNow();
-		service.close();
 	}
 }
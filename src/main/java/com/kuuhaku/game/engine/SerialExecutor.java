@@ -0,0 +1,78 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.game.engine;
+
+import com.kuuhaku.Constants;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs submitted tasks one at a time and in submission order on top of a shared executor, without holding a
+ * thread while idle.
+ * <br>
+ * Tasks submitted after {@link #shutdown()} are silently discarded.
+ */
+public class SerialExecutor implements Executor {
+	private final Executor delegate;
+	private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger size = new AtomicInteger();
+	private volatile boolean shutdown;
+
+	public SerialExecutor(Executor delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		if (shutdown) return;
+
+		queue.offer(task);
+		if (size.getAndIncrement() == 0) {
+			delegate.execute(this::drain);
+		}
+	}
+
+	private void drain() {
+		do {
+			Runnable task = queue.poll();
+			if (task == null || shutdown) continue;
+
+			try {
+				task.run();
+			} catch (Throwable e) {
+				Constants.LOGGER.error(e, e);
+			}
+		} while (size.decrementAndGet() > 0);
+	}
+
+	public int getQueueDepth() {
+		return size.get();
+	}
+
+	public boolean isShutdown() {
+		return shutdown;
+	}
+
+	public void shutdown() {
+		shutdown = true;
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.game.engine;
+
+import com.kuuhaku.Constants;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed wheel timer, a single thread serves every scheduled timeout with a precision of one tick.
+ * <br>
+ * Expired tasks are handed to the executor given when scheduling, the timer thread never runs them itself.
+ */
+public class TimerWheel {
+	private static final int PENDING = 0;
+	private static final int CANCELLED = 1;
+	private static final int EXPIRED = 2;
+
+	private final long tick;
+	private final int mask;
+	private final List<Timeout>[] buckets;
+	private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger pending = new AtomicInteger();
+	private final long start = System.nanoTime();
+
+	private volatile long lag;
+	private long ticks;
+
+	@SuppressWarnings("unchecked")
+	public TimerWheel(long tick, TimeUnit unit, int size) {
+		this.tick = unit.toNanos(tick);
+
+		int slots = Integer.highestOneBit(Math.max(size - 1, 1)) << 1;
+		this.mask = slots - 1;
+		this.buckets = new List[slots];
+		for (int i = 0; i < slots; i++) {
+			buckets[i] = new ArrayList<>();
+		}
+
+		Thread.ofPlatform().name("timer-wheel").daemon().start(this::run);
+	}
+
+	public Timeout schedule(Runnable task, long delay, TimeUnit unit, Executor exec) {
+		Timeout t = new Timeout(task, exec, System.nanoTime() + unit.toNanos(delay));
+		pending.incrementAndGet();
+		incoming.offer(t);
+
+		return t;
+	}
+
+	public int getPending() {
+		return pending.get();
+	}
+
+	/**
+	 * @return How late the last tick fired, in milliseconds.
+	 */
+	public long getLag() {
+		return TimeUnit.NANOSECONDS.toMillis(lag);
+	}
+
+	private void run() {
+		while (true) {
+			long deadline = start + (ticks + 1) * tick;
+			long now;
+			while ((now = System.nanoTime()) < deadline) {
+				LockSupport.parkNanos(deadline - now);
+			}
+
+			lag = now - deadline;
+			transfer();
+			expire(buckets[(int) (ticks & mask)], now);
+			ticks++;
+		}
+	}
+
+	private void transfer() {
+		Timeout t;
+		while ((t = incoming.poll()) != null) {
+			if (t.isCancelled()) continue;
+
+			long due = Math.max((t.deadline - start) / tick, ticks);
+			t.rounds = (due - ticks) / buckets.length;
+			buckets[(int) (due & mask)].add(t);
+		}
+	}
+
+	private void expire(List<Timeout> bucket, long now) {
+		Iterator<Timeout> it = bucket.iterator();
+		while (it.hasNext()) {
+			Timeout t = it.next();
+			if (t.isCancelled()) {
+				it.remove();
+			} else if (t.rounds > 0) {
+				t.rounds--;
+			} else if (t.deadline <= now) {
+				it.remove();
+				t.expire();
+			}
+		}
+	}
+
+	public final class Timeout {
+		private final Runnable task;
+		private final Executor exec;
+		private final long deadline;
+		private final AtomicInteger state = new AtomicInteger(PENDING);
+		private long rounds;
+
+		private Timeout(Runnable task, Executor exec, long deadline) {
+			this.task = task;
+			this.exec = exec;
+			this.deadline = deadline;
+		}
+
+		public boolean cancel() {
+			if (state.compareAndSet(PENDING, CANCELLED)) {
+				pending.decrementAndGet();
+				return true;
+			}
+
+			return false;
+		}
+
+		public boolean isCancelled() {
+			return state.get() == CANCELLED;
+		}
+
+		public boolean isExpired() {
+			return state.get() == EXPIRED;
+		}
+
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+		private void expire() {
+			if (!state.compareAndSet(PENDING, EXPIRED)) return;
+			pending.decrementAndGet();
+
+			try {
+				exec.execute(task);
+			} catch (RejectedExecutionException e) {
+				Constants.LOGGER.warn("Timeout task rejected: {}", e.toString());
+			}
+		}
+	}
+}
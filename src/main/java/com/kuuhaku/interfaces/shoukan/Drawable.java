@@ -224,6 +224,26 @@ public interface Drawable<T extends Drawable<T>> {
 
 	BufferedImage render(I18N locale, Deck deck);
 
+	/**
+	 * Snapshot of the state {@link #render(I18N, Deck)} depends on. Two calls returning
+	 * equal keys must produce the same image, so rendered tiles can be reused.
+	 */
+	default List<Object> renderKey(I18N locale, Deck deck) {
+		Hand h = getHand();
+		String desc = "";
+		if (h != null && this instanceof EffectHolder<?> eh) {
+			desc = eh.parseDescription(h, locale);
+		}
+
+		return Arrays.asList(
+				getVanity().getId(), locale, deck, h,
+				Utils.getOr(() -> getStashRef().isChrome(), false), getGame() == null,
+				isFlipped(), isAvailable(), isManipulated(), isEthereal(),
+				getMPCost(), getHPCost(), getSCCost(), getDmg(), getDfs(), getDodge(), getParry(), getCooldown(),
+				List.copyOf(getCurses()), getTags(locale), desc
+		);
+	}
+
 	default void drawCosts(Graphics2D g2d) {
 		BufferedImage icon;
 
@@ -232,7 +252,7 @@ public interface Drawable<T extends Drawable<T>> {
 
 		int y = 55;
 		if (getMPCost() > 0) {
-			icon = IO.getResourceAsImage("shoukan/icons/mana.png");
+			icon = IO.getSharedResourceAsImage("shoukan/icons/mana.png");
 			assert icon != null;
 			int x = 200 - icon.getWidth();
 
@@ -244,7 +264,7 @@ public interface Drawable<T extends Drawable<T>> {
 		}
 
 		if (getHPCost() > 0) {
-			icon = IO.getResourceAsImage("shoukan/icons/blood.png");
+			icon = IO.getSharedResourceAsImage("shoukan/icons/blood.png");
 			assert icon != null;
 			int x = 200 - icon.getWidth();
 
@@ -256,7 +276,7 @@ public interface Drawable<T extends Drawable<T>> {
 		}
 
 		if (getSCCost() > 0) {
-			icon = IO.getResourceAsImage("shoukan/icons/sacrifice.png");
+			icon = IO.getSharedResourceAsImage("shoukan/icons/sacrifice.png");
 			assert icon != null;
 			int x = 200 - icon.getWidth();
 
@@ -277,7 +297,7 @@ public interface Drawable<T extends Drawable<T>> {
 		{ // LEFT
 			int y = desc ? 225 : 291;
 			if (getDfs() != 0) {
-				icon = IO.getResourceAsImage("shoukan/icons/defense.png");
+				icon = IO.getSharedResourceAsImage("shoukan/icons/defense.png");
 				assert icon != null;
 				int x = 25;
 
@@ -299,7 +319,7 @@ public interface Drawable<T extends Drawable<T>> {
 			}
 
 			if (getDmg() != 0) {
-				icon = IO.getResourceAsImage("shoukan/icons/attack.png");
+				icon = IO.getSharedResourceAsImage("shoukan/icons/attack.png");
 				assert icon != null;
 				int x = 25;
 
@@ -322,7 +342,7 @@ public interface Drawable<T extends Drawable<T>> {
 
 			if (this instanceof Senshi s) {
 				if (s.isBlinded()) {
-					icon = IO.getResourceAsImage("shoukan/icons/blind.png");
+					icon = IO.getSharedResourceAsImage("shoukan/icons/blind.png");
 					assert icon != null;
 					int x = 25;
 
@@ -332,7 +352,7 @@ public interface Drawable<T extends Drawable<T>> {
 			}
 
 			if (getCooldown() > 0) {
-				icon = IO.getResourceAsImage("shoukan/icons/cooldown.png");
+				icon = IO.getSharedResourceAsImage("shoukan/icons/cooldown.png");
 				assert icon != null;
 				int x = 25;
 
@@ -347,7 +367,7 @@ public interface Drawable<T extends Drawable<T>> {
 		{ // RIGHT
 			int y = desc ? 225 : 291;
 			if (getParry() != 0) {
-				icon = IO.getResourceAsImage("shoukan/icons/parry.png");
+				icon = IO.getSharedResourceAsImage("shoukan/icons/parry.png");
 				assert icon != null;
 				int x = 200 - icon.getWidth();
 
@@ -359,7 +379,7 @@ public interface Drawable<T extends Drawable<T>> {
 			}
 
 			if (getDodge() != 0) {
-				icon = IO.getResourceAsImage("shoukan/icons/dodge.png");
+				icon = IO.getSharedResourceAsImage("shoukan/icons/dodge.png");
 				assert icon != null;
 				int x = 200 - icon.getWidth();
 
@@ -371,7 +391,7 @@ public interface Drawable<T extends Drawable<T>> {
 			}
 
 			if (!getCurses().isEmpty()) {
-				icon = IO.getResourceAsImage("shoukan/icons/curse.png");
+				icon = IO.getSharedResourceAsImage("shoukan/icons/curse.png");
 				assert icon != null;
 				int x = 200 - icon.getWidth();
 
@@ -18,6 +18,7 @@
 
 package com.kuuhaku.interfaces.shoukan;
 
+import com.kuuhaku.CompiledExpression;
 import com.kuuhaku.ExpressionListener;
 import com.kuuhaku.Tag;
 import com.kuuhaku.generated.ShoukanExprLexer;
@@ -214,6 +215,11 @@ public interface EffectHolder<T extends Drawable<T>> extends Drawable<T> {
 				Map.entry("data", getStats().getData())
 		);
 
+		double[] vars = new double[CompiledExpression.VARIABLES.size()];
+		for (int i = 0; i < vars.length; i++) {
+			vars[i] = ((Number) values.get(CompiledExpression.VARIABLES.get(i))).doubleValue();
+		}
+
 		String desc = getDescription(locale);
 		Matcher pat = Utils.regex(desc, "(?:\\{=([^{}]*?)}|\\{(\\w+)})(%)?");
 		Map<String, Integer> counter = new HashMap<>();
@@ -244,7 +250,13 @@ public interface EffectHolder<T extends Drawable<T>> extends Drawable<T> {
 							.findFirst().orElse(null);
 
 					if (stale) {
-						String val = String.valueOf(Utils.exec("import static java.lang.Math.*\n\n" + str.replace("$", ""), values));
+						double val;
+						CompiledExpression expr = CompiledExpression.compile(str);
+						if (expr != null) {
+							val = expr.eval(vars, getStats().getData());
+						} else {
+							val = NumberUtils.toDouble(String.valueOf(Utils.exec("import static java.lang.Math.*\n\n" + str.replace("$", ""), values)));
+						}
 
 						for (Object type : types) {
 							props.compute(String.valueOf(type), (k, v) -> {
@@ -253,7 +265,7 @@ public interface EffectHolder<T extends Drawable<T>> extends Drawable<T> {
 									power = 1;
 								}
 
-								int value = Calc.round(NumberUtils.toDouble(val) * power / equips);
+								int value = Calc.round(val * power / equips);
 
 								if (v == null) {
 									return PropValue.from(value);
@@ -370,7 +382,7 @@ public interface EffectHolder<T extends Drawable<T>> extends Drawable<T> {
 					if (Utils.between(code, 0x2801, 0x2900)) {
 						String path = "shoukan/icons/" + ICONS[code - 0x2801];
 
-						BufferedImage icon = IO.getResourceAsImage(path);
+						BufferedImage icon = IO.getSharedResourceAsImage(path);
 						if (icon != null) {
 							int size = g2d.getFont().getSize();
 							g2d.drawImage(icon, x + 2, y - size + 1, size, size, null);
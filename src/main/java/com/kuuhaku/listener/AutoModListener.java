@@ -19,6 +19,7 @@
 package com.kuuhaku.listener;
 
 import com.kuuhaku.Application;
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.model.enums.AutoModType;
 import com.kuuhaku.model.persistent.guild.GuildConfig;
@@ -35,7 +36,7 @@ public class AutoModListener extends ListenerAdapter {
 	public void onAutoModExecution(@NotNull AutoModExecutionEvent event) {
 		if (!Application.READY) return;
 
-		GuildConfig config = DAO.find(GuildConfig.class, event.getGuild().getId());
+		GuildConfig config = Main.getCacheManager().getGuildConfig(event.getGuild().getId());
 		AutoModType type = config.getSettings().getAutoModEntries().entrySet().parallelStream()
 				.filter(e -> e.getValue().equals(event.getRuleId()))
 				.map(Map.Entry::getKey)
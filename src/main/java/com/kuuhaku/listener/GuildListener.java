@@ -45,7 +45,6 @@ import com.kuuhaku.model.persistent.guild.WelcomeSettings;
 import com.kuuhaku.model.persistent.guild.GoodbyeSettings;
 import com.kuuhaku.model.persistent.guild.GuildSettings;
 import com.kuuhaku.model.persistent.guild.LevelRole;
-import com.kuuhaku.model.persistent.guild.CustomAnswer;
 
 import com.kuuhaku.model.persistent.shiro.CommandMetrics;
 
@@ -53,14 +52,16 @@ import com.kuuhaku.model.persistent.user.Account;
 import com.kuuhaku.model.persistent.user.Profile;
 import com.kuuhaku.model.persistent.user.UserItem;
 import com.kuuhaku.model.persistent.user.KawaiponCard;
-import com.kuuhaku.model.persistent.user.Title;
 
 import com.kuuhaku.model.records.MessageData;
+import com.kuuhaku.model.records.CompiledAnswer;
 import com.kuuhaku.model.records.GuildBuff;
 import com.kuuhaku.model.records.EventData;
 import com.kuuhaku.model.records.PreparedCommand;
 import com.kuuhaku.model.records.PseudoUser;
 
+import com.kuuhaku.schedule.MinuteSchedule;
+
 import com.kuuhaku.util.Utils;
 import com.kuuhaku.util.Graph;
 import com.kuuhaku.util.Calc;
@@ -126,7 +127,7 @@ public class GuildListener extends ListenerAdapter {
 
 		MessageReaction reaction = event.getReaction();
 		if (reaction.getEmoji().getFormatted().equals("⭐")) {
-			GuildConfig config = DAO.find(GuildConfig.class, event.getGuild().getId());
+			GuildConfig config = Main.getCacheManager().getGuildConfig(event.getGuild().getId());
 
 			GuildMessageChannel channel = config.getSettings().getStarboardChannel();
 			if (channel == null) return;
@@ -180,7 +181,7 @@ public class GuildListener extends ListenerAdapter {
 	public void onGuildMemberJoin(@NotNull GuildMemberJoinEvent event) {
 		if (!Application.READY || event.getUser().isBot()) return;
 
-		GuildConfig config = DAO.find(GuildConfig.class, event.getGuild().getId());
+		GuildConfig config = Main.getCacheManager().getGuildConfig(event.getGuild().getId());
 
 		Member me = event.getGuild().getSelfMember();
 		Member mb = event.getMember();
@@ -200,7 +201,7 @@ public class GuildListener extends ListenerAdapter {
 	public void onGuildMemberRemove(@NotNull GuildMemberRemoveEvent event) {
 		if (!Application.READY || event.getUser().isBot()) return;
 
-		GuildConfig config = DAO.find(GuildConfig.class, event.getGuild().getId());
+		GuildConfig config = Main.getCacheManager().getGuildConfig(event.getGuild().getId());
 
 		GoodbyeSettings gs = config.getGoodbyeSettings();
 		GuildMessageChannel channel = gs.getChannel();
@@ -274,11 +275,10 @@ public class GuildListener extends ListenerAdapter {
 			evts.removeIf(SimpleMessageListener::isClosed);
 		}
 
-		GuildConfig config = DAO.find(GuildConfig.class, data.guild().getId());
+		GuildConfig config = Main.getCacheManager().getGuildConfig(data.guild().getId());
 		I18N locale = config.getLocale();
 		if (!Objects.equals(config.getName(), data.guild().getName())) {
-			config.setName(data.guild().getName());
-			config.save();
+			MinuteSchedule.GUILD_NAMES.put(config.getGid(), data.guild().getName());
 		}
 
 		if (config.getSettings().isFeatureEnabled(GuildFeature.ANTI_LINK)) {
@@ -289,10 +289,9 @@ public class GuildListener extends ListenerAdapter {
 			}
 		}
 
-		Account account = DAO.find(Account.class, data.user().getId());
+		Account account = Main.getCacheManager().getAccount(data.user().getId());
 		if (!Objects.equals(account.getName(), data.user().getName())) {
-			account.setName(data.user().getName());
-			account.save();
+			MinuteSchedule.ACCOUNT_NAMES.put(account.getUid(), data.user().getName());
 		}
 
 		Profile profile = account.getProfile(data.member());
@@ -305,7 +304,7 @@ public class GuildListener extends ListenerAdapter {
 			Thread.currentThread().setName("Event-" + Thread.currentThread().threadId());
 			EventData ed = new EventData(data.channel(), config, profile);
 			if (content.toLowerCase().startsWith(config.getPrefix()) && data.channel().canTalk()) {
-				processCommand(data, ed, content);
+				processCommand(data, new EventData(data.channel(), DAO.find(GuildConfig.class, config.getGid()), profile), content);
 			}
 
 			if (config.getSettings().isFeatureEnabled(GuildFeature.ANTI_ZALGO)) {
@@ -451,21 +450,16 @@ public class GuildListener extends ListenerAdapter {
 			}
 
 			if (!data.member().equals(data.me()) && Utils.between(content.length(), 3, 255)) {
-				List<CustomAnswer> cas = DAO.queryAll(CustomAnswer.class, "SELECT ca FROM CustomAnswer ca WHERE id.gid = ?1 AND LOWER(?2) LIKE LOWER(trigger)",
-						data.guild().getId(), StringUtils.stripAccents(content)
-				);
-
-				for (CustomAnswer ca : cas) {
-					if (ca.getChannels().isEmpty() || ca.getChannels().contains(data.channel().getId())) {
-						if (ca.getUsers().isEmpty() || ca.getUsers().contains(data.user().getId())) {
-							if (Calc.chance(ca.getChance() / (data.user().isBot() ? 2d : 1d))) {
-								data.channel().sendTyping()
-										.delay(ca.getAnswer().length() / 3, TimeUnit.SECONDS)
-										.flatMap(v -> data.channel().sendMessage(ca.getAnswer()))
-										.queue();
-								break;
-							}
-						}
+				List<CompiledAnswer> cas = Main.getCacheManager().getCustomAnswers(data.guild().getId())
+						.match(StringUtils.stripAccents(content), data.channel().getId(), data.user().getId());
+
+				for (CompiledAnswer ca : cas) {
+					if (Calc.chance(ca.chance() / (data.user().isBot() ? 2d : 1d))) {
+						data.channel().sendTyping()
+								.delay(ca.answer().length() / 3, TimeUnit.SECONDS)
+								.flatMap(v -> data.channel().sendMessage(ca.answer()))
+								.queue();
+						break;
 					}
 				}
 			}
@@ -651,12 +645,12 @@ public class GuildListener extends ListenerAdapter {
 
 				if (!Constants.STF_PRIVILEGE.apply(data.member())) {
 					int runtime = Math.toIntExact(Duration.between(start, Instant.now()).toMillis());
-					new CommandMetrics(
+					Main.getMetricsManager().offer(new CommandMetrics(
 							data.user().getId(),
 							data.guild().getId(),
 							pc.name(),
 							runtime, error
-					).save();
+					));
 
 					ratelimit.put(data.user().getId(), true, Calc.rng(2000, 3500), TimeUnit.MILLISECONDS);
 				}
@@ -675,12 +669,7 @@ public class GuildListener extends ListenerAdapter {
 
 				data.channel().sendMessage(error).setEmbeds(eb.build()).queue();
 			} finally {
-				DAO.apply(Account.class, data.user().getId(), acc -> {
-					Title t = acc.checkTitles(locale);
-					if (t != null) {
-						event.notify(locale.get("achievement/title", data.user().getAsMention(), t.getInfo(locale).getName()));
-					}
-				});
+				Main.getTitleManager().notify(data.user().getId(), locale, event);
 			}
 		}
 	}
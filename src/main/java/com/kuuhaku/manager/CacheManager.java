@@ -20,10 +20,22 @@ package com.kuuhaku.manager;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.kuuhaku.controller.DAO;
+import com.kuuhaku.model.common.AnswerMatcher;
+import com.kuuhaku.model.persistent.guild.CustomAnswer;
+import com.kuuhaku.model.persistent.guild.GuildConfig;
+import com.kuuhaku.model.persistent.user.Account;
 import groovy.lang.Script;
+import org.apache.commons.codec.digest.DigestUtils;
 
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 public class CacheManager {
@@ -33,9 +45,24 @@ public class CacheManager {
 			.<String, byte[]>weigher((k, v) -> v.length)
 			.build();
 
-	private final Cache<String, String> locale = Caffeine.newBuilder()
+	private final Cache<String, BufferedImage> image = Caffeine.newBuilder()
 			.expireAfterAccess(30, TimeUnit.MINUTES)
-			.maximumSize(128)
+			.maximumWeight(512 * 1024 * 1024)
+			.<String, BufferedImage>weigher((k, v) -> v.getWidth() * v.getHeight() * 4)
+			.recordStats()
+			.build();
+
+	private final Map<String, CompletableFuture<BufferedImage>> loadingImages = new ConcurrentHashMap<>();
+
+	private final Cache<String, String> render = Caffeine.newBuilder()
+			.expireAfterAccess(1, TimeUnit.HOURS)
+			.maximumSize(16384)
+			.build();
+
+	private final Cache<String, byte[]> renderData = Caffeine.newBuilder()
+			.expireAfterAccess(1, TimeUnit.HOURS)
+			.maximumWeight(256 * 1024 * 1024)
+			.<String, byte[]>weigher((k, v) -> v.length)
 			.build();
 
 	private final Cache<String, Class<? extends Script>> script = Caffeine.newBuilder()
@@ -48,6 +75,26 @@ public class CacheManager {
 			.maximumSize(128)
 			.build();
 
+	private final Cache<String, double[]> odds = Caffeine.newBuilder()
+			.expireAfterAccess(30, TimeUnit.MINUTES)
+			.maximumSize(1024)
+			.build();
+
+	private final Cache<String, GuildConfig> guildConfig = Caffeine.newBuilder()
+			.expireAfterWrite(10, TimeUnit.MINUTES)
+			.maximumSize(4096)
+			.build();
+
+	private final Cache<String, AnswerMatcher> customAnswer = Caffeine.newBuilder()
+			.expireAfterAccess(30, TimeUnit.MINUTES)
+			.maximumSize(4096)
+			.build();
+
+	private final Cache<String, Account> account = Caffeine.newBuilder()
+			.expireAfterWrite(5, TimeUnit.MINUTES)
+			.maximumSize(16384)
+			.build();
+
 	public Cache<String, byte[]> getResourceCache() {
 		return resource;
 	}
@@ -60,16 +107,67 @@ public class CacheManager {
 		return bytes;
 	}
 
-	public Cache<String, String> getLocaleCache() {
-		return locale;
+	public Cache<String, BufferedImage> getImageCache() {
+		return image;
 	}
 
-	public String computeLocale(String key, BiFunction<String, String, String> mapper) {
-		String value = mapper.apply(key, locale.getIfPresent(key));
-		if (value == null) return null;
+	/**
+	 * Loads an image once per key, concurrent callers for the same key wait for the first load.
+	 * <br>
+	 * Loaders compose other cached images (frames over art, chrome over overlays), so the load can't run inside
+	 * {@code image.get(key, loader)}, which forbids touching other entries of the same cache while computing.
+	 */
+	public BufferedImage computeImage(String key, Function<String, BufferedImage> loader) {
+		BufferedImage value = image.getIfPresent(key);
+		if (value != null) return value;
+
+		CompletableFuture<BufferedImage> task = new CompletableFuture<>();
+		CompletableFuture<BufferedImage> running = loadingImages.putIfAbsent(key, task);
+		if (running != null) return running.join();
+
+		try {
+			value = image.getIfPresent(key);
+			if (value == null) {
+				value = loader.apply(key);
+				if (value != null) {
+					image.put(key, value);
+				}
+			}
+
+			task.complete(value);
+			return value;
+		} catch (RuntimeException e) {
+			task.completeExceptionally(e);
+			throw e;
+		} finally {
+			loadingImages.remove(key, task);
+		}
+	}
 
-		locale.put(key, value);
-		return value;
+	public CacheStats getImageStats() {
+		return image.stats();
+	}
+
+	/**
+	 * Rendered PNGs are stored by content hash, so identical renders requested under different keys are kept
+	 * only once.
+	 */
+	public byte[] getRender(String key) {
+		String hash = render.getIfPresent(key);
+		if (hash == null) return null;
+
+		return renderData.getIfPresent(hash);
+	}
+
+	public void putRender(String key, byte[] png) {
+		String hash = DigestUtils.sha256Hex(png);
+		renderData.asMap().putIfAbsent(hash, png);
+		render.put(key, hash);
+	}
+
+	public void invalidateRenders() {
+		render.invalidateAll();
+		renderData.invalidateAll();
 	}
 
 	public Cache<String, Class<? extends Script>> getScriptCache() {
@@ -95,4 +193,40 @@ public class CacheManager {
 		pattern.put(key, value);
 		return value;
 	}
+
+	public Cache<String, double[]> getOddsCache() {
+		return odds;
+	}
+
+	public double[] computeOdds(String key, Function<String, double[]> loader) {
+		return odds.get(key, loader);
+	}
+
+	public Cache<String, GuildConfig> getGuildConfigCache() {
+		return guildConfig;
+	}
+
+	public GuildConfig getGuildConfig(String gid) {
+		return guildConfig.get(gid, k -> DAO.find(GuildConfig.class, k));
+	}
+
+	public Cache<String, AnswerMatcher> getCustomAnswerCache() {
+		return customAnswer;
+	}
+
+	public AnswerMatcher getCustomAnswers(String gid) {
+		return customAnswer.get(gid, this::buildMatcher);
+	}
+
+	private AnswerMatcher buildMatcher(String gid) {
+		return new AnswerMatcher(DAO.queryAll(CustomAnswer.class, "SELECT ca FROM CustomAnswer ca WHERE ca.id.gid = ?1", gid));
+	}
+
+	public Cache<String, Account> getAccountCache() {
+		return account;
+	}
+
+	public Account getAccount(String uid) {
+		return account.get(uid, k -> DAO.find(Account.class, k));
+	}
 }
@@ -0,0 +1,223 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.manager;
+
+import com.kuuhaku.Constants;
+import com.kuuhaku.Main;
+import com.kuuhaku.controller.DAO;
+import com.kuuhaku.interfaces.shoukan.Drawable;
+import com.kuuhaku.model.enums.CardType;
+import com.kuuhaku.model.persistent.shoukan.Evogear;
+import com.kuuhaku.model.persistent.shoukan.Field;
+import com.kuuhaku.model.persistent.shoukan.Senshi;
+import com.kuuhaku.util.Utils;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable catalog of every Shoukan card definition, loaded once and swapped as a whole on reload.
+ * <p>
+ * Catalog entries are prototypes and never leave this class, every getter returns a {@link Drawable#copy()}
+ * so match state can't leak between games.
+ */
+public class CatalogManager {
+	private volatile Catalog catalog = null;
+	private volatile boolean dirty = true;
+
+	public CatalogManager() {
+		Main.READY.add(this::getCatalog);
+	}
+
+	public Senshi getSenshi(String id) {
+		Senshi s = getCatalog().senshi().get(id);
+		if (s == null) return DAO.find(Senshi.class, id);
+
+		return s.copy();
+	}
+
+	public Evogear getEvogear(String id) {
+		Evogear e = getCatalog().evogear().get(id);
+		if (e == null) return DAO.find(Evogear.class, id);
+
+		return e.copy();
+	}
+
+	public Field getField(String id) {
+		Field f = getCatalog().fields().get(id);
+		if (f == null) return DAO.find(Field.class, id);
+
+		return f.copy();
+	}
+
+	/**
+	 * @return The Shoukan type of a card, preferring field over evogear over senshi, or null if it has none
+	 */
+	public CardType getType(String id) {
+		Catalog c = getCatalog();
+		if (c.fields().containsKey(id)) return CardType.FIELD;
+		else if (c.evogear().containsKey(id)) return CardType.EVOGEAR;
+		else if (c.senshi().containsKey(id)) return CardType.SENSHI;
+
+		return null;
+	}
+
+	public Drawable<?> getCard(CardType type, String id) {
+		return switch (type) {
+			case KAWAIPON, SENSHI -> getSenshi(id);
+			case EVOGEAR -> getEvogear(id);
+			case FIELD -> getField(id);
+		};
+	}
+
+	/**
+	 * @return Copies of every card available in the CARDMASTER arcade
+	 */
+	public List<Drawable<?>> getCardmasterPool() {
+		return getCatalog().cardmaster().stream()
+				.<Drawable<?>>map(Drawable::copy)
+				.toList();
+	}
+
+	/**
+	 * Picks a random senshi, excluding fusions.
+	 */
+	public Senshi getRandomSenshi(RandomGenerator rng) {
+		List<Senshi> pool = getCatalog().randomSenshi();
+		if (pool.isEmpty()) return null;
+
+		return Utils.getRandomEntry(rng, pool).copy();
+	}
+
+	/**
+	 * Picks a random senshi with an effect and the given mana cost, counting the extra cost of fusions.
+	 */
+	public Senshi getRandomEffectSenshi(RandomGenerator rng, int mana) {
+		List<Senshi> pool = getCatalog().effectSenshi().getOrDefault(mana, List.of());
+		if (pool.isEmpty()) return null;
+
+		return Utils.getRandomEntry(rng, pool).copy();
+	}
+
+	/**
+	 * Picks a random evogear, excluding tier 0 ones.
+	 */
+	public Evogear getRandomEvogear(RandomGenerator rng) {
+		List<Evogear> pool = getCatalog().randomEvogear();
+		if (pool.isEmpty()) return null;
+
+		return Utils.getRandomEntry(rng, pool).copy();
+	}
+
+	/**
+	 * Picks a random field, excluding effect ones.
+	 */
+	public Field getRandomField(RandomGenerator rng) {
+		List<Field> pool = getCatalog().randomFields();
+		if (pool.isEmpty()) return null;
+
+		return Utils.getRandomEntry(rng, pool).copy();
+	}
+
+	public void invalidate() {
+		dirty = true;
+	}
+
+	public void reload() {
+		invalidate();
+		getCatalog();
+	}
+
+	private Catalog getCatalog() {
+		Catalog c = catalog;
+		if (c != null && !dirty) return c;
+
+		synchronized (this) {
+			if (catalog == null || dirty) {
+				dirty = false;
+				catalog = load();
+			}
+
+			return catalog;
+		}
+	}
+
+	private Catalog load() {
+		List<Senshi> senshi = sorted(DAO.findAll(Senshi.class), Senshi::getId);
+		List<Evogear> evogear = sorted(DAO.findAll(Evogear.class), Evogear::getId);
+		List<Field> fields = sorted(DAO.findAll(Field.class), Field::getId);
+
+		Map<Integer, List<Senshi>> effectSenshi = senshi.stream()
+				.filter(s -> s.getBase().getEffect() != null)
+				.collect(Collectors.groupingBy(
+						s -> s.getBase().getMana() + (s.getBase().getTags().contains("FUSION") ? 5 : 0),
+						Collectors.toUnmodifiableList()
+				));
+
+		List<Drawable<?>> cardmaster = new ArrayList<>();
+		senshi.stream()
+				.filter(s -> Utils.between(s.getCard().getRarity().getIndex(), 1, 5))
+				.filter(s -> !s.getBase().getTags().contains("FUSION"))
+				.forEach(cardmaster::add);
+		evogear.stream()
+				.filter(e -> e.getBase().getMana() > 0)
+				.forEach(cardmaster::add);
+		fields.stream()
+				.filter(f -> !f.isEffect())
+				.forEach(cardmaster::add);
+
+		Catalog out = new Catalog(
+				index(senshi, Senshi::getId),
+				index(evogear, Evogear::getId),
+				index(fields, Field::getId),
+				senshi.stream().filter(s -> !s.getBase().getTags().contains("FUSION")).toList(),
+				Map.copyOf(effectSenshi),
+				evogear.stream().filter(e -> e.getTier() > 0).toList(),
+				fields.stream().filter(f -> !f.isEffect()).toList(),
+				List.copyOf(cardmaster)
+		);
+
+		Constants.LOGGER.info("Loaded {} senshi, {} evogear and {} fields into the card catalog", senshi.size(), evogear.size(), fields.size());
+		return out;
+	}
+
+	private static <T> List<T> sorted(List<T> cards, Function<T, String> id) {
+		return cards.stream()
+				.sorted(Comparator.comparing(id))
+				.toList();
+	}
+
+	private static <T> Map<String, T> index(List<T> cards, Function<T, String> id) {
+		return cards.stream().collect(Collectors.toUnmodifiableMap(id, c -> c));
+	}
+
+	private record Catalog(
+			Map<String, Senshi> senshi,
+			Map<String, Evogear> evogear,
+			Map<String, Field> fields,
+			List<Senshi> randomSenshi,
+			Map<Integer, List<Senshi>> effectSenshi,
+			List<Evogear> randomEvogear,
+			List<Field> randomFields,
+			List<Drawable<?>> cardmaster
+	) {
+	}
+}
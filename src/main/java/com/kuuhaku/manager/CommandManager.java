@@ -25,132 +25,142 @@ import com.kuuhaku.interfaces.annotations.Requires;
 import com.kuuhaku.interfaces.annotations.Syntax;
 import com.kuuhaku.model.enums.Category;
 import com.kuuhaku.model.records.PreparedCommand;
+import com.kuuhaku.util.ClassIndex;
+import com.kuuhaku.util.SyntaxParser;
 import net.dv8tion.jda.api.Permission;
-import org.reflections.Reflections;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.PatternSyntaxException;
 
 public class CommandManager {
-	private final Reflections refl = new Reflections("com.kuuhaku.command");
-	private final Set<Class<?>> cmds = refl.getTypesAnnotatedWith(Command.class);
-	private final Set<String> names = new HashSet<>();
-	private final Map<String, PreparedCommand> surrogate = new HashMap<>();
-	private final Map<String, PreparedCommand> mapped = new HashMap<>();
+	private static final Comparator<PreparedCommand> BY_NAME = Comparator.comparing(PreparedCommand::name);
+
+	private final Map<String, Entry> commands;
+	private final Map<Class<?>, Entry> classes;
+	private final Map<Category, List<String>> categories;
+	private final Map<String, List<String>> children;
+	private final Map<String, PreparedCommand> surrogate;
+	private final Set<Permission> permissions;
+
+	private final Map<String, PreparedCommand> mapped = new ConcurrentHashMap<>();
+	private final Map<Category, Set<PreparedCommand>> categoryViews = new ConcurrentHashMap<>();
+	private final Map<String, Set<PreparedCommand>> childViews = new ConcurrentHashMap<>();
+
+	private record Entry(String name, String parent, Category category, Permission[] permissions, String[] syntax, Class<?> klass) {
+	}
 
 	public CommandManager() {
-		for (Class<?> cmd : cmds) {
+		Map<String, Entry> commands = new HashMap<>();
+		Map<Class<?>, Entry> classes = new HashMap<>();
+		Map<Category, List<String>> categories = new EnumMap<>(Category.class);
+		Map<String, List<String>> children = new HashMap<>();
+		Map<String, PreparedCommand> surrogate = new HashMap<>();
+		Set<Permission> permissions = EnumSet.noneOf(Permission.class);
+
+		for (Class<?> cmd : ClassIndex.load("commands", "com.kuuhaku.command", Command.class)) {
 			Command params = cmd.getDeclaredAnnotation(Command.class);
 			String full = params.name();
 			if (params.path().length > 0) {
 				full += "." + String.join(".", params.path());
 			}
 
-			full = full.toLowerCase();
-			if (!names.add(full)) {
-				Constants.LOGGER.fatal("Detected commands with the same name: {}", full);
+			Requires req = cmd.getDeclaredAnnotation(Requires.class);
+			Syntax sig = cmd.getDeclaredAnnotation(Syntax.class);
+			if (sig != null) {
+				try {
+					SyntaxParser.validate(sig.value(), sig.patterns());
+				} catch (PatternSyntaxException e) {
+					Constants.LOGGER.fatal("Invalid syntax pattern in command {}: {}", cmd.getSimpleName(), e.getMessage());
+					System.exit(1);
+				}
+			}
+
+			Entry entry = new Entry(
+					full,
+					params.name(),
+					params.category(),
+					req == null ? new Permission[0] : req.value(),
+					sig == null ? new String[0] : sig.value(),
+					cmd
+			);
+
+			String key = full.toLowerCase();
+			if (commands.putIfAbsent(key, entry) != null) {
+				Constants.LOGGER.fatal("Detected commands with the same name: {}", key);
 				System.exit(1);
 			}
+
+			classes.put(cmd, entry);
+			categories.computeIfAbsent(entry.category(), k -> new ArrayList<>()).add(key);
+			if (params.path().length > 0) {
+				children.computeIfAbsent(entry.parent(), k -> new ArrayList<>()).add(key);
+			}
+
+			permissions.addAll(List.of(entry.permissions()));
 		}
 
-		for (Class<?> cmd : cmds) {
-			Command params = cmd.getDeclaredAnnotation(Command.class);
-			String parent = params.name();
+		for (Entry entry : commands.values()) {
+			String parent = entry.parent();
 
-			if (!names.contains(parent) && !surrogate.containsKey(parent)) {
-				surrogate.put(parent, new PreparedCommand(parent, params.category(), null, null));
+			if (!commands.containsKey(parent) && !surrogate.containsKey(parent)) {
+				surrogate.put(parent, new PreparedCommand(parent, entry.category(), null, null));
 				Constants.LOGGER.info("Mapped surrogate command parent: {}", parent);
 			}
 		}
+
+		this.commands = Map.copyOf(commands);
+		this.classes = Map.copyOf(classes);
+		this.categories = Map.copyOf(categories);
+		this.children = Map.copyOf(children);
+		this.surrogate = Map.copyOf(surrogate);
+		this.permissions = Collections.unmodifiableSet(permissions);
 	}
 
 	public Set<PreparedCommand> getCommands() {
-		Set<PreparedCommand> commands = new TreeSet<>(Comparator.comparing(PreparedCommand::name));
-
-		for (Class<?> cmd : cmds) {
-			Command params = cmd.getDeclaredAnnotation(Command.class);
-			extractCommand(commands, cmd, params);
+		Set<PreparedCommand> out = new TreeSet<>(BY_NAME);
+		for (String name : commands.keySet()) {
+			out.add(getCommand(name));
 		}
 
-		return commands;
+		return out;
 	}
 
 	public Set<PreparedCommand> getCommands(Category category) {
-		Set<PreparedCommand> commands = new TreeSet<>(Comparator.comparing(PreparedCommand::name));
-
-		for (Class<?> cmd : cmds) {
-			Command params = cmd.getDeclaredAnnotation(Command.class);
-			if (params.category() == category) {
-				extractCommand(commands, cmd, params);
-			}
-		}
-
-		return commands;
+		return categoryViews.computeIfAbsent(category, k -> toView(categories.getOrDefault(k, List.of())));
 	}
 
 	public PreparedCommand getCommand(String name) {
 		name = name.toLowerCase();
-		if (!names.contains(name)) {
-			return surrogate.get(name);
-		}
-
-		if (mapped.containsKey(name)) return mapped.get(name);
-		else {
-			for (Class<?> cmd : cmds) {
-				Command params = cmd.getDeclaredAnnotation(Command.class);
-				String full = params.name();
-				if (params.path().length > 0) {
-					full += "." + String.join(".", params.path());
-				}
 
-				if (name.equals(full)) {
-					Requires req = cmd.getDeclaredAnnotation(Requires.class);
-					PreparedCommand pc = new PreparedCommand(
-							full,
-							params.category(),
-							req == null ? new Permission[0] : req.value(),
-							buildCommand(cmd)
-					);
-
-					mapped.put(full, pc);
-					return pc;
-				}
-			}
+		Entry entry = commands.get(name);
+		if (entry == null) {
+			return surrogate.get(name);
 		}
 
-		return null;
+		return mapped.computeIfAbsent(name, k -> new PreparedCommand(
+				entry.name(),
+				entry.category(),
+				entry.permissions(),
+				buildCommand(entry.klass())
+		));
 	}
 
 	public Set<PreparedCommand> getSubCommands(String parent) {
-		Set<PreparedCommand> out = new TreeSet<>(Comparator.comparing(PreparedCommand::name));
-
-		for (Class<?> cmd : cmds) {
-			Command params = cmd.getDeclaredAnnotation(Command.class);
-			if (params.path().length == 0 || !params.name().equals(parent)) continue;
-
-			extractCommand(out, cmd, params);
-		}
+		List<String> names = children.get(parent);
+		if (names == null) return Set.of();
 
-		return out;
+		return childViews.computeIfAbsent(parent, k -> toView(names));
 	}
 
-	private void extractCommand(Set<PreparedCommand> commands, Class<?> cmd, Command params) {
-		String full = params.name();
-		if (params.path().length > 0) {
-			full += "." + String.join(".", params.path());
+	private Set<PreparedCommand> toView(List<String> names) {
+		Set<PreparedCommand> out = new TreeSet<>(BY_NAME);
+		for (String name : names) {
+			out.add(getCommand(name));
 		}
 
-		if (mapped.containsKey(full)) {
-			commands.add(mapped.get(full));
-		} else {
-			Requires req = cmd.getDeclaredAnnotation(Requires.class);
-			commands.add(new PreparedCommand(
-					full,
-					params.category(),
-					req == null ? new Permission[0] : req.value(),
-					buildCommand(cmd)
-			));
-		}
+		return Collections.unmodifiableSet(out);
 	}
 
 	private Executable buildCommand(Class<?> klass) {
@@ -164,6 +174,9 @@ public class CommandManager {
 	}
 
 	public String[] getCommandSyntax(Class<?> klass) {
+		Entry entry = classes.get(klass);
+		if (entry != null) return entry.syntax();
+
 		Syntax sig = klass.getDeclaredAnnotation(Syntax.class);
 		if (sig == null) return new String[0];
 
@@ -171,18 +184,10 @@ public class CommandManager {
 	}
 
 	public Set<String> getReservedNames() {
-		return names;
+		return commands.keySet();
 	}
 
 	public Set<Permission> getAllPermissions() {
-		Set<Permission> perms = EnumSet.noneOf(Permission.class);
-		for (Class<?> cmd : cmds) {
-			Requires req = cmd.getDeclaredAnnotation(Requires.class);
-			if (req != null) {
-				perms.addAll(Set.of(req.value()));
-			}
-		}
-
-		return perms;
+		return permissions;
 	}
 }
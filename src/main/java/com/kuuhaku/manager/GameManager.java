@@ -0,0 +1,115 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.manager;
+
+import com.kuuhaku.Constants;
+import com.kuuhaku.game.engine.SerialExecutor;
+import com.kuuhaku.game.engine.TimerWheel;
+
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Shared runtime for every running game.
+ * <br>
+ * Each game gets a serial lane over virtual threads, timeouts are served by a single timer wheel and
+ * renders go through a bounded pool sized to the available processors.
+ */
+public class GameManager {
+	private final TimerWheel timer = new TimerWheel(100, TimeUnit.MILLISECONDS, 512);
+	private final ExecutorService exec = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("game-", 0).factory());
+	private final ThreadPoolExecutor render;
+	private final Set<SerialExecutor> active = ConcurrentHashMap.newKeySet();
+
+	public GameManager() {
+		int threads = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+		render = new ThreadPoolExecutor(
+				threads, threads, 0, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(),
+				Thread.ofPlatform().name("render-", 0).daemon().factory()
+		);
+
+		timer.schedule(this::report, 1, TimeUnit.MINUTES, exec);
+	}
+
+	public TimerWheel getTimer() {
+		return timer;
+	}
+
+	public Executor getExecutor() {
+		return exec;
+	}
+
+	public SerialExecutor newLane() {
+		return new SerialExecutor(exec);
+	}
+
+	public SerialExecutor newRenderLane() {
+		return new SerialExecutor(render);
+	}
+
+	/**
+	 * Runs the task on a virtual thread after the given delay.
+	 */
+	public TimerWheel.Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+		return timer.schedule(task, delay, unit, exec);
+	}
+
+	public void register(SerialExecutor lane) {
+		active.add(lane);
+	}
+
+	public void unregister(SerialExecutor lane) {
+		lane.shutdown();
+		active.remove(lane);
+	}
+
+	public int getActiveGames() {
+		return active.size();
+	}
+
+	public int getQueueDepth() {
+		int depth = 0;
+		for (SerialExecutor lane : active) {
+			depth += lane.getQueueDepth();
+		}
+
+		return depth;
+	}
+
+	public int getRenderQueue() {
+		return render.getQueue().size();
+	}
+
+	public long getTimerLag() {
+		return timer.getLag();
+	}
+
+	private void report() {
+		try {
+			if (!active.isEmpty()) {
+				Constants.LOGGER.info("Games: {} active, {} queued tasks, {} queued renders, {} timers pending, {}ms timer lag",
+						getActiveGames(), getQueueDepth(), getRenderQueue(), timer.getPending(), getTimerLag()
+				);
+			}
+		} finally {
+			timer.schedule(this::report, 1, TimeUnit.MINUTES, exec);
+		}
+	}
+}
@@ -0,0 +1,262 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.manager;
+
+import com.kuuhaku.Constants;
+import com.kuuhaku.Main;
+import com.kuuhaku.controller.DAO;
+import com.kuuhaku.model.common.Leaderboard;
+import com.kuuhaku.model.records.rank.LeaderboardEntry;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process rankings, kept up to date by entity saves and the XP flush and periodically reconciled against the
+ * database to pick up changes made through native queries.
+ * <p>
+ * Each global ranking has a public counterpart holding only users with a public profile, which is what the rank
+ * pages list and rank against.
+ */
+public class LeaderboardManager {
+	private final ScheduledExecutorService exec = Executors.newSingleThreadScheduledExecutor();
+	private final Leaderboard profiles = new Leaderboard();
+	private final Map<String, Leaderboard> guilds = new ConcurrentHashMap<>();
+	private final Map<String, Map<String, Long>> xpByUser = new ConcurrentHashMap<>();
+	private final Leaderboard currency = new Leaderboard();
+	private final Leaderboard candies = new Leaderboard();
+	private final Leaderboard publicProfiles = new Leaderboard();
+	private final Leaderboard publicCurrency = new Leaderboard();
+	private final Leaderboard publicCandies = new Leaderboard();
+	private final Set<String> hidden = ConcurrentHashMap.newKeySet();
+
+	public LeaderboardManager() {
+		Main.READY.add(() -> {
+			reconcile();
+			exec.scheduleWithFixedDelay(this::reconcile, 1, 1, TimeUnit.HOURS);
+		});
+	}
+
+	public synchronized void updateProfile(String uid, String gid, long xp) {
+		put(profiles, publicProfiles, uid, uid + "-" + gid, xp);
+		getGuild(gid).put(uid, xp);
+		getUser(uid).put(gid, xp);
+	}
+
+	public synchronized void addXp(String uid, String gid, long xp) {
+		String id = uid + "-" + gid;
+		if (profiles.add(id, xp)) {
+			Long total = profiles.getScore(id);
+			if (!hidden.contains(uid)) {
+				publicProfiles.put(id, total);
+			}
+
+			getGuild(gid).put(uid, total);
+			getUser(uid).put(gid, total);
+		}
+	}
+
+	public synchronized void removeProfile(String uid, String gid) {
+		profiles.remove(uid + "-" + gid);
+		publicProfiles.remove(uid + "-" + gid);
+		getGuild(gid).remove(uid);
+		xpByUser.computeIfPresent(uid, (k, xp) -> {
+			xp.remove(gid);
+			return xp.isEmpty() ? null : xp;
+		});
+	}
+
+	public synchronized void updateAccount(String uid, long balance, int gems, int spookyCandies, boolean hidden) {
+		setHidden(uid, hidden);
+
+		if (balance > 0) {
+			put(currency, publicCurrency, uid, uid, balance + gems * 20000L);
+		} else {
+			currency.remove(uid);
+			publicCurrency.remove(uid);
+		}
+
+		if (spookyCandies > 0) {
+			put(candies, publicCandies, uid, uid, spookyCandies);
+		} else {
+			candies.remove(uid);
+			publicCandies.remove(uid);
+		}
+	}
+
+	public synchronized void removeAccount(String uid) {
+		currency.remove(uid);
+		candies.remove(uid);
+		publicCurrency.remove(uid);
+		publicCandies.remove(uid);
+	}
+
+	public synchronized void setHidden(String uid, boolean hidden) {
+		if (hidden) {
+			if (!this.hidden.add(uid)) return;
+
+			publicCurrency.remove(uid);
+			publicCandies.remove(uid);
+			for (String gid : xpByUser.getOrDefault(uid, Map.of()).keySet()) {
+				publicProfiles.remove(uid + "-" + gid);
+			}
+		} else {
+			if (!this.hidden.remove(uid)) return;
+
+			copy(currency, publicCurrency, uid);
+			copy(candies, publicCandies, uid);
+			for (String gid : xpByUser.getOrDefault(uid, Map.of()).keySet()) {
+				copy(profiles, publicProfiles, uid + "-" + gid);
+			}
+		}
+	}
+
+	/**
+	 * Ranks the user by their highest XP across guilds against every profile, the same way the global level
+	 * ranking orders rows.
+	 */
+	public int getGlobalRank(String uid) {
+		Map<String, Long> xp = xpByUser.get(uid);
+		if (xp == null) return 0;
+
+		long best = xp.values().stream().mapToLong(Long::longValue).max().orElse(-1);
+		if (best < 0) return 0;
+
+		return profiles.countAbove(best) + 1;
+	}
+
+	public int getGuildRank(String uid, String gid) {
+		return getGuild(gid).getRank(uid);
+	}
+
+	public List<LeaderboardEntry> getLevelPage(int page, int size) {
+		return publicProfiles.getPage(page, size);
+	}
+
+	public List<LeaderboardEntry> getCurrencyPage(int page, int size) {
+		return publicCurrency.getPage(page, size);
+	}
+
+	public List<LeaderboardEntry> getCandiesPage(int page, int size) {
+		return publicCandies.getPage(page, size);
+	}
+
+	private void put(Leaderboard board, Leaderboard open, String uid, String id, long score) {
+		board.put(id, score);
+		if (!hidden.contains(uid)) {
+			open.put(id, score);
+		}
+	}
+
+	private static void copy(Leaderboard from, Leaderboard to, String id) {
+		Long score = from.getScore(id);
+		if (score != null) {
+			to.put(id, score);
+		}
+	}
+
+	private Leaderboard getGuild(String gid) {
+		return guilds.computeIfAbsent(gid, k -> new Leaderboard());
+	}
+
+	private Map<String, Long> getUser(String uid) {
+		return xpByUser.computeIfAbsent(uid, k -> new ConcurrentHashMap<>());
+	}
+
+	public void reconcile() {
+		try {
+			Set<String> seen = new HashSet<>();
+			Map<String, Map<String, Long>> xp = new HashMap<>();
+			List<Object[]> rows = DAO.queryAllUnmapped("SELECT uid, gid, xp FROM profile");
+			synchronized (this) {
+				for (Object[] row : rows) {
+					String uid = (String) row[0];
+					String gid = (String) row[1];
+					long score = ((Number) row[2]).longValue();
+
+					put(profiles, publicProfiles, uid, uid + "-" + gid, score);
+					getGuild(gid).put(uid, score);
+					xp.computeIfAbsent(uid, k -> new ConcurrentHashMap<>()).put(gid, score);
+					seen.add(uid + "-" + gid);
+				}
+
+				if (profiles.size() > seen.size()) {
+					for (String id : profiles.getIds()) {
+						if (seen.contains(id)) continue;
+
+						String[] keys = id.split("-");
+						profiles.remove(id);
+						publicProfiles.remove(id);
+						getGuild(keys[1]).remove(keys[0]);
+					}
+				}
+
+				xpByUser.keySet().retainAll(xp.keySet());
+				xpByUser.putAll(xp);
+			}
+
+			seen.clear();
+			Set<String> privt = new HashSet<>();
+			rows = DAO.queryAllUnmapped("""
+					SELECT a.uid
+					     , a.balance
+					     , a.gems
+					     , coalesce(cast(a.inventory -> 'SPOOKY_CANDY' AS INT), 0)
+					     , coalesce(s.private, TRUE)
+					FROM account a
+					         LEFT JOIN account_settings s ON s.uid = a.uid
+					""");
+			synchronized (this) {
+				for (Object[] row : rows) {
+					String uid = (String) row[0];
+					boolean hide = (Boolean) row[4];
+					updateAccount(uid, ((Number) row[1]).longValue(), ((Number) row[2]).intValue(), ((Number) row[3]).intValue(), hide);
+					if (hide) {
+						privt.add(uid);
+					}
+
+					seen.add(uid);
+				}
+
+				for (Leaderboard lb : List.of(currency, candies, publicCurrency, publicCandies)) {
+					for (String id : lb.getIds()) {
+						if (!seen.contains(id)) {
+							lb.remove(id);
+						}
+					}
+				}
+
+				for (String uid : Set.copyOf(hidden)) {
+					if (!privt.contains(uid)) {
+						setHidden(uid, false);
+					}
+				}
+			}
+		} catch (Exception e) {
+			Constants.LOGGER.error("Failed to reconcile leaderboards", e);
+		}
+	}
+}
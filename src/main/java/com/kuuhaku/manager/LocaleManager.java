@@ -0,0 +1,128 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.manager;
+
+import com.kuuhaku.Constants;
+import com.kuuhaku.Main;
+import com.kuuhaku.controller.DAO;
+import com.kuuhaku.model.enums.I18N;
+import com.kuuhaku.util.text.Template;
+
+import java.util.*;
+
+/**
+ * Flat message tables for every locale, compiled once from the resource bundles (with their icons already
+ * prepended) and bulk-loaded from the {@code locale_string} table.
+ */
+public class LocaleManager {
+	private volatile Map<I18N, Map<String, Template>> messages;
+	private volatile Map<I18N, Map<String, String>> localized = null;
+	private volatile boolean dirty = true;
+
+	public LocaleManager() {
+		messages = loadMessages();
+		Main.READY.add(this::getLocalized);
+	}
+
+	public Template getTemplate(I18N locale, String key) {
+		Map<String, Template> table = messages.get(locale.getParent());
+		if (table == null) return null;
+
+		return table.get(key);
+	}
+
+	public String getLocalized(I18N locale, String key) {
+		Map<String, String> table = getLocalized().get(locale);
+		if (table == null) return null;
+
+		return table.get(key);
+	}
+
+	public void invalidate() {
+		dirty = true;
+	}
+
+	public void reload() {
+		ResourceBundle.clearCache();
+		messages = loadMessages();
+		dirty = true;
+	}
+
+	private Map<I18N, Map<String, String>> getLocalized() {
+		Map<I18N, Map<String, String>> l = localized;
+		if (l != null && !dirty) return l;
+
+		synchronized (this) {
+			if (localized == null || dirty) {
+				dirty = false;
+				localized = loadLocalized();
+			}
+
+			return localized;
+		}
+	}
+
+	private Map<I18N, Map<String, Template>> loadMessages() {
+		Map<I18N, Map<String, Template>> out = new EnumMap<>(I18N.class);
+
+		int count = 0;
+		for (I18N locale : I18N.validValues()) {
+			ResourceBundle bundle = ResourceBundle.getBundle("locale/lang", locale.getLocale());
+
+			Map<String, Template> table = new HashMap<>();
+			for (String key : bundle.keySet()) {
+				String message = bundle.getString(key);
+
+				String icon = "icon/" + key.split("/")[0];
+				if (bundle.containsKey(icon) && !bundle.getString(icon).isBlank()) {
+					message = bundle.getString(icon) + " | " + message;
+				}
+
+				table.put(key, Template.of(message));
+			}
+
+			out.put(locale, Map.copyOf(table));
+			count += table.size();
+		}
+
+		Constants.LOGGER.info("Compiled {} locale messages", count);
+		return Collections.unmodifiableMap(out);
+	}
+
+	private Map<I18N, Map<String, String>> loadLocalized() {
+		List<Object[]> rows = DAO.queryAllUnmapped("SELECT id, locale, value FROM locale_string");
+
+		Map<I18N, Map<String, String>> out = new EnumMap<>(I18N.class);
+		for (Object[] row : rows) {
+			I18N locale;
+			try {
+				locale = I18N.valueOf((String) row[1]);
+			} catch (IllegalArgumentException e) {
+				continue;
+			}
+
+			out.computeIfAbsent(locale, k -> new HashMap<>()).put((String) row[0], (String) row[2]);
+		}
+
+		out.replaceAll((k, v) -> Map.copyOf(v));
+
+		Constants.LOGGER.info("Loaded {} localized strings", rows.size());
+		return Collections.unmodifiableMap(out);
+	}
+}
@@ -0,0 +1,581 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.manager;
+
+import com.kuuhaku.Constants;
+import com.kuuhaku.Main;
+import com.kuuhaku.controller.DAO;
+import com.kuuhaku.model.enums.CardFilter;
+import com.kuuhaku.model.enums.CardType;
+import com.kuuhaku.model.enums.Rarity;
+import com.kuuhaku.model.persistent.user.MarketOrder;
+import com.kuuhaku.model.persistent.user.StashedCard;
+import org.apache.commons.cli.Option;
+import org.intellij.lang.annotations.Language;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * In-memory order book of the card market. Listed {@link StashedCard}s and open {@link MarketOrder}s are
+ * mirrored per card, alongside a value-sorted index of every offer and filter bitsets keyed by offer slot.
+ * <p>
+ * The database remains authoritative: the book only decides what to show and what to match, every sale is
+ * re-validated under row locks by {@link com.kuuhaku.model.common.Market}.
+ */
+public class MarketManager {
+	@Language("PostgreSQL")
+	private static final String CARD_INFO = """
+			SELECT c.id
+			     , c.anime_id
+			     , c.rarity
+			     , s.card_id IS NOT NULL
+			     , e.tier
+			     , f.card_id IS NOT NULL
+			FROM card c
+			         LEFT JOIN senshi s ON s.card_id = c.id
+			         LEFT JOIN evogear e ON e.card_id = c.id
+			         LEFT JOIN field f ON f.card_id = c.id
+			""";
+
+	private static final Comparator<Offer> BY_VALUE = Comparator.comparingDouble(Offer::value)
+			.thenComparing(o -> o.type().name())
+			.thenComparing(Offer::card)
+			.thenComparingInt(Offer::id);
+	private static final Comparator<Offer> BY_PRICE = Comparator.comparingInt(Offer::price)
+			.thenComparingInt(Offer::id);
+	private static final Comparator<Order> BY_BUYOUT = Comparator.comparingInt(Order::buyout).reversed()
+			.thenComparingInt(Order::id);
+
+	private final Function<String, Object[]> cardInfo;
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<String, Book> books = new HashMap<>();
+	private final Map<Integer, Offer> offers = new HashMap<>();
+	private final Map<Integer, Order> orders = new HashMap<>();
+	private final TreeSet<Offer> sorted = new TreeSet<>(BY_VALUE);
+	private final Set<Integer> claimed = new HashSet<>();
+	private Set<Integer> claimedDuringRebuild;
+
+	private final BitSet slots = new BitSet();
+	private final BitSet chrome = new BitSet();
+	private final BitSet kawaipon = new BitSet();
+	private final BitSet valid = new BitSet();
+	private final Map<Rarity, BitSet> rarities = new EnumMap<>(Rarity.class);
+	private final Map<String, BitSet> animes = new HashMap<>();
+	private final Map<Integer, BitSet> tiers = new HashMap<>();
+
+	public MarketManager() {
+		this(card -> DAO.queryUnmapped(CARD_INFO + "WHERE c.id = ?1", card));
+		Main.READY.add(this::rebuild);
+	}
+
+	/**
+	 * @param cardInfo Looks up a card's info row (id, anime, rarity, senshi, tier, field) for cards not yet in the book
+	 */
+	MarketManager(Function<String, Object[]> cardInfo) {
+		this.cardInfo = cardInfo;
+	}
+
+	public synchronized void rebuild() {
+		beginRebuild();
+
+		List<Object[]> cardRows = DAO.queryAllUnmapped(CARD_INFO + """
+				WHERE c.id IN (
+				      SELECT card_id FROM stashed_card WHERE price > 0
+				      UNION
+				      SELECT card_id FROM market_order
+				      )
+				""");
+		List<Object[]> offerRows = DAO.queryAllUnmapped("""
+				SELECT sc.id
+				     , sc.card_id
+				     , sc.type
+				     , sc.kawaipon_uid
+				     , sc.price
+				     , sc.deck_id IS NULL
+				     , cd.chrome
+				FROM stashed_card sc
+				         INNER JOIN card_details cd ON cd.card_uuid = sc.uuid
+				WHERE sc.price > 0
+				""");
+		List<Object[]> orderRows = DAO.queryAllUnmapped("SELECT id, card_id, kawaipon_uid, buyout_price FROM market_order");
+
+		for (int id : load(cardRows, offerRows, orderRows)) {
+			refresh(id);
+		}
+	}
+
+	/**
+	 * Starts tracking claims, so offers claimed while the rebuild reads the database aren't put back by it.
+	 */
+	void beginRebuild() {
+		lock.writeLock().lock();
+		try {
+			claimedDuringRebuild = new HashSet<>(claimed);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Replaces the book with the given rows. Offers claimed at any point since {@link #beginRebuild()} are left out,
+	 * since their rows may predate the sale.
+	 *
+	 * @return The ids of offers left out that are no longer claimed, which must be re-read from the database
+	 */
+	Set<Integer> load(List<Object[]> cardRows, List<Object[]> offerRows, List<Object[]> orderRows) {
+		Map<String, Info> infos = new HashMap<>();
+		for (Object[] row : cardRows) {
+			Info info = toInfo(row);
+			infos.put(info.id(), info);
+		}
+
+		Set<Integer> skipped = new HashSet<>();
+		int offerCount, orderCount;
+		lock.writeLock().lock();
+		try {
+			Set<Integer> skip = claimedDuringRebuild == null ? claimed : claimedDuringRebuild;
+			claimedDuringRebuild = null;
+
+			books.clear();
+			offers.clear();
+			orders.clear();
+			sorted.clear();
+			slots.clear();
+			chrome.clear();
+			kawaipon.clear();
+			valid.clear();
+			rarities.clear();
+			animes.clear();
+			tiers.clear();
+
+			for (Object[] row : offerRows) {
+				int id = ((Number) row[0]).intValue();
+				if (skip.contains(id)) {
+					if (!claimed.contains(id)) {
+						skipped.add(id);
+					}
+
+					continue;
+				}
+
+				Info info = infos.get((String) row[1]);
+				if (info == null) continue;
+
+				putOffer(info,
+						id,
+						CardType.valueOf((String) row[2]),
+						(String) row[3],
+						((Number) row[4]).intValue(),
+						(Boolean) row[6],
+						(Boolean) row[5]
+				);
+			}
+
+			for (Object[] row : orderRows) {
+				Info info = infos.get((String) row[1]);
+				if (info == null) continue;
+
+				putOrder(info, ((Number) row[0]).intValue(), (String) row[2], ((Number) row[3]).intValue());
+			}
+
+			offerCount = offers.size();
+			orderCount = orders.size();
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		Constants.LOGGER.info("Loaded {} market offers and {} market orders", offerCount, orderCount);
+		return skipped;
+	}
+
+	public int getOfferCount() {
+		lock.readLock().lock();
+		try {
+			return offers.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the ids of one page of offers matching the given search options, in the same order the market
+	 * has always listed them: price per tier (or rarity weight), then card type and id.
+	 *
+	 * @throws NumberFormatException if a numeric option has an invalid value
+	 */
+	public List<Integer> getOffers(Option[] opts, String uid, int page, int size) {
+		lock.readLock().lock();
+		try {
+			BitSet mask = (BitSet) slots.clone();
+			Predicate<Offer> check = o -> true;
+
+			for (Option opt : opts) {
+				CardFilter sf = CardFilter.getByArgument(opt.getOpt());
+				if (sf == null || sf.isStashOnly()) continue;
+
+				String value = opt.hasArg() ? opt.getValue().toUpperCase() : "";
+				switch (sf) {
+					case NAME -> mask.and(matching(i -> i.id().contains(value)));
+					case RARITY -> mask.and(union(rarities, r -> r.name().contains(value)));
+					case TIER -> {
+						int tier = Integer.parseInt(value);
+						mask.and(union(tiers, t -> t == tier));
+					}
+					case ANIME -> mask.and(union(animes, a -> a.contains(value)));
+					case CHROME -> mask.and(chrome);
+					case KAWAIPON -> mask.and(kawaipon);
+					case SENSHI -> mask.and(matching(Info::senshi));
+					case EVOGEAR -> mask.and(union(tiers, t -> true));
+					case FIELD -> mask.and(matching(Info::field));
+					case VALID -> mask.and(valid);
+					case MIN -> {
+						int min = Integer.parseInt(value);
+						check = check.and(o -> o.price() >= min);
+					}
+					case MAX -> {
+						int max = Integer.parseInt(value);
+						check = check.and(o -> o.price() <= max);
+					}
+					case MINE -> check = check.and(o -> o.uid().equals(uid));
+				}
+			}
+
+			List<Integer> out = new ArrayList<>();
+			if (mask.isEmpty()) return out;
+
+			int skip = page * size;
+			for (Offer o : sorted) {
+				if (!mask.get(o.slot()) || !check.test(o)) continue;
+				else if (skip-- > 0) continue;
+
+				out.add(o.id());
+				if (out.size() >= size) break;
+			}
+
+			return out;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Finds the cheapest offer of a card that the given user could fill an order of {@code buyout} with.
+	 *
+	 * @return The offer id, or -1 if there's none
+	 */
+	public int findOffer(String card, String buyer, int buyout) {
+		lock.readLock().lock();
+		try {
+			Book book = books.get(card);
+			if (book == null) return -1;
+
+			for (Offer o : book.offers) {
+				if (o.price() > buyout) break;
+				else if (!o.uid().equals(buyer)) return o.id();
+			}
+
+			return -1;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Finds the highest order for a card that would accept an offer of {@code price} from the given user.
+	 *
+	 * @return The order id, or -1 if there's none
+	 */
+	public int findOrder(String card, String seller, int price) {
+		lock.readLock().lock();
+		try {
+			Book book = books.get(card);
+			if (book == null) return -1;
+
+			for (Order o : book.orders) {
+				if (o.buyout() < price) break;
+				else if (!o.uid().equals(seller)) return o.id();
+			}
+
+			return -1;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Takes an offer off the book so no other buyer can match it while a sale is in progress. A claimed offer
+	 * can't be listed again, neither by updates nor by a rebuild, until it is {@link #release(int) released}.
+	 *
+	 * @return Whether the offer was listed
+	 */
+	public boolean claim(int id) {
+		lock.writeLock().lock();
+		try {
+			if (removeOffer(id) == null) return false;
+
+			claimed.add(id);
+			if (claimedDuringRebuild != null) {
+				claimedDuringRebuild.add(id);
+			}
+
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Ends a sale started by {@link #claim(int)}, the offer stays off the book until it's updated or refreshed.
+	 */
+	public void release(int id) {
+		lock.writeLock().lock();
+		try {
+			claimed.remove(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void update(StashedCard sc) {
+		if (sc.getPrice() <= 0) {
+			remove(sc.getId());
+			return;
+		}
+
+		update(sc.getId(), sc.getCard().getId(), sc.getType(), sc.getKawaipon().getUid(), sc.getPrice(), sc.isChrome(), sc.getDeck() == null);
+	}
+
+	void update(int id, String card, CardType type, String uid, int price, boolean chrome, boolean valid) {
+		Info info = getInfo(card);
+		if (info == null) return;
+
+		lock.writeLock().lock();
+		try {
+			if (claimed.contains(id)) return;
+
+			putOffer(info, id, type, uid, price, chrome, valid);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void update(MarketOrder mo) {
+		Info info = getInfo(mo.getCard().getId());
+		if (info == null) return;
+
+		lock.writeLock().lock();
+		try {
+			putOrder(info, mo.getId(), mo.getKawaipon().getUid(), mo.getBuyout());
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Re-reads an offer from the database, used to put back offers whose sale didn't go through.
+	 */
+	public void refresh(int id) {
+		StashedCard sc = DAO.find(StashedCard.class, id);
+		if (sc == null) {
+			remove(id);
+		} else {
+			update(sc);
+		}
+	}
+
+	public void remove(int id) {
+		lock.writeLock().lock();
+		try {
+			removeOffer(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void removeOrder(int id) {
+		lock.writeLock().lock();
+		try {
+			Order o = orders.remove(id);
+			if (o == null) return;
+
+			Book book = books.get(o.card());
+			book.orders.remove(o);
+			if (book.isEmpty()) {
+				books.remove(o.card());
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private Info getInfo(String card) {
+		lock.readLock().lock();
+		try {
+			Book book = books.get(card);
+			if (book != null) return book.info;
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		Object[] row = cardInfo.apply(card);
+		if (row == null) return null;
+
+		return toInfo(row);
+	}
+
+	private void putOffer(Info info, int id, CardType type, String uid, int price, boolean chrome, boolean valid) {
+		removeOffer(id);
+
+		int slot = slots.nextClearBit(0);
+		Offer o = new Offer(id, slot, info.id(), type, uid, price, price / info.getWeight());
+		Book book = books.computeIfAbsent(info.id(), k -> new Book(info));
+		book.offers.add(o);
+		book.slots.set(slot);
+
+		offers.put(id, o);
+		sorted.add(o);
+		slots.set(slot);
+		this.chrome.set(slot, chrome);
+		this.kawaipon.set(slot, type == CardType.KAWAIPON);
+		this.valid.set(slot, valid);
+		rarities.computeIfAbsent(info.rarity(), k -> new BitSet()).set(slot);
+		animes.computeIfAbsent(info.anime(), k -> new BitSet()).set(slot);
+		if (info.tier() != null) {
+			tiers.computeIfAbsent(info.tier(), k -> new BitSet()).set(slot);
+		}
+	}
+
+	private Offer removeOffer(int id) {
+		Offer o = offers.remove(id);
+		if (o == null) return null;
+
+		int slot = o.slot();
+		Book book = books.get(o.card());
+		book.offers.remove(o);
+		book.slots.clear(slot);
+		if (book.isEmpty()) {
+			books.remove(o.card());
+		}
+
+		sorted.remove(o);
+		slots.clear(slot);
+		chrome.clear(slot);
+		kawaipon.clear(slot);
+		valid.clear(slot);
+		unset(rarities, book.info.rarity(), slot);
+		unset(animes, book.info.anime(), slot);
+		if (book.info.tier() != null) {
+			unset(tiers, book.info.tier(), slot);
+		}
+
+		return o;
+	}
+
+	private void putOrder(Info info, int id, String uid, int buyout) {
+		Order old = orders.remove(id);
+		if (old != null) {
+			books.get(old.card()).orders.remove(old);
+		}
+
+		Order o = new Order(id, info.id(), uid, buyout);
+		orders.put(id, o);
+		books.computeIfAbsent(info.id(), k -> new Book(info)).orders.add(o);
+	}
+
+	private BitSet matching(Predicate<Info> filter) {
+		BitSet out = new BitSet();
+		for (Book book : books.values()) {
+			if (filter.test(book.info)) {
+				out.or(book.slots);
+			}
+		}
+
+		return out;
+	}
+
+	private static <K> BitSet union(Map<K, BitSet> index, Predicate<K> filter) {
+		BitSet out = new BitSet();
+		for (Map.Entry<K, BitSet> e : index.entrySet()) {
+			if (filter.test(e.getKey())) {
+				out.or(e.getValue());
+			}
+		}
+
+		return out;
+	}
+
+	private static <K> void unset(Map<K, BitSet> index, K key, int slot) {
+		BitSet bits = index.get(key);
+		if (bits == null) return;
+
+		bits.clear(slot);
+		if (bits.isEmpty()) {
+			index.remove(key);
+		}
+	}
+
+	private static Info toInfo(Object[] row) {
+		return new Info(
+				(String) row[0],
+				(String) row[1],
+				Rarity.valueOf((String) row[2]),
+				(Boolean) row[3],
+				row[4] == null ? null : ((Number) row[4]).intValue(),
+				(Boolean) row[5]
+		);
+	}
+
+	private record Info(String id, String anime, Rarity rarity, boolean senshi, Integer tier, boolean field) {
+		private double getWeight() {
+			if (tier != null) return tier;
+
+			return switch (rarity) {
+				case UNCOMMON -> 1.5;
+				case RARE -> 2;
+				case EPIC -> 2.5;
+				case LEGENDARY -> 3;
+				default -> 1;
+			};
+		}
+	}
+
+	private record Offer(int id, int slot, String card, CardType type, String uid, int price, double value) {
+	}
+
+	private record Order(int id, String card, String uid, int buyout) {
+	}
+
+	private static final class Book {
+		private final Info info;
+		private final BitSet slots = new BitSet();
+		private final TreeSet<Offer> offers = new TreeSet<>(BY_PRICE);
+		private final TreeSet<Order> orders = new TreeSet<>(BY_BUYOUT);
+
+		private Book(Info info) {
+			this.info = info;
+		}
+
+		private boolean isEmpty() {
+			return offers.isEmpty() && orders.isEmpty();
+		}
+	}
+}
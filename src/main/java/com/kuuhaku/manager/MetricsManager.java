@@ -0,0 +1,210 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.manager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kuuhaku.Constants;
+import com.kuuhaku.controller.DAO;
+import com.kuuhaku.model.persistent.shiro.CommandMetrics;
+import com.kuuhaku.model.persistent.shiro.ScriptMetrics;
+import com.kuuhaku.model.persistent.shiro.ScriptSource;
+import com.ygimenez.json.JSONArray;
+import com.ygimenez.json.JSONObject;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MetricsManager {
+	private static final int CAPACITY = 8192;
+	private static final int BATCH_SIZE = 500;
+	private static final int MAX_ATTEMPTS = 3;
+
+	private final ScheduledExecutorService exec = Executors.newSingleThreadScheduledExecutor(
+			Thread.ofPlatform().name("metrics").daemon().factory()
+	);
+	private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger pending = new AtomicInteger();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicBoolean flushing = new AtomicBoolean();
+	private final Cache<String, Boolean> knownScripts = Caffeine.newBuilder()
+			.expireAfterAccess(1, TimeUnit.HOURS)
+			.maximumSize(10_000)
+			.build();
+
+	public MetricsManager() {
+		exec.scheduleWithFixedDelay(this::flush, 5, 5, TimeUnit.SECONDS);
+		Runtime.getRuntime().addShutdownHook(new Thread(this::flush));
+	}
+
+	public boolean offer(ScriptMetrics metrics) {
+		return enqueue(metrics);
+	}
+
+	public boolean offer(CommandMetrics metrics) {
+		return enqueue(metrics);
+	}
+
+	private boolean enqueue(Object metrics) {
+		if (!push(metrics)) return false;
+
+		if (pending.get() >= BATCH_SIZE && !flushing.get()) {
+			exec.execute(this::flush);
+		}
+
+		return true;
+	}
+
+	private boolean push(Object metrics) {
+		if (pending.incrementAndGet() > CAPACITY) {
+			pending.decrementAndGet();
+			dropped.incrementAndGet();
+			return false;
+		}
+
+		queue.offer(metrics);
+		return true;
+	}
+
+	public int getPending() {
+		return pending.get();
+	}
+
+	public long getDropped() {
+		return dropped.get();
+	}
+
+	private void flush() {
+		if (!flushing.compareAndSet(false, true)) return;
+
+		try {
+			while (!queue.isEmpty()) {
+				JSONArray sources = new JSONArray();
+				JSONArray scripts = new JSONArray();
+				JSONArray commands = new JSONArray();
+				List<Retry> batch = new ArrayList<>();
+
+				Object entry;
+				for (int i = 0; i < BATCH_SIZE && (entry = queue.poll()) != null; i++) {
+					pending.decrementAndGet();
+
+					int attempt = 0;
+					if (entry instanceof Retry(Object metrics, int previous)) {
+						entry = metrics;
+						attempt = previous;
+					}
+
+					batch.add(new Retry(entry, attempt + 1));
+					switch (entry) {
+						case ScriptMetrics sm -> {
+							String hash = sm.getHash();
+							if (sm.getScript() != null && knownScripts.asMap().putIfAbsent(hash, true) == null) {
+								JSONObject jo = new JSONObject();
+								jo.put("hash", hash);
+								jo.put("script", sm.getScript());
+								sources.add(jo);
+							}
+
+							JSONObject jo = new JSONObject();
+							jo.put("issuer", sm.getIssuer());
+							jo.put("hash", hash);
+							jo.put("run_time", sm.getRunTime());
+							jo.put("execution", DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(sm.getExecution()));
+							scripts.add(jo);
+						}
+						case CommandMetrics cm -> {
+							JSONObject jo = new JSONObject();
+							jo.put("issuer", cm.getIssuer());
+							jo.put("guild", cm.getGuild());
+							jo.put("command", cm.getCommand());
+							jo.put("run_time", cm.getRunTime());
+							jo.put("error", cm.getError());
+							jo.put("execution", DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(cm.getExecution()));
+							commands.add(jo);
+						}
+						default -> {
+						}
+					}
+				}
+
+				try {
+					if (!sources.isEmpty()) {
+						DAO.applyNative(ScriptSource.class, """
+								INSERT INTO script_source (hash, script)
+								SELECT vals ->> 'hash', vals ->> 'script'
+								FROM jsonb_array_elements(cast(?1 AS JSONB)) AS vals
+								ON CONFLICT DO NOTHING
+								""", sources.toString());
+					}
+
+					if (!scripts.isEmpty()) {
+						DAO.applyNative(ScriptMetrics.class, """
+								INSERT INTO script_metrics (issuer, script_hash, run_time, execution)
+								SELECT vals ->> 'issuer'
+								     , vals ->> 'hash'
+								     , cast(vals ->> 'run_time' AS INT)
+								     , cast(vals ->> 'execution' AS TIMESTAMPTZ)
+								FROM jsonb_array_elements(cast(?1 AS JSONB)) AS vals
+								""", scripts.toString());
+					}
+
+					if (!commands.isEmpty()) {
+						DAO.applyNative(CommandMetrics.class, """
+								INSERT INTO command_metrics (issuer, guild, command, run_time, error, execution)
+								SELECT vals ->> 'issuer'
+								     , vals ->> 'guild'
+								     , vals ->> 'command'
+								     , cast(vals ->> 'run_time' AS INT)
+								     , vals ->> 'error'
+								     , cast(vals ->> 'execution' AS TIMESTAMPTZ)
+								FROM jsonb_array_elements(cast(?1 AS JSONB)) AS vals
+								""", commands.toString());
+					}
+				} catch (Exception e) {
+					for (Object o : sources) {
+						knownScripts.invalidate(((JSONObject) o).getString("hash"));
+					}
+
+					int retried = 0;
+					for (Retry r : batch) {
+						if (r.attempt() >= MAX_ATTEMPTS) {
+							dropped.incrementAndGet();
+						} else if (push(r)) {
+							retried++;
+						}
+					}
+
+					Constants.LOGGER.error("Failed to flush {} metrics, {} will be retried: {}", batch.size(), retried, e.toString());
+					break;
+				}
+			}
+		} finally {
+			flushing.set(false);
+		}
+	}
+
+	private record Retry(Object metrics, int attempt) {
+	}
+}
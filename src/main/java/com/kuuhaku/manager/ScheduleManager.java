@@ -21,14 +21,13 @@ package com.kuuhaku.manager;
 import com.kuuhaku.Main;
 import com.kuuhaku.interfaces.PreInitialize;
 import com.kuuhaku.interfaces.annotations.Schedule;
+import com.kuuhaku.util.ClassIndex;
 import it.sauronsoftware.cron4j.Scheduler;
-import org.reflections.Reflections;
 
 import java.util.Set;
 
 public class ScheduleManager extends Scheduler {
-	private final Reflections refl = new Reflections("com.kuuhaku.schedule");
-	private final Set<Class<?>> scheds = refl.getTypesAnnotatedWith(Schedule.class);
+	private final Set<Class<?>> scheds = ClassIndex.load("schedules", "com.kuuhaku.schedule", Schedule.class);
 
 	public ScheduleManager() {
 		Main.READY.add(() -> {
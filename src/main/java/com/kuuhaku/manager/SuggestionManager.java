@@ -0,0 +1,81 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.manager;
+
+import com.kuuhaku.Constants;
+import com.kuuhaku.Main;
+import com.kuuhaku.controller.DAO;
+import com.kuuhaku.model.common.Suggester;
+
+import java.util.List;
+
+/**
+ * In-memory suggestions for mistyped identifiers, matching what {@code levenshtein_less_equal} over the
+ * {@code v_card_names} view used to return.
+ */
+public class SuggestionManager {
+	private static final int MAX_DISTANCE = 5;
+
+	private volatile Suggester cards = null;
+	private volatile boolean dirty = true;
+
+	public SuggestionManager() {
+		Main.READY.add(this::getCards);
+	}
+
+	public String suggestCard(String word) {
+		return getCards().suggest(word);
+	}
+
+	public List<String> suggestCards(String word, int limit) {
+		return getCards().suggest(word, limit);
+	}
+
+	public void invalidate() {
+		dirty = true;
+	}
+
+	private Suggester getCards() {
+		Suggester s = cards;
+		if (s != null && !dirty) return s;
+
+		synchronized (this) {
+			if (cards == null || dirty) {
+				dirty = false;
+				cards = load();
+			}
+
+			return cards;
+		}
+	}
+
+	private Suggester load() {
+		List<String> ids = DAO.queryAllNative(String.class, """
+				SELECT c.id
+				FROM card c
+				         INNER JOIN anime a ON a.id = c.anime_id
+				WHERE (a.visible OR c.rarity IN ('EVOGEAR', 'FIELD'))
+				  AND c.rarity NOT IN ('ULTIMATE', 'NONE')
+				""");
+
+		Suggester out = new Suggester(ids, MAX_DISTANCE);
+		Constants.LOGGER.info("Loaded {} card names for suggestions", out.size());
+		return out;
+	}
+}
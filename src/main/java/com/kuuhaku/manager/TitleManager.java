@@ -0,0 +1,175 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.manager;
+
+import com.kuuhaku.Constants;
+import com.kuuhaku.controller.DAO;
+import com.kuuhaku.model.enums.I18N;
+import com.kuuhaku.model.persistent.user.Account;
+import com.kuuhaku.model.persistent.user.Title;
+import com.kuuhaku.model.records.EventData;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Re-evaluates title conditions off the command thread, only for titles depending on what changed.
+ * <br>
+ * Titles whose dependencies can't be determined are checked whenever the user runs a command, deduplicated per
+ * flush window.
+ */
+public class TitleManager {
+	private final ScheduledExecutorService exec = Executors.newSingleThreadScheduledExecutor();
+	private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+
+	private volatile Index index = null;
+	private volatile boolean dirty = true;
+
+	private record Index(Map<String, Set<String>> dependents, Set<String> generic) {
+	}
+
+	private static final class Pending {
+		private final Set<String> touched = ConcurrentHashMap.newKeySet();
+		private final AtomicBoolean active = new AtomicBoolean();
+		private volatile I18N locale;
+		private volatile EventData event;
+	}
+
+	public TitleManager() {
+		exec.scheduleWithFixedDelay(this::flush, 2, 2, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Flags that the user ran a command, titles with unknown dependencies will be checked.
+	 */
+	public void notify(String uid, I18N locale, EventData event) {
+		pending.compute(uid, (k, p) -> {
+			if (p == null) p = new Pending();
+
+			p.locale = locale;
+			p.event = event;
+			p.active.set(true);
+			return p;
+		});
+	}
+
+	/**
+	 * Flags that a dynamic property changed, titles depending on it will be checked.
+	 */
+	public void notify(String uid, String property) {
+		pending.compute(uid, (k, p) -> {
+			if (p == null) p = new Pending();
+
+			p.touched.add(property);
+			return p;
+		});
+	}
+
+	public void invalidate() {
+		dirty = true;
+	}
+
+	private Index getIndex() {
+		Index idx = index;
+		if (idx != null && !dirty) return idx;
+
+		synchronized (this) {
+			if (index == null || dirty) {
+				dirty = false;
+
+				Map<String, Set<String>> dependents = new HashMap<>();
+				Set<String> generic = new HashSet<>();
+				List<Title> titles = DAO.queryAll(Title.class, "SELECT t FROM Title t WHERE COALESCE(t.condition, '') <> ''");
+				for (Title t : titles) {
+					Set<String> deps = t.getDependencies();
+					if (deps.isEmpty()) {
+						generic.add(t.getId());
+						continue;
+					}
+
+					for (String dep : deps) {
+						dependents.computeIfAbsent(dep, k -> new HashSet<>()).add(t.getId());
+					}
+				}
+
+				index = new Index(dependents, generic);
+			}
+
+			return index;
+		}
+	}
+
+	/**
+	 * Drains every pending user, repeating while new notifications keep arriving, so no user waits for a later tick.
+	 */
+	private void flush() {
+		while (!pending.isEmpty()) {
+			Index idx;
+			try {
+				idx = getIndex();
+			} catch (Exception e) {
+				Constants.LOGGER.error("Failed to index titles", e);
+				return;
+			}
+
+			for (Map.Entry<String, Pending> e : pending.entrySet()) {
+				try {
+					process(idx, e.getKey(), e.getValue());
+				} catch (Exception ex) {
+					Constants.LOGGER.error("Failed to check titles for {}", e.getKey(), ex);
+				}
+			}
+		}
+	}
+
+	private void process(Index idx, String uid, Pending p) {
+		Set<String> candidates = new LinkedHashSet<>();
+		if (p.active.getAndSet(false)) {
+			candidates.addAll(idx.generic());
+		}
+
+		for (String prop : p.touched) {
+			if (p.touched.remove(prop)) {
+				candidates.addAll(idx.dependents().getOrDefault(prop, Set.of()));
+			}
+		}
+
+		pending.computeIfPresent(uid, (k, v) -> v.active.get() || !v.touched.isEmpty() ? v : null);
+		if (!candidates.isEmpty()) {
+			check(uid, p, candidates);
+		}
+	}
+
+	private void check(String uid, Pending p, Set<String> candidates) {
+		I18N locale = Objects.requireNonNullElse(p.locale, I18N.PT);
+
+		List<Title> unlocked = new ArrayList<>();
+		DAO.apply(Account.class, uid, acc -> unlocked.addAll(acc.checkTitles(locale, candidates)));
+
+		if (p.event != null) {
+			for (Title t : unlocked) {
+				p.event.notify(locale.get("achievement/title", "<@" + uid + ">", t.getInfo(locale).getName()));
+			}
+		}
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.manager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kuuhaku.Constants;
+import com.kuuhaku.Main;
+import com.kuuhaku.controller.DAO;
+import com.kuuhaku.model.enums.Rarity;
+import com.kuuhaku.model.persistent.shiro.Card;
+import com.kuuhaku.model.records.FavoriteCard;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory mirror of the {@code get_weight} SQL functions, so that weighted rolls don't need a database
+ * round-trip per candidate.
+ */
+public class WeightManager {
+	private final Cache<String, FavoriteCard> favorites = Caffeine.newBuilder()
+			.expireAfterWrite(5, TimeUnit.MINUTES)
+			.maximumSize(16384)
+			.build();
+
+	private volatile Weights weights = null;
+	private volatile boolean dirty = true;
+
+	private record Weights(String[] ids, int[] values, String[] evogear, Map<String, List<Card>> spawnable) {
+	}
+
+	public WeightManager() {
+		Main.READY.add(this::getWeights);
+	}
+
+	/**
+	 * Mirrors {@code get_weight(VARCHAR, INT)}.
+	 */
+	public static int getWeight(String type, int index) {
+		return getTierWeight(type, 6 - (index * 5 / 4));
+	}
+
+	private static int getTierWeight(String type, int tier) {
+		return switch (type) {
+			case "KAWAIPON" -> (int) Math.round(425 * Math.pow(1.4, tier));
+			case "EVOGEAR" -> (int) Math.round(45 * Math.pow(2, tier));
+			case "FIELD" -> 100;
+			default -> 0;
+		};
+	}
+
+	/**
+	 * Mirrors {@code get_weight(VARCHAR)}, returns 0 for cards that can't be rolled.
+	 */
+	public int getWeight(String card) {
+		Weights w = getWeights();
+
+		int i = Arrays.binarySearch(w.ids, card);
+		if (i < 0) return 0;
+
+		return w.values[i];
+	}
+
+	/**
+	 * Mirrors {@code get_weight(VARCHAR, VARCHAR)}, applying the user's favorite card multiplier.
+	 */
+	public int getWeight(String card, String uid) {
+		int base = getWeight(card);
+		if (base == 0) return 0;
+
+		return (int) Math.round(base * getFavorite(uid).getMult(card));
+	}
+
+	public List<String> getEvogears() {
+		return List.of(getWeights().evogear);
+	}
+
+	/**
+	 * IDs of visible animes having a card of the given rarity, leaving out the excluded animes and cards.
+	 */
+	public List<String> getSpawnAnimes(Rarity rarity, Collection<String> animes, Collection<String> cards) {
+		List<String> out = new ArrayList<>();
+		for (Map.Entry<String, List<Card>> e : getWeights().spawnable.entrySet()) {
+			if (animes.contains(e.getKey())) continue;
+
+			for (Card c : e.getValue()) {
+				if (c.getRarity() == rarity && !cards.contains(c.getId())) {
+					out.add(e.getKey());
+					break;
+				}
+			}
+		}
+
+		return out;
+	}
+
+	/**
+	 * Cards of the anime that can be spawned, or an empty list if it isn't visible.
+	 */
+	public List<Card> getSpawnCards(String anime) {
+		return getWeights().spawnable.getOrDefault(anime, List.of());
+	}
+
+	public FavoriteCard getFavorite(String uid) {
+		FavoriteCard fav = favorites.getIfPresent(uid);
+		if (fav == null) {
+			Object[] vals = DAO.queryUnmapped("SELECT fav_card, fav_stacks FROM kawaipon WHERE uid = ?1", uid);
+			if (vals == null || vals[0] == null) {
+				fav = FavoriteCard.NONE;
+			} else {
+				fav = new FavoriteCard((String) vals[0], ((Number) vals[1]).intValue());
+			}
+
+			favorites.put(uid, fav);
+		}
+
+		return fav;
+	}
+
+	public void invalidateFavorite(String uid) {
+		favorites.invalidate(uid);
+	}
+
+	public void invalidate() {
+		dirty = true;
+	}
+
+	private Weights getWeights() {
+		Weights w = weights;
+		if (w != null && !dirty) return w;
+
+		synchronized (this) {
+			if (weights == null || dirty) {
+				dirty = false;
+				weights = load();
+			}
+
+			return weights;
+		}
+	}
+
+	private Weights load() {
+		List<Object[]> rows = DAO.queryAllUnmapped("""
+				SELECT c.id
+				     , c.rarity
+				     , get_rarity_index(c.rarity)
+				     , e.tier
+				FROM card c
+				         LEFT JOIN evogear e ON c.id = e.card_id AND e.tier > 0
+				         LEFT JOIN field f ON c.id = f.card_id
+				WHERE c.rarity <> 'ULTIMATE'
+				  AND NOT coalesce(f.effect, FALSE)
+				""");
+
+		TreeMap<String, Integer> out = new TreeMap<>();
+		List<String> evogear = new ArrayList<>();
+		for (Object[] row : rows) {
+			String type = (String) row[1];
+			Integer tier = null;
+			if (row[2] != null) {
+				type = "KAWAIPON";
+				tier = 6 - ((Number) row[2]).intValue();
+			} else if (row[3] != null) {
+				tier = 6 - ((Number) row[3]).intValue() * 5 / 4;
+				if (type.equals("EVOGEAR")) {
+					evogear.add((String) row[0]);
+				}
+			}
+
+			int value;
+			if (tier == null) {
+				value = type.equals("FIELD") ? 100 : 0;
+			} else {
+				value = getTierWeight(type, tier);
+			}
+
+			if (value > 0) {
+				out.put((String) row[0], value);
+			}
+		}
+
+		String[] ids = out.keySet().toArray(String[]::new);
+		int[] values = out.values().stream().mapToInt(Integer::intValue).toArray();
+
+		Map<String, List<Card>> spawnable = new HashMap<>();
+		List<Card> cards = DAO.queryAll(Card.class,
+				"SELECT c FROM Card c WHERE c.anime.visible = TRUE AND c.rarity IN ?1 ORDER BY c.id",
+				List.of(Rarity.getActualRarities())
+		);
+		for (Card c : cards) {
+			spawnable.computeIfAbsent(c.getAnime().getId(), k -> new ArrayList<>()).add(c);
+		}
+		spawnable.replaceAll((k, v) -> List.copyOf(v));
+
+		Constants.LOGGER.info("Loaded {} card weights and {} spawnable animes", ids.length, spawnable.size());
+		return new Weights(ids, values, evogear.toArray(String[]::new), Map.copyOf(spawnable));
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.model.common;
+
+import java.util.*;
+
+/**
+ * Multi-pattern substring matcher, finds every registered key contained in a text in a single pass.
+ */
+public class AhoCorasick {
+	private final List<Map<Character, Integer>> next = new ArrayList<>();
+	private final List<int[]> out = new ArrayList<>();
+	private int[] fail;
+
+	/**
+	 * @param keys patterns to search for, each one reported by its index in the list.
+	 */
+	public AhoCorasick(List<String> keys) {
+		next.add(new HashMap<>());
+		out.add(new int[0]);
+
+		for (int i = 0; i < keys.size(); i++) {
+			String key = keys.get(i);
+			if (key.isEmpty()) continue;
+
+			int node = 0;
+			for (char c : key.toCharArray()) {
+				Integer to = next.get(node).get(c);
+				if (to == null) {
+					to = next.size();
+					next.add(new HashMap<>());
+					out.add(new int[0]);
+					next.get(node).put(c, to);
+				}
+
+				node = to;
+			}
+
+			int[] found = out.get(node);
+			found = Arrays.copyOf(found, found.length + 1);
+			found[found.length - 1] = i;
+			out.set(node, found);
+		}
+
+		fail = new int[next.size()];
+		Deque<Integer> queue = new ArrayDeque<>(next.getFirst().values());
+		while (!queue.isEmpty()) {
+			int node = queue.poll();
+			for (Map.Entry<Character, Integer> e : next.get(node).entrySet()) {
+				int child = e.getValue();
+				int f = fail[node];
+				while (f != 0 && !next.get(f).containsKey(e.getKey())) {
+					f = fail[f];
+				}
+
+				Integer to = next.get(f).get(e.getKey());
+				fail[child] = to != null && to != child ? to : 0;
+
+				int[] own = out.get(child);
+				int[] inherited = out.get(fail[child]);
+				if (inherited.length > 0) {
+					int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+					System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+					out.set(child, merged);
+				}
+
+				queue.add(child);
+			}
+		}
+	}
+
+	/**
+	 * Marks the index of every key found in the text.
+	 */
+	public void search(CharSequence text, BitSet found) {
+		int node = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+
+			Integer to;
+			while ((to = next.get(node).get(c)) == null && node != 0) {
+				node = fail[node];
+			}
+
+			node = to == null ? 0 : to;
+			for (int k : out.get(node)) {
+				found.set(k);
+			}
+		}
+	}
+}
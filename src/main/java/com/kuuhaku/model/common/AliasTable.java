@@ -0,0 +1,96 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.model.common;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Immutable weighted sampler built with Vose's alias method, draws are O(1) regardless of pool size.
+ */
+public final class AliasTable {
+	private final double[] prob;
+	private final int[] alias;
+
+	public AliasTable(double[] weights) {
+		int n = weights.length;
+		if (n == 0) throw new IllegalArgumentException("Weights must not be empty");
+
+		double total = 0;
+		for (double w : weights) {
+			if (!(w >= 0) || Double.isInfinite(w)) throw new IllegalArgumentException("Invalid weight: " + w);
+			total += w;
+		}
+
+		if (total <= 0) throw new IllegalArgumentException("Weights must not sum to zero");
+
+		this.prob = new double[n];
+		this.alias = new int[n];
+
+		double[] scaled = new double[n];
+		int[] small = new int[n];
+		int[] large = new int[n];
+		int s = 0, l = 0;
+		for (int i = 0; i < n; i++) {
+			scaled[i] = weights[i] * n / total;
+			if (scaled[i] < 1) {
+				small[s++] = i;
+			} else {
+				large[l++] = i;
+			}
+		}
+
+		while (s > 0 && l > 0) {
+			int less = small[--s];
+			int more = large[--l];
+
+			prob[less] = scaled[less];
+			alias[less] = more;
+
+			scaled[more] = (scaled[more] + scaled[less]) - 1;
+			if (scaled[more] < 1) {
+				small[s++] = more;
+			} else {
+				large[l++] = more;
+			}
+		}
+
+		while (l > 0) {
+			prob[large[--l]] = 1;
+		}
+
+		while (s > 0) {
+			prob[small[--s]] = 1;
+		}
+	}
+
+	public int size() {
+		return prob.length;
+	}
+
+	public int sample(RandomGenerator rng) {
+		int i = rng.nextInt(prob.length);
+		return rng.nextDouble() < prob[i] ? i : alias[i];
+	}
+
+	public void sample(RandomGenerator rng, int[] out) {
+		for (int i = 0; i < out.length; i++) {
+			out[i] = sample(rng);
+		}
+	}
+}
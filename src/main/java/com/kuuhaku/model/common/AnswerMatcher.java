@@ -0,0 +1,180 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.model.common;
+
+import com.kuuhaku.model.persistent.guild.CustomAnswer;
+import com.kuuhaku.model.records.CompiledAnswer;
+
+import java.util.*;
+
+/**
+ * In-memory equivalent of {@code LOWER(content) LIKE LOWER(trigger)} over a guild's custom answers.
+ * <br>
+ * Each trigger's longest literal fragment goes into an {@link AhoCorasick} automaton, so only triggers whose
+ * fragment shows up in the message get their full pattern checked.
+ */
+public class AnswerMatcher {
+	private static final int ANY = -1;
+	private static final int ONE = -2;
+
+	private final List<CompiledAnswer> answers = new ArrayList<>();
+	private final List<CompiledAnswer> unkeyed = new ArrayList<>();
+	private final AhoCorasick automaton;
+
+	public AnswerMatcher(Collection<CustomAnswer> source) {
+		List<String> keys = new ArrayList<>();
+		source.stream()
+				.sorted(Comparator.comparingInt(ca -> ca.getId().id()))
+				.forEach(ca -> {
+					int[] pattern = compile(ca.getTrigger().toLowerCase());
+					CompiledAnswer ans = new CompiledAnswer(
+							ca.getId().id(), pattern, ca.getAnswer(), ca.getChance(),
+							toSet(ca.getChannels()), toSet(ca.getUsers())
+					);
+
+					String key = longestLiteral(pattern);
+					if (key.isEmpty()) {
+						unkeyed.add(ans);
+					} else {
+						answers.add(ans);
+						keys.add(key);
+					}
+				});
+
+		automaton = new AhoCorasick(keys);
+	}
+
+	public boolean isEmpty() {
+		return answers.isEmpty() && unkeyed.isEmpty();
+	}
+
+	/**
+	 * @return answers whose trigger matches the content and accept the given channel and user, ordered by ID.
+	 */
+	public List<CompiledAnswer> match(String content, String channel, String user) {
+		if (isEmpty()) return List.of();
+
+		String text = content.toLowerCase();
+		BitSet found = new BitSet(answers.size());
+		automaton.search(text, found);
+
+		List<CompiledAnswer> out = new ArrayList<>();
+		for (int i = found.nextSetBit(0); i >= 0; i = found.nextSetBit(i + 1)) {
+			CompiledAnswer ans = answers.get(i);
+			if (ans.accepts(channel, user) && like(text, ans.pattern())) {
+				out.add(ans);
+			}
+		}
+
+		for (CompiledAnswer ans : unkeyed) {
+			if (ans.accepts(channel, user) && like(text, ans.pattern())) {
+				out.add(ans);
+			}
+		}
+
+		if (!unkeyed.isEmpty()) {
+			out.sort(Comparator.comparingInt(CompiledAnswer::id));
+		}
+
+		return out;
+	}
+
+	private static Set<String> toSet(Iterable<?> values) {
+		Set<String> out = new HashSet<>();
+		for (Object o : values) {
+			out.add(String.valueOf(o));
+		}
+
+		return Set.copyOf(out);
+	}
+
+	/**
+	 * Translates a LIKE pattern into code points, with {@code %} and {@code _} replaced by wildcard markers and
+	 * {@code \} escaping the next character.
+	 */
+	private static int[] compile(String trigger) {
+		int[] out = new int[trigger.length()];
+		int size = 0;
+
+		for (int i = 0; i < trigger.length(); i++) {
+			char c = trigger.charAt(i);
+			if (c == '\\' && i + 1 < trigger.length()) {
+				out[size++] = trigger.charAt(++i);
+			} else if (c == '%') {
+				if (size == 0 || out[size - 1] != ANY) {
+					out[size++] = ANY;
+				}
+			} else if (c == '_') {
+				out[size++] = ONE;
+			} else {
+				out[size++] = c;
+			}
+		}
+
+		return Arrays.copyOf(out, size);
+	}
+
+	private static String longestLiteral(int[] pattern) {
+		int bestStart = 0, bestLen = 0;
+		int start = 0;
+		for (int i = 0; i <= pattern.length; i++) {
+			if (i == pattern.length || pattern[i] < 0) {
+				if (i - start > bestLen) {
+					bestStart = start;
+					bestLen = i - start;
+				}
+
+				start = i + 1;
+			}
+		}
+
+		StringBuilder sb = new StringBuilder(bestLen);
+		for (int i = bestStart; i < bestStart + bestLen; i++) {
+			sb.append((char) pattern[i]);
+		}
+
+		return sb.toString();
+	}
+
+	private static boolean like(String text, int[] pattern) {
+		int i = 0, j = 0;
+		int star = -1, mark = 0;
+
+		while (i < text.length()) {
+			if (j < pattern.length && (pattern[j] == ONE || pattern[j] == text.charAt(i))) {
+				i++;
+				j++;
+			} else if (j < pattern.length && pattern[j] == ANY) {
+				star = j++;
+				mark = i;
+			} else if (star != -1) {
+				j = star + 1;
+				i = ++mark;
+			} else {
+				return false;
+			}
+		}
+
+		while (j < pattern.length && pattern[j] == ANY) {
+			j++;
+		}
+
+		return j == pattern.length;
+	}
+}
@@ -0,0 +1,214 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.model.common;
+
+import com.kuuhaku.model.records.rank.LeaderboardEntry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Order-statistic treap sorted by descending score, ranks follow SQL's {@code rank()} semantics.
+ */
+public class Leaderboard {
+	private final Map<String, Long> scores = new HashMap<>();
+	private Node root;
+
+	private static final class Node {
+		private final String id;
+		private final long score;
+		private final int priority = ThreadLocalRandom.current().nextInt();
+		private Node left, right;
+		private int size = 1;
+
+		private Node(String id, long score) {
+			this.id = id;
+			this.score = score;
+		}
+	}
+
+	public synchronized void put(String id, long score) {
+		Long old = scores.put(id, score);
+		if (old != null) {
+			if (old == score) return;
+			root = delete(root, id, old);
+		}
+
+		Node[] parts = split(root, id, score);
+		root = merge(merge(parts[0], new Node(id, score)), parts[1]);
+	}
+
+	/**
+	 * Adds to the score of an existing entry, returning false if it isn't tracked yet.
+	 */
+	public synchronized boolean add(String id, long delta) {
+		Long old = scores.get(id);
+		if (old == null) return false;
+
+		put(id, old + delta);
+		return true;
+	}
+
+	public synchronized void remove(String id) {
+		Long old = scores.remove(id);
+		if (old != null) {
+			root = delete(root, id, old);
+		}
+	}
+
+	public synchronized Long getScore(String id) {
+		return scores.get(id);
+	}
+
+	/**
+	 * @return the 1-based rank of the entry, or 0 if it isn't tracked.
+	 */
+	public synchronized int getRank(String id) {
+		Long score = scores.get(id);
+		if (score == null) return 0;
+
+		return countAbove(score) + 1;
+	}
+
+	public synchronized int countAbove(long score) {
+		int count = 0;
+		Node n = root;
+		while (n != null) {
+			if (n.score > score) {
+				count += size(n.left) + 1;
+				n = n.right;
+			} else {
+				n = n.left;
+			}
+		}
+
+		return count;
+	}
+
+	public synchronized List<LeaderboardEntry> getPage(int page, int size) {
+		List<LeaderboardEntry> out = new ArrayList<>(size);
+
+		int end = Math.min(size(root), (page + 1) * size);
+		for (int i = page * size; i < end; i++) {
+			Node n = get(i);
+			out.add(new LeaderboardEntry(countAbove(n.score) + 1, n.id, n.score));
+		}
+
+		return out;
+	}
+
+	public synchronized Set<String> getIds() {
+		return Set.copyOf(scores.keySet());
+	}
+
+	public synchronized int size() {
+		return size(root);
+	}
+
+	public synchronized void clear() {
+		scores.clear();
+		root = null;
+	}
+
+	private Node get(int index) {
+		Node n = root;
+		while (n != null) {
+			int left = size(n.left);
+			if (index < left) {
+				n = n.left;
+			} else if (index == left) {
+				return n;
+			} else {
+				index -= left + 1;
+				n = n.right;
+			}
+		}
+
+		return null;
+	}
+
+	private static int compare(Node n, String id, long score) {
+		int cmp = Long.compare(score, n.score);
+		if (cmp != 0) return cmp;
+
+		return n.id.compareTo(id);
+	}
+
+	/**
+	 * Splits the tree into nodes ordered before the given key and nodes ordered at or after it.
+	 */
+	private static Node[] split(Node n, String id, long score) {
+		if (n == null) return new Node[2];
+
+		if (compare(n, id, score) < 0) {
+			Node[] parts = split(n.right, id, score);
+			n.right = parts[0];
+			update(n);
+			return new Node[]{n, parts[1]};
+		} else {
+			Node[] parts = split(n.left, id, score);
+			n.left = parts[1];
+			update(n);
+			return new Node[]{parts[0], n};
+		}
+	}
+
+	private static Node merge(Node a, Node b) {
+		if (a == null) return b;
+		else if (b == null) return a;
+
+		if (a.priority > b.priority) {
+			a.right = merge(a.right, b);
+			update(a);
+			return a;
+		} else {
+			b.left = merge(a, b.left);
+			update(b);
+			return b;
+		}
+	}
+
+	private static Node delete(Node n, String id, long score) {
+		if (n == null) return null;
+
+		int cmp = compare(n, id, score);
+		if (cmp == 0) {
+			return merge(n.left, n.right);
+		} else if (cmp < 0) {
+			n.right = delete(n.right, id, score);
+		} else {
+			n.left = delete(n.left, id, score);
+		}
+
+		update(n);
+		return n;
+	}
+
+	private static void update(Node n) {
+		n.size = size(n.left) + size(n.right) + 1;
+	}
+
+	private static int size(Node n) {
+		return n == null ? 0 : n.size;
+	}
+}
@@ -0,0 +1,181 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.model.common;
+
+import com.kuuhaku.Constants;
+import com.kuuhaku.model.enums.I18N;
+import com.kuuhaku.util.IO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only word list loaded once per locale from {@code shiritori/<locale>.dict}.
+ * Words are packed into a single sorted byte array, membership is a binary search over it.
+ */
+public final class Lexicon {
+	private static final Map<String, Optional<Lexicon>> CACHE = new ConcurrentHashMap<>();
+
+	private final byte[] data;
+	private final int[] offsets;
+
+	private Lexicon(List<String> words) {
+		Collections.sort(words);
+
+		int size = 0;
+		for (String w : words) {
+			size += w.length();
+		}
+
+		this.data = new byte[size];
+		this.offsets = new int[words.size() + 1];
+
+		int pos = 0;
+		for (int i = 0; i < words.size(); i++) {
+			String w = words.get(i);
+			offsets[i] = pos;
+			for (int j = 0; j < w.length(); j++) {
+				data[pos++] = (byte) w.charAt(j);
+			}
+		}
+		offsets[words.size()] = pos;
+	}
+
+	public static Lexicon get(I18N locale) {
+		return CACHE.computeIfAbsent(locale.name().toLowerCase(), k -> {
+			String path = "shiritori/" + k + ".dict";
+
+			try (InputStream is = IO.class.getClassLoader().getResourceAsStream(path)) {
+				if (is == null) return Optional.empty();
+
+				BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+				br.readLine(); // Index padding
+				br.readLine(); // Letter index
+
+				List<String> words = new ArrayList<>();
+				String line;
+				while ((line = br.readLine()) != null) {
+					if (!line.isEmpty() && line.chars().allMatch(c -> c >= 'a' && c <= 'z')) {
+						words.add(line);
+					}
+				}
+
+				return Optional.of(new Lexicon(words));
+			} catch (IOException e) {
+				Constants.LOGGER.error(e, e);
+				return Optional.empty();
+			}
+		}).orElse(null);
+	}
+
+	public int size() {
+		return offsets.length - 1;
+	}
+
+	public boolean contains(String word) {
+		int idx = lowerBound(word);
+		return idx < size() && compare(idx, word) == 0;
+	}
+
+	public int count(String prefix) {
+		return upperBound(prefix) - lowerBound(prefix);
+	}
+
+	public List<String> getWords(String prefix) {
+		int from = lowerBound(prefix);
+		int to = upperBound(prefix);
+
+		List<String> out = new ArrayList<>(to - from);
+		for (int i = from; i < to; i++) {
+			out.add(getWord(i));
+		}
+
+		return out;
+	}
+
+	public String getRandomWord(String prefix, Random rng) {
+		int from = lowerBound(prefix);
+		int to = upperBound(prefix);
+		if (from >= to) return null;
+
+		return getWord(from + rng.nextInt(to - from));
+	}
+
+	private String getWord(int idx) {
+		return new String(data, offsets[idx], length(idx), StandardCharsets.US_ASCII);
+	}
+
+	private int length(int idx) {
+		return offsets[idx + 1] - offsets[idx];
+	}
+
+	/**
+	 * Compares the word at {@code idx} against {@code key}, where a word that starts with the key
+	 * but is longer compares as greater.
+	 */
+	private int compare(int idx, String key) {
+		int start = offsets[idx];
+		int len = length(idx);
+
+		for (int i = 0; i < Math.min(len, key.length()); i++) {
+			int diff = data[start + i] - key.charAt(i);
+			if (diff != 0) return diff;
+		}
+
+		return len - key.length();
+	}
+
+	private int lowerBound(String key) {
+		int lo = 0, hi = size();
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (compare(mid, key) < 0) lo = mid + 1;
+			else hi = mid;
+		}
+
+		return lo;
+	}
+
+	private int upperBound(String prefix) {
+		int lo = lowerBound(prefix), hi = size();
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (startsWith(mid, prefix)) lo = mid + 1;
+			else hi = mid;
+		}
+
+		return lo;
+	}
+
+	private boolean startsWith(int idx, String prefix) {
+		if (length(idx) < prefix.length()) return false;
+
+		int start = offsets[idx];
+		for (int i = 0; i < prefix.length(); i++) {
+			if (data[start + i] != prefix.charAt(i)) return false;
+		}
+
+		return true;
+	}
+}
@@ -19,21 +19,26 @@
 package com.kuuhaku.model.common;
 
 import com.kuuhaku.Constants;
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
-import com.kuuhaku.model.enums.CardFilter;
+import com.kuuhaku.controller.Manager;
+import com.kuuhaku.manager.MarketManager;
 import com.kuuhaku.model.persistent.shiro.GlobalProperty;
 import com.kuuhaku.model.persistent.user.Account;
+import com.kuuhaku.model.persistent.user.Kawaipon;
 import com.kuuhaku.model.persistent.user.MarketOrder;
 import com.kuuhaku.model.persistent.user.StashedCard;
 import com.kuuhaku.util.API;
 import com.kuuhaku.util.Utils;
 import com.ygimenez.json.JSONObject;
+import jakarta.persistence.LockModeType;
 import org.apache.commons.cli.Option;
 import org.apache.hc.client5.http.classic.methods.HttpHead;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Map;
 
 public class Market {
 	private final String uid;
@@ -43,50 +48,27 @@ public class Market {
 	}
 
 	public List<StashedCard> getOffers(Option[] opts, int page) {
-		List<Object> params = new ArrayList<>();
-		XStringBuilder query = new XStringBuilder(CardFilter.BASE_QUERY);
-		query.appendNewLine("WHERE c.price > 0");
-
-		AtomicInteger i = new AtomicInteger(1);
-		for (Option opt : opts) {
-			CardFilter sf = CardFilter.getByArgument(opt.getOpt());
-			if (sf == null || sf.isStashOnly()) continue;
-
-			String filter = sf.getWhereClause();
-			if (opt.hasArg()) {
-				filter = filter.formatted(i.getAndIncrement());
-
-				if (opt.getOpt().equalsIgnoreCase("m")) {
-					params.add(uid);
-				} else {
-					params.add(opt.getValue().toUpperCase());
-				}
+		MarketManager book = Main.getMarketManager();
+		List<Integer> ids = book.getOffers(opts, uid, page, 10);
+		if (ids.isEmpty()) return List.of();
+
+		Map<Integer, StashedCard> found = new HashMap<>();
+		for (StashedCard sc : DAO.queryAll(StashedCard.class, "SELECT c FROM StashedCard c WHERE c.price > 0 AND c.id IN ?1", ids)) {
+			found.put(sc.getId(), sc);
+		}
+
+		List<StashedCard> out = new ArrayList<>();
+		for (int id : ids) {
+			StashedCard sc = found.get(id);
+			if (sc == null) {
+				book.remove(id);
+				continue;
 			}
 
-			query.appendNewLine(filter);
+			out.add(sc);
 		}
 
-		query.appendNewLine("""
-				ORDER BY c.price / COALESCE(
-						e.tier,
-					   	CASE c.card.rarity
-					   		WHEN 'COMMON' THEN 1
-				      		WHEN 'UNCOMMON' THEN 1.5
-				      		WHEN 'RARE' THEN 2
-				      		WHEN 'EPIC' THEN 2.5
-				      		WHEN 'LEGENDARY' THEN 3
-				      		ELSE 1
-				       	END)
-				       	, c.type
-					   	, c.card.id
-				""");
-
-		return DAO.queryBuilder(
-				StashedCard.class,
-				query.toString(),
-				q -> q.setFirstResult(page * 10).setMaxResults(10).getResultList(),
-				params.toArray()
-		);
+		return out;
 	}
 
 	public boolean buy(int id) {
@@ -94,43 +76,107 @@ public class Market {
 	}
 
 	public boolean buy(MarketOrder order, int id) {
-		StashedCard sc = DAO.find(StashedCard.class, id);
-		if (sc == null) return false;
+		MarketManager book = Main.getMarketManager();
+		if (!book.claim(id)) return false;
 
-		int price = sc.getPrice();
-
-		Account seller = sc.getKawaipon().getAccount();
-		seller.addCR(price, "Sold " + sc);
-		seller.getUser().openPrivateChannel()
-				.flatMap(c -> c.sendMessage(seller.getEstimateLocale().get("success/market_notification", sc, price)))
-				.queue(null, Utils::doNothing);
+		int daily;
+		try {
+			daily = getDailyOffer();
+		} catch (Exception e) {
+			daily = -1;
+		}
 
-		Account buyer = DAO.find(Account.class, uid);
+		Sale sale = null;
 		try {
-			if (sc.getId() == getDailyOffer()) {
-				buyer.consumeCR((long) (price * 0.8), "Purchased " + sc + " (SALE)");
-			} else {
-				buyer.consumeCR(price, "Purchased " + sc);
+			sale = settle(order, id, daily);
+		} finally {
+			book.release(id);
+			if (sale == null) {
+				book.refresh(id);
 			}
-		} catch (Exception e) {
-			buyer.consumeCR(price, "Purchased " + sc);
 		}
 
+		if (sale == null) return false;
+		else if (order != null && order.getId() > 0) {
+			book.removeOrder(order.getId());
+		}
+
+		StashedCard sc = sale.card();
+		int price = sale.price();
+		Account seller = sale.seller();
+		Account buyer = sale.buyer();
+		seller.afterSave();
+		buyer.afterSave();
+
+		Main.getWeightManager().invalidateFavorite(seller.getUid());
+		Main.getWeightManager().invalidateFavorite(buyer.getUid());
+
+		seller.getUser().openPrivateChannel()
+				.flatMap(c -> c.sendMessage(seller.getEstimateLocale().get("success/market_notification", sc, price)))
+				.queue(null, Utils::doNothing);
+
 		if (order != null) {
 			buyer.getUser().openPrivateChannel()
 					.flatMap(c -> c.sendMessage(seller.getEstimateLocale().get("success/market_order_filled", sc, price)))
 					.queue(null, Utils::doNothing);
+		}
 
-			if (order.getId() > 0) {
-				order.delete();
+		return true;
+	}
+
+	/**
+	 * Moves the card and both credit entries in a single transaction, with the card and both accounts locked,
+	 * so a card can't be sold twice and a buyer can't spend the same credits on two cards.
+	 */
+	private Sale settle(MarketOrder order, int id, int daily) {
+		return Manager.getFactory().callInTransaction(em -> {
+			StashedCard sc = em.find(StashedCard.class, id, LockModeType.PESSIMISTIC_WRITE);
+			if (sc == null || sc.getPrice() <= 0) return null;
+
+			String owner = sc.getKawaipon().getUid();
+			if (owner.equals(uid)) return null;
+
+			Account seller, buyer;
+			if (owner.compareTo(uid) < 0) {
+				seller = em.find(Account.class, owner, LockModeType.PESSIMISTIC_WRITE);
+				buyer = em.find(Account.class, uid, LockModeType.PESSIMISTIC_WRITE);
+			} else {
+				buyer = em.find(Account.class, uid, LockModeType.PESSIMISTIC_WRITE);
+				seller = em.find(Account.class, owner, LockModeType.PESSIMISTIC_WRITE);
 			}
-		}
 
-		sc.setKawaipon(buyer.getKawaipon());
-		sc.setPrice(0);
-		sc.save();
+			if (seller == null || buyer == null || buyer.isBlacklisted()) return null;
 
-		return true;
+			int price = sc.getPrice();
+			long cost = sc.getId() == daily ? (long) (price * 0.8) : price;
+
+			long available = buyer.getBalance() - buyer.getDebit() - buyer.getReserved();
+			if (order != null && order.getId() > 0) {
+				MarketOrder mo = em.find(MarketOrder.class, order.getId(), LockModeType.PESSIMISTIC_WRITE);
+				if (mo == null) return null;
+
+				available += mo.getBuyout();
+				em.remove(mo);
+			}
+
+			if (available < cost) return null;
+
+			String name = sc.toString();
+			if (!seller.isBlacklisted()) {
+				seller.addCR(em, price, "Sold " + name);
+			}
+
+			if (cost < price) {
+				buyer.consumeCR(em, cost, "Purchased " + name + " (SALE)");
+			} else {
+				buyer.consumeCR(em, cost, "Purchased " + name);
+			}
+
+			sc.setKawaipon(em.getReference(Kawaipon.class, uid));
+			sc.setPrice(0);
+
+			return new Sale(sc, seller, buyer, price);
+		});
 	}
 
 	public int getDailyOffer() {
@@ -143,4 +189,7 @@ public class Market {
 
 		return -1;
 	}
+
+	private record Sale(StashedCard card, Account seller, Account buyer, int price) {
+	}
 }
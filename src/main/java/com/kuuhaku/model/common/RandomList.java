@@ -21,7 +21,6 @@ package com.kuuhaku.model.common;
 import com.kuuhaku.Constants;
 import com.kuuhaku.util.Calc;
 import kotlin.Pair;
-import org.apache.commons.collections4.list.TreeList;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
@@ -43,11 +42,15 @@ import java.util.random.RandomGenerator;
  * Values <0 tend towards higher weights, values >0 tend towards lower weights
  **/
 public class RandomList<T> {
-	private final NavigableMap<Double, T> map = new TreeMap<>();
-	private final List<Pair<Double, T>> pool = new TreeList<>();
+	private Object[] items = new Object[8];
+	private double[] weights = new double[8];
+	private int size = 0;
+
 	private final Function<RandomGenerator, Double> randGen;
 	private final RandomGenerator rng;
 	private final double mult;
+	private AliasTable table;
+	private double[] cumulative;
 	private double total = 0;
 
 	public RandomList() {
@@ -69,7 +72,7 @@ public class RandomList<T> {
 	public RandomList(RandomGenerator rng, double mult) {
 		this.rng = rng;
 		this.mult = mult;
-		this.randGen = r -> r.nextDouble(total);
+		this.randGen = null;
 	}
 
 	public RandomList(Function<RandomGenerator, Double> randGen, double mult) {
@@ -85,33 +88,63 @@ public class RandomList<T> {
 	public void add(@NotNull T item, double weight) {
 		if (weight <= 0) return;
 
-		total = 0;
-		map.clear();
-		pool.add(new Pair<>(weight, item));
+		if (size == items.length) {
+			items = Arrays.copyOf(items, size * 2);
+			weights = Arrays.copyOf(weights, size * 2);
+		}
+
+		items[size] = item;
+		weights[size++] = weight;
+		invalidate();
 	}
 
 	public T get() {
-		if (pool.isEmpty()) return null;
-		else if (map.isEmpty()) {
-			pool.sort(Comparator.comparingDouble(Pair::getFirst));
-			double min = pool.getFirst().getFirst();
-			double max = pool.getLast().getFirst();
-
-			for (Pair<Double, T> p : pool) {
-				double weight = p.getFirst();
-				double fac;
-				if (min == max) {
-					fac = 0;
-				} else {
-					fac = 1 - Calc.offsetPrcnt(weight, max, min);
-				}
-
-				double mult = Math.pow(1 + fac / 2, this.mult);
-				map.put(total += (weight * mult), p.getSecond());
+		if (size == 0) return null;
+
+		int i = nextIndex();
+		if (i < 0) return null;
+
+		return valueAt(i);
+	}
+
+	/**
+	 * Draws {@code amount} indexes at once, use {@link #valueAt(int)} to resolve them.
+	 */
+	public int[] sample(int amount) {
+		int[] out = new int[amount];
+		if (size == 0) return out;
+
+		build();
+		if (randGen == null) {
+			table.sample(rng, out);
+		} else {
+			for (int i = 0; i < amount; i++) {
+				out[i] = nextIndex();
 			}
 		}
 
-		return map.ceilingEntry(randGen.apply(rng)).getValue();
+		return out;
+	}
+
+	@SuppressWarnings("unchecked")
+	public T valueAt(int index) {
+		return (T) items[index];
+	}
+
+	public double weightAt(int index) {
+		return weights[index];
+	}
+
+	public double[] getWeights() {
+		return Arrays.copyOf(weights, size);
+	}
+
+	public double getMult() {
+		return mult;
+	}
+
+	public int size() {
+		return size;
 	}
 
 	public T remove() {
@@ -126,27 +159,128 @@ public class RandomList<T> {
 		removeIf(p -> p.equals(item));
 	}
 
+	@SuppressWarnings("unchecked")
 	public void removeIf(@NotNull Predicate<T> predicate) {
-		total = 0;
-		map.clear();
-		pool.removeIf(p -> predicate.test(p.getSecond()));
+		int j = 0;
+		for (int i = 0; i < size; i++) {
+			if (predicate.test((T) items[i])) continue;
+
+			items[j] = items[i];
+			weights[j++] = weights[i];
+		}
+
+		Arrays.fill(items, j, size, null);
+		size = j;
+		invalidate();
 	}
 
 	public void clear() {
-		total = 0;
-		map.clear();
-		pool.clear();
+		Arrays.fill(items, 0, size, null);
+		size = 0;
+		invalidate();
 	}
 
+	@SuppressWarnings("unchecked")
 	public Collection<T> values() {
-		return map.values();
+		build();
+		return (List<T>) (List<?>) Arrays.asList(Arrays.copyOf(items, size));
 	}
 
+	@SuppressWarnings("unchecked")
 	public List<Pair<Double, T>> entries() {
-		return pool;
+		build();
+
+		List<Pair<Double, T>> out = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			out.add(new Pair<>(weights[i], (T) items[i]));
+		}
+
+		return out;
 	}
 
 	public boolean isEmpty() {
-		return entries().isEmpty();
+		return size == 0;
+	}
+
+	private int nextIndex() {
+		build();
+		if (randGen == null) {
+			return table.sample(rng);
+		}
+
+		int i = Arrays.binarySearch(cumulative, randGen.apply(rng));
+		if (i < 0) i = -i - 1;
+
+		return i < size ? i : -1;
+	}
+
+	private void invalidate() {
+		table = null;
+		cumulative = null;
+		total = 0;
+	}
+
+	private void build() {
+		if (size == 0 || table != null || cumulative != null) return;
+		else if (randGen != null) sort();
+
+		double[] skewed = skew(getWeights(), mult);
+		if (randGen == null) {
+			table = new AliasTable(skewed);
+		} else {
+			cumulative = new double[size];
+			for (int i = 0; i < size; i++) {
+				cumulative[i] = total += skewed[i];
+			}
+		}
+	}
+
+	/**
+	 * Applies the curve bias to the given weights, returning the effective weight of each entry.
+	 */
+	public static double[] skew(double[] weights, double mult) {
+		double min = Double.MAX_VALUE;
+		double max = 0;
+		for (double w : weights) {
+			min = Math.min(min, w);
+			max = Math.max(max, w);
+		}
+
+		double[] out = new double[weights.length];
+		for (int i = 0; i < weights.length; i++) {
+			double fac;
+			if (min == max) {
+				fac = 0;
+			} else {
+				fac = 1 - Calc.offsetPrcnt(weights[i], max, min);
+			}
+
+			out[i] = weights[i] * Math.pow(1 + fac / 2, mult);
+		}
+
+		return out;
+	}
+
+	/**
+	 * Custom generators expect a cumulative range ordered from the lowest to the highest weight.
+	 */
+	private void sort() {
+		Integer[] order = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+
+		double[] w = weights;
+		Arrays.sort(order, Comparator.comparingDouble(i -> w[i]));
+
+		Object[] sortedItems = new Object[items.length];
+		double[] sortedWeights = new double[weights.length];
+		for (int i = 0; i < size; i++) {
+			sortedItems[i] = items[order[i]];
+			sortedWeights[i] = weights[order[i]];
+		}
+
+		items = sortedItems;
+		weights = sortedWeights;
 	}
 }
@@ -0,0 +1,143 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.model.common;
+
+import org.apache.commons.text.similarity.LevenshteinDistance;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Suggests known values close to a mistyped one, scoring each value by the edit distance between its prefix of the
+ * same length as the input and the input itself (case-insensitive).
+ * <br>
+ * Prefixes of each input length are indexed in their own BK-tree, built on first use. Inputs longer than the longest
+ * value share the tree of full values, and values sharing a prefix share a node.
+ */
+public class Suggester {
+	private static final LevenshteinDistance LEVENSHTEIN = LevenshteinDistance.getDefaultInstance();
+
+	private final String[] values;
+	private final String[] keys;
+	private final int maxDistance;
+	private final int maxLength;
+	private final Map<Integer, Node> trees = new ConcurrentHashMap<>();
+
+	private static final class Node {
+		private final String key;
+		private final List<Integer> indexes = new ArrayList<>(1);
+		private final Map<Integer, Node> children = new HashMap<>();
+
+		private Node(String key, int index) {
+			this.key = key;
+			this.indexes.add(index);
+		}
+	}
+
+	public Suggester(Collection<String> values, int maxDistance) {
+		this.values = values.stream().distinct().sorted().toArray(String[]::new);
+		this.keys = Arrays.stream(this.values).map(String::toUpperCase).toArray(String[]::new);
+		this.maxDistance = maxDistance;
+		this.maxLength = Arrays.stream(keys).mapToInt(String::length).max().orElse(0);
+	}
+
+	public int size() {
+		return values.length;
+	}
+
+	/**
+	 * @return The closest value within the maximum distance, or {@code null} if there's none.
+	 */
+	public String suggest(String word) {
+		List<String> out = suggest(word, 1);
+		if (out.isEmpty()) return null;
+
+		return out.getFirst();
+	}
+
+	/**
+	 * @return Up to {@code limit} values within the maximum distance, closest first (ties in natural order).
+	 */
+	public List<String> suggest(String word, int limit) {
+		if (word == null || word.isEmpty() || values.length == 0) return List.of();
+		else if (word.length() > maxLength + maxDistance) return List.of();
+
+		String query = word.toUpperCase();
+		Node root = trees.computeIfAbsent(Math.min(query.length(), maxLength), this::build);
+
+		List<int[]> hits = new ArrayList<>();
+		Deque<Node> stack = new ArrayDeque<>();
+		stack.push(root);
+
+		while (!stack.isEmpty()) {
+			Node n = stack.pop();
+			int dist = LEVENSHTEIN.apply(query, n.key);
+			if (dist <= maxDistance) {
+				for (int i : n.indexes) {
+					hits.add(new int[]{dist, i});
+				}
+			}
+
+			for (Map.Entry<Integer, Node> e : n.children.entrySet()) {
+				if (Math.abs(e.getKey() - dist) <= maxDistance) {
+					stack.push(e.getValue());
+				}
+			}
+		}
+
+		hits.sort(Comparator.<int[]>comparingInt(h -> h[0]).thenComparingInt(h -> h[1]));
+
+		List<String> out = new ArrayList<>();
+		for (int i = 0; i < hits.size() && i < limit; i++) {
+			out.add(values[hits.get(i)[1]]);
+		}
+
+		return out;
+	}
+
+	private Node build(int length) {
+		Node root = null;
+		for (int i = 0; i < keys.length; i++) {
+			String prefix = keys[i].substring(0, Math.min(length, keys[i].length()));
+			if (root == null) {
+				root = new Node(prefix, i);
+				continue;
+			}
+
+			Node n = root;
+			while (true) {
+				int dist = LEVENSHTEIN.apply(prefix, n.key);
+				if (dist == 0) {
+					n.indexes.add(i);
+					break;
+				}
+
+				Node child = n.children.get(dist);
+				if (child == null) {
+					n.children.put(dist, new Node(prefix, i));
+					break;
+				}
+
+				n = child;
+			}
+		}
+
+		return root;
+	}
+}
@@ -54,7 +54,6 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 public class Combat implements Renderer<BufferedImage> {
-	private final ScheduledExecutorService cpu = Executors.newSingleThreadScheduledExecutor();
 	private final long seed = ThreadLocalRandom.current().nextLong();
 
 	private final Dunhun game;
@@ -149,7 +148,7 @@ public class Combat implements Renderer<BufferedImage> {
 				BufferedImage card;
 				if (a.isOutOfCombat()) {
 					a.getSenshi().setAvailable(false);
-					BufferedImage overlay = IO.getResourceAsImage("shoukan/states/" + (a.getHp() <= 0 ? "dead" : "flee") + ".png");
+					BufferedImage overlay = IO.getSharedResourceAsImage("shoukan/states/" + (a.getHp() <= 0 ? "dead" : "flee") + ".png");
 
 					card = a.render(locale);
 					Graph.overlay(card, overlay);
@@ -161,7 +160,7 @@ public class Combat implements Renderer<BufferedImage> {
 					boolean legacy = a.getSenshi().getHand().getUserDeck().getFrame().isLegacy();
 					String path = "shoukan/frames/state/" + (legacy ? "old" : "new");
 
-					Graph.overlay(card, IO.getResourceAsImage(path + "/hero.png"));
+					Graph.overlay(card, IO.getSharedResourceAsImage(path + "/hero.png"));
 					g2d.drawString("v", offset + Drawable.SIZE.width / 2 - g2d.getFontMetrics().stringWidth("v") / 2, 40);
 				}
 
@@ -177,7 +176,7 @@ public class Combat implements Renderer<BufferedImage> {
 			}
 
 			if (!divided) {
-				BufferedImage cbIcon = IO.getResourceAsImage("dunhun/icons/combat.png");
+				BufferedImage cbIcon = IO.getSharedResourceAsImage("dunhun/icons/combat.png");
 				g2d.drawImage(cbIcon, offset, 50 + (bi.getHeight() - 50) / 2 - cbIcon.getHeight() / 2, null);
 				offset += 64;
 				divided = true;
@@ -451,7 +450,7 @@ public class Combat implements Renderer<BufferedImage> {
 			helper = null;
 
 			Actor curr = current;
-			cpu.schedule(() -> {
+			Main.getGameManager().schedule(() -> {
 				try {
 					boolean canAttack = curr.getSenshi().getDmg() > 0;
 					boolean canDefend = curr.getSenshi().getDfs() > 0;
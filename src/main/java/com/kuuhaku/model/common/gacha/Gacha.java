@@ -21,18 +21,21 @@ package com.kuuhaku.model.common.gacha;
 import com.kuuhaku.interfaces.annotations.GachaType;
 import com.kuuhaku.model.common.RandomList;
 import com.kuuhaku.model.persistent.user.Account;
+import com.kuuhaku.util.ClassIndex;
+import com.kuuhaku.util.Odds;
 import com.kuuhaku.util.Spawn;
 import com.kuuhaku.util.Utils;
 import kotlin.Pair;
-import org.reflections.Reflections;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 public abstract class Gacha {
-	private static final Reflections refl = new Reflections("com.kuuhaku.model.common.gacha");
-	private static final Set<Class<?>> gachas = refl.getTypesAnnotatedWith(GachaType.class);
+	private static final Set<Class<?>> gachas = ClassIndex.load("gachas", "com.kuuhaku.model.common.gacha", GachaType.class);
 
 	protected final RandomList<String> pool;
 
@@ -52,11 +55,33 @@ public abstract class Gacha {
 	}
 
 	public final double weightOf(String value) {
-		return pool.entries().parallelStream()
-				.filter(e -> e.getSecond().equals(value))
-				.mapToDouble(Pair::getFirst)
-				.findAny()
-				.orElseThrow();
+		for (int i = 0; i < pool.size(); i++) {
+			if (pool.valueAt(i).equals(value)) return pool.weightAt(i);
+		}
+
+		throw new NoSuchElementException();
+	}
+
+	/**
+	 * Exact chance of each pool entry being the outcome of a single prize draw.
+	 */
+	public final Map<String, Double> getOdds(String favor, boolean lucky) {
+		GachaType type = getClass().getAnnotation(GachaType.class);
+		String key = type == null ? getClass().getSimpleName() : type.value();
+
+		List<String> ids = getPool();
+		double[] odds = Odds.of(key, pool.getWeights(), pool.getMult(), getRolls(lucky), ids.indexOf(favor));
+
+		Map<String, Double> out = new HashMap<>();
+		for (int i = 0; i < odds.length; i++) {
+			out.put(ids.get(i), odds[i]);
+		}
+
+		return out;
+	}
+
+	protected int getRolls(boolean lucky) {
+		return lucky ? 2 : 1;
 	}
 
 	public final boolean rollOutput(String a, String b, String favor) {
@@ -75,7 +100,7 @@ public abstract class Gacha {
 		boolean lucky = acc.consumeItem("lucky_lodestone");
 		for (int i = 0; i < type.prizes() + extra; i++) {
 			if (lucky) {
-				out.add(Utils.luckyRoll(pool::get, (a, b) -> rollOutput(a, b, fav)));
+				out.add(Utils.luckyRoll(pool::get, (a, b) -> rollOutput(a, b, fav), getRolls(true)));
 			} else {
 				out.add(pool.get());
 			}
@@ -57,6 +57,11 @@ public class PremiumGacha extends Gacha {
 		super(new RandomList<>(Spawn.getRarityMult() * 1.5), pool);
 	}
 
+	@Override
+	protected int getRolls(boolean lucky) {
+		return 5;
+	}
+
 	@Override
 	public List<String> draw(Account acc) {
 		GachaType type = getClass().getAnnotation(GachaType.class);
@@ -66,7 +71,7 @@ public class PremiumGacha extends Gacha {
 		String fav = acc.getKawaipon().getFavCardId();
 		int extra = acc.getItemCount("extra_draw");
 		for (int i = 0; i < type.prizes() + extra; i++) {
-			out.add(Utils.luckyRoll(pool::get, (a, b) -> rollOutput(a, b, fav), 5));
+			out.add(Utils.luckyRoll(pool::get, (a, b) -> rollOutput(a, b, fav), getRolls(true)));
 		}
 
 		acc.consumeItem("extra_draw", extra, true);
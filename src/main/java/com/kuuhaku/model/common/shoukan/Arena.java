@@ -19,9 +19,11 @@
 package com.kuuhaku.model.common.shoukan;
 
 import com.kuuhaku.Constants;
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.game.Shoukan;
 import com.kuuhaku.game.engine.Renderer;
+import com.kuuhaku.game.engine.SerialExecutor;
 import com.kuuhaku.interfaces.shoukan.Drawable;
 import com.kuuhaku.interfaces.shoukan.EffectHolder;
 import com.kuuhaku.interfaces.shoukan.Proxy;
@@ -33,6 +35,7 @@ import com.kuuhaku.model.enums.I18N;
 import com.kuuhaku.model.enums.shoukan.*;
 import com.kuuhaku.model.persistent.shoukan.*;
 import com.kuuhaku.model.records.shoukan.Origin;
+import com.kuuhaku.model.records.shoukan.RenderedTile;
 import com.kuuhaku.model.records.shoukan.Timed;
 import com.kuuhaku.util.Calc;
 import com.kuuhaku.util.Graph;
@@ -48,13 +51,17 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ExecutorService;
+import java.util.Set;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 public class Arena implements Renderer<Future<BufferedImage>> {
-	private final ExecutorService RENDER = Executors.newSingleThreadScheduledExecutor();
+	private final SerialExecutor RENDER = Main.getGameManager().newRenderLane();
 	private final Point MARGIN = new Point(25, 25);
 	public final Dimension SIZE = new Dimension(
 			(225 + MARGIN.x * 2) * 5 /* slots */ + (225 + MARGIN.x * 2) * 4 /* side stacks */,
@@ -115,6 +122,11 @@ public class Arena implements Renderer<Future<BufferedImage>> {
 
 	public final Field DEFAULT_FIELD = DAO.find(Field.class, "DEFAULT");
 	private final BufferedImage canvas = new BufferedImage(SIZE.width, SIZE.height + BAR_SIZE.height * 2, BufferedImage.TYPE_INT_RGB);
+	private final Map<Drawable<?>, RenderedTile> tiles = new ConcurrentHashMap<>();
+	private final AtomicInteger redrawn = new AtomicInteger();
+	private BufferedImage background;
+	private String backgroundId;
+	private volatile long lastRenderTime;
 	private Future<BufferedImage> renderTask;
 	private BufferedImage thumbnail;
 	private Field field = null;
@@ -190,23 +202,24 @@ public class Arena implements Renderer<Future<BufferedImage>> {
 			renderTask = null;
 		}
 
-		return renderTask = RENDER.submit(() -> {
+		FutureTask<BufferedImage> task = new FutureTask<>(() -> {
+			long start = System.nanoTime();
+			Set<Drawable<?>> drawn = ConcurrentHashMap.newKeySet();
+			redrawn.set(0);
+
 			Graphics2D g2d = canvas.createGraphics();
 			g2d.setRenderingHints(Constants.SD_HINTS);
+			g2d.drawImage(getBackground(), 0, 0, null);
 
-			for (Hand h : game.getHands().values()) {
-				int offset = h.getSide() == Side.TOP ? 0 : canvas.getHeight() / 2;
-				Color bg = h.getUserDeck().getFrame().getThemeColor();
-
-				g2d.setColor(Graph.withBrightness(bg, 0.25f));
-				g2d.fillRect(0, offset, canvas.getWidth(), canvas.getHeight() / 2);
-			}
-
-			Graph.applyTransformed((Graphics2D) g2d.create(), 0, BAR_SIZE.height, drawCenter());
+			Graph.applyTransformed((Graphics2D) g2d.create(), 0, BAR_SIZE.height, drawCenter(drawn));
 			for (Hand h : game.getHands().values()) {
 				Graph.applyTransformed((Graphics2D) g2d.create(), drawBar(h));
 			}
 
+			tiles.keySet().retainAll(drawn);
+			lastRenderTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			Constants.LOGGER.debug("Arena rendered in {}ms ({}/{} tiles redrawn)", lastRenderTime, redrawn.get(), drawn.size());
+
 			try {
 				thumbnail = Thumbnails.of(canvas)
 						.width(SIZE.width / 3)
@@ -223,6 +236,50 @@ public class Arena implements Renderer<Future<BufferedImage>> {
 				renderTask = null;
 			}
 		});
+
+		RENDER.execute(task);
+		return renderTask = task;
+	}
+
+	public long getLastRenderTime() {
+		return lastRenderTime;
+	}
+
+	private BufferedImage getBackground() {
+		Field f = getField();
+		if (background != null && Objects.equals(backgroundId, f.getId())) return background;
+
+		BufferedImage bi = new BufferedImage(canvas.getWidth(), canvas.getHeight(), canvas.getType());
+		Graphics2D g2d = bi.createGraphics();
+		g2d.setRenderingHints(Constants.SD_HINTS);
+
+		for (Hand h : game.getHands().values()) {
+			int offset = h.getSide() == Side.TOP ? 0 : bi.getHeight() / 2;
+			Color bg = h.getUserDeck().getFrame().getThemeColor();
+
+			g2d.setColor(Graph.withBrightness(bg, 0.25f));
+			g2d.fillRect(0, offset, bi.getWidth(), bi.getHeight() / 2);
+		}
+
+		Graph.splitDrawImage(g2d, f.renderBackground(), 0, BAR_SIZE.height, 3);
+		g2d.dispose();
+
+		backgroundId = f.getId();
+		return background = bi;
+	}
+
+	private BufferedImage renderTile(Drawable<?> d, I18N locale, Deck deck, Set<Drawable<?>> drawn) {
+		drawn.add(d);
+
+		List<Object> key = d.renderKey(locale, deck);
+		RenderedTile t = tiles.get(d);
+		if (t == null || !t.key().equals(key)) {
+			t = new RenderedTile(key, d.render(locale, deck));
+			tiles.put(d, t);
+			redrawn.incrementAndGet();
+		}
+
+		return t.image();
 	}
 
 	public BufferedImage renderEvogears() {
@@ -275,14 +332,12 @@ public class Arena implements Renderer<Future<BufferedImage>> {
 		return bi;
 	}
 
-	private Consumer<Graphics2D> drawCenter() {
+	private Consumer<Graphics2D> drawCenter(Set<Drawable<?>> drawn) {
 		return g -> {
 			Hand top = game.getHands().get(Side.TOP);
 			Hand bottom = game.getHands().get(Side.BOTTOM);
 			I18N locale = getGame().getLocale();
 
-			Graph.splitDrawImage(g, getField().renderBackground(), 0, 0, 3);
-
 			for (Side side : Side.values()) {
 				int xOffset = CENTER.x - ((225 + MARGIN.x) * 5 - MARGIN.x) / 2;
 				int yOffset = switch (side) {
@@ -293,7 +348,7 @@ public class Arena implements Renderer<Future<BufferedImage>> {
 				Hand h = game.getHands().get(side);
 				int regdeg = h.getRegDeg().peek();
 				if (regdeg != 0) {
-					BufferedImage over = IO.getResourceAsImage("shoukan/overlay/" + (regdeg > 0 ? "r" : "d") + "egen_" + side.name().toLowerCase() + ".png");
+					BufferedImage over = IO.getSharedResourceAsImage("shoukan/overlay/" + (regdeg > 0 ? "r" : "d") + "egen_" + side.name().toLowerCase() + ".png");
 					g.drawImage(over, 0, CENTER.y * side.ordinal(), null);
 				}
 
@@ -317,13 +372,13 @@ public class Arena implements Renderer<Future<BufferedImage>> {
 								}
 
 								if (slot.isLocked()) {
-									BufferedImage hole = IO.getResourceAsImage("shoukan/states/broken.png");
+									BufferedImage hole = IO.getSharedResourceAsImage("shoukan/states/broken.png");
 									g2.drawImage(hole, x + 15, frontline + 15, null);
 									g2.drawImage(hole, x + 15, backline + 15, null);
 								} else {
 									if (slot.hasTop()) {
 										Senshi s = slot.getTop();
-										g2.drawImage(s.render(locale, deck), x, frontline, null);
+										g2.drawImage(renderTile(s, locale, deck, drawn), x, frontline, null);
 
 										if (!s.getEquipments().isEmpty()) {
 											Graph.applyTransformed(g2, x, equips, g3 -> {
@@ -331,7 +386,7 @@ public class Arena implements Renderer<Future<BufferedImage>> {
 												int middle = 225 / 2 - resized.width / 2;
 
 												for (int i = 0; i < s.getEquipments().size(); i++) {
-													g3.drawImage(s.getEquipments().get(i).render(locale, deck),
+													g3.drawImage(renderTile(s.getEquipments().get(i), locale, deck, drawn),
 															15 + middle + (resized.width - 5) * (i - 1), 0,
 															resized.width, resized.height,
 															null
@@ -342,7 +397,7 @@ public class Arena implements Renderer<Future<BufferedImage>> {
 									}
 
 									if (slot.hasBottom()) {
-										g2.drawImage(slot.getBottom().render(getGame().getLocale(), deck), x, backline, null);
+										g2.drawImage(renderTile(slot.getBottom(), locale, deck, drawn), x, backline, null);
 									}
 								}
 							});
@@ -360,13 +415,13 @@ public class Arena implements Renderer<Future<BufferedImage>> {
 				}
 				if (!banned.isEmpty()) {
 					Drawable<?> d = banned.getLast();
-					g2.drawImage(d.render(locale, d.getHand().getUserDeck()),
+					g2.drawImage(renderTile(d, locale, d.getHand().getUserDeck(), drawn),
 							-15, 0, null
 					);
 				}
 				if (!bottom.getGraveyard().isEmpty()) {
 					Drawable<?> d = bottom.getGraveyard().getLast();
-					g2.drawImage(d.render(locale, bottom.getUserDeck()),
+					g2.drawImage(renderTile(d, locale, bottom.getUserDeck(), drawn),
 							-15, 350 + MARGIN.y, null
 					);
 				}
@@ -375,12 +430,12 @@ public class Arena implements Renderer<Future<BufferedImage>> {
 			Graph.applyTransformed(g, SIZE.width - Drawable.SIZE.width - MARGIN.x, CENTER.y - Drawable.SIZE.height / 2, g2 -> {
 				if (!top.getGraveyard().isEmpty()) {
 					Drawable<?> d = top.getGraveyard().getLast();
-					g2.drawImage(d.render(locale, top.getUserDeck()),
+					g2.drawImage(renderTile(d, locale, top.getUserDeck(), drawn),
 							15, -(350 + MARGIN.y), null
 					);
 				}
 				if (!getField().getId().equals("DEFAULT")) {
-					g2.drawImage(getField().render(locale, Utils.getOr(() -> getField().getHand().getUserDeck(), Deck.INSTANCE)),
+					g2.drawImage(renderTile(getField(), locale, Utils.getOr(() -> getField().getHand().getUserDeck(), Deck.INSTANCE), drawn),
 							15, 0, null
 					);
 				}
@@ -484,7 +539,7 @@ public class Arena implements Renderer<Future<BufferedImage>> {
 
 				int regdeg = hand.getRegDeg().peek();
 				if (regdeg != 0) {
-					BufferedImage tex = IO.getResourceAsImage("shoukan/overlay/" + (regdeg > 0 ? "r" : "d") + "egen.png");
+					BufferedImage tex = IO.getSharedResourceAsImage("shoukan/overlay/" + (regdeg > 0 ? "r" : "d") + "egen.png");
 					g1.setPaint(new TexturePaint(
 							tex,
 							new Rectangle(bar.x, bar.y + bar.height + (reversed ? 1 : 0), bar.height, bar.height * (reversed ? -1 : 1) + (reversed ? -1 : 1))
@@ -28,8 +28,10 @@ import com.kuuhaku.model.records.shoukan.EffectParameters;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.Closeable;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.BiConsumer;
 
 public final class EffectOverTime implements Closeable {
@@ -96,8 +98,8 @@ public final class EffectOverTime implements Closeable {
 		return effect;
 	}
 
-	public EnumSet<Trigger> getTriggers() {
-		return triggers;
+	public Set<Trigger> getTriggers() {
+		return Collections.unmodifiableSet(EnumSet.copyOf(triggers));
 	}
 
 	public boolean hasTrigger(Trigger trigger) {
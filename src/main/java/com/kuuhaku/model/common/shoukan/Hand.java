@@ -323,34 +323,30 @@ public class Hand {
 
 		if (origin.synergy() == Race.REBORN) {
 			for (int i = 0; i < 3; i++) {
-				deck.add(DAO.find(Evogear.class, "REBIRTH"));
+				deck.add(Main.getCatalogManager().getEvogear("REBIRTH"));
 			}
 		}
 	}
 
 	public void loadCards() {
-		Stream<? extends Drawable<?>> toAdd;
+		long start = System.currentTimeMillis();
+
+		List<Drawable<?>> toAdd;
 		if (game.getArcade() == Arcade.CARDMASTER) {
-			List<List<? extends Drawable<?>>> cards = new ArrayList<>();
-			cards.add(DAO.queryAll(Senshi.class, "SELECT s FROM Senshi s WHERE cast(get_rarity_index(s.card.rarity) AS INTEGER) BETWEEN 1 AND 5 AND NOT CAST(has(s.base.tags, 'FUSION') AS BOOLEAN)"));
-			cards.add(DAO.queryAll(Evogear.class, "SELECT e FROM Evogear e WHERE e.base.mana > 0"));
-			cards.add(DAO.queryAll(Field.class, "SELECT f FROM Field f WHERE NOT f.effect"));
-
-			toAdd = cards.parallelStream()
-					.flatMap(List::stream)
-					.map(Drawable::copy);
+			toAdd = Main.getCatalogManager().getCardmasterPool();
 		} else {
-			toAdd = Stream.of(userDeck.getSenshiRaw(), userDeck.getEvogearRaw(), userDeck.getFieldsRaw())
-					.parallel()
-					.flatMap(List::stream)
-					.map(DeckEntry::card);
+			toAdd = DeckEntry.load(userDeck.getEntries());
 		}
 
-		deck.addAll(toAdd.parallel().peek(d -> {
-			if (d instanceof Senshi s && origin.synergy() == Race.ELDRITCH && !s.hasEffect()) {
-				s.getStats().setSource(Senshi.getRandom(game.getRng(), "WHERE effect IS NOT NULL", "AND mana = " + s.getBase().getMana()));
+		if (origin.synergy() == Race.ELDRITCH) {
+			for (Drawable<?> d : toAdd) {
+				if (d instanceof Senshi s && !s.hasEffect()) {
+					s.getStats().setSource(Main.getCatalogManager().getRandomEffectSenshi(game.getRng(), s.getBase().getMana()));
+				}
 			}
-		}).toList());
+		}
+
+		deck.addAll(toAdd);
 
 		Hero h = userDeck.getHero();
 		if (h != null) {
@@ -361,6 +357,7 @@ public class Hand {
 		}
 
 		Utils.shuffle(deck, game.getRng());
+		Constants.LOGGER.debug("Loaded {} cards for {} in {}ms", deck.size(), getUid(), System.currentTimeMillis() - start);
 	}
 
 	public String getUid() {
@@ -1217,13 +1214,13 @@ public class Hand {
 				if (!ally) {
 					Graph.applyTransformed(g2d, x, y, g -> {
 						g.setClip(userDeck.getFrame().getBoundary());
-						g.drawImage(IO.getResourceAsImage("shoukan/states/sight.png"), 0, 0, null);
+						g.drawImage(IO.getSharedResourceAsImage("shoukan/states/sight.png"), 0, 0, null);
 					});
 				}
 
 				if (d instanceof EffectHolder<?> e && e.hasFlag(Flag.EMPOWERED)) {
 					boolean legacy = userDeck.getFrame().isLegacy();
-					BufferedImage emp = IO.getResourceAsImage("shoukan/frames/state/" + (legacy ? "old" : "new") + "/empowered.png");
+					BufferedImage emp = IO.getSharedResourceAsImage("shoukan/frames/state/" + (legacy ? "old" : "new") + "/empowered.png");
 
 					g2d.drawImage(emp, x, y, null);
 				}
@@ -1340,7 +1337,7 @@ public class Hand {
 				op.filter(img, img);
 
 				Graphics2D g = img.createGraphics();
-				g.drawImage(IO.getResourceAsImage("shoukan/states/selected.png"), 0, 0, null);
+				g.drawImage(IO.getSharedResourceAsImage("shoukan/states/selected.png"), 0, 0, null);
 				g.dispose();
 			}
 
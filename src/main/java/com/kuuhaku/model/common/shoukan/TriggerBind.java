@@ -60,6 +60,15 @@ public class TriggerBind {
 		return holder;
 	}
 
+	public Set<Trigger> getTriggers() {
+		EnumSet<Trigger> out = EnumSet.noneOf(Trigger.class);
+		for (EnumSet<Trigger> trigs : binds.values()) {
+			out.addAll(trigs);
+		}
+
+		return out;
+	}
+
 	public boolean isBound(EffectParameters ep) {
 		Target tgt = ep.side() == holder.getSide() ? Target.SAME : Target.OTHER;
 		Set<Trigger> trigs = SetUtils.union(binds.get(tgt), binds.get(Target.BOTH));
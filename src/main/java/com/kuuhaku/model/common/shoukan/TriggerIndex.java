@@ -0,0 +1,144 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.model.common.shoukan;
+
+import com.kuuhaku.model.enums.shoukan.Trigger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Set of trigger listeners which also keeps them indexed by the triggers they listen for,
+ * so dispatching a trigger only visits the relevant entries, in insertion order.
+ */
+public class TriggerIndex<T> extends AbstractSet<T> {
+	private final Map<T, Entry> entries = new LinkedHashMap<>();
+	private final EnumMap<Trigger, Set<T>> index = new EnumMap<>(Trigger.class);
+	private final Function<T, Set<Trigger>> mapper;
+	private long sequence;
+
+	/**
+	 * Insertion sequence and the triggers an element was indexed under, captured when it was added.
+	 */
+	private record Entry(long seq, Set<Trigger> triggers) {
+	}
+
+	public TriggerIndex(Function<T, Set<Trigger>> mapper) {
+		this.mapper = mapper;
+	}
+
+	public List<T> get(Trigger trigger) {
+		Set<T> out = index.get(trigger);
+		if (out == null || out.isEmpty()) return List.of();
+
+		return List.copyOf(out);
+	}
+
+	public List<T> get(Collection<Trigger> triggers) {
+		Set<T> found = new HashSet<>();
+		for (Trigger t : triggers) {
+			Set<T> bucket = index.get(t);
+			if (bucket != null) {
+				found.addAll(bucket);
+			}
+		}
+
+		if (found.isEmpty()) return List.of();
+
+		List<T> out = new ArrayList<>(found);
+		out.sort(Comparator.comparingLong(t -> entries.get(t).seq()));
+		return out;
+	}
+
+	@Override
+	public boolean add(T t) {
+		if (entries.containsKey(t)) return false;
+
+		Set<Trigger> triggers = EnumSet.noneOf(Trigger.class);
+		triggers.addAll(mapper.apply(t));
+		entries.put(t, new Entry(sequence++, triggers));
+
+		for (Trigger trigger : triggers) {
+			index.computeIfAbsent(trigger, k -> new LinkedHashSet<>()).add(t);
+		}
+
+		return true;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean remove(Object o) {
+		Entry e = entries.remove(o);
+		if (e == null) return false;
+
+		unindex((T) o, e);
+		return true;
+	}
+
+	private void unindex(T t, Entry e) {
+		for (Trigger trigger : e.triggers()) {
+			Set<T> bucket = index.get(trigger);
+			if (bucket != null) {
+				bucket.remove(t);
+			}
+		}
+	}
+
+	@Override
+	public @NotNull Iterator<T> iterator() {
+		Iterator<Map.Entry<T, Entry>> it = entries.entrySet().iterator();
+
+		return new Iterator<>() {
+			private Map.Entry<T, Entry> current;
+
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			@Override
+			public T next() {
+				return (current = it.next()).getKey();
+			}
+
+			@Override
+			public void remove() {
+				it.remove();
+				unindex(current.getKey(), current.getValue());
+			}
+		};
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return entries.containsKey(o);
+	}
+
+	@Override
+	public int size() {
+		return entries.size();
+	}
+
+	@Override
+	public void clear() {
+		entries.clear();
+		index.clear();
+	}
+}
@@ -19,6 +19,7 @@
 package com.kuuhaku.model.enums;
 
 import com.kuuhaku.Main;
+import com.kuuhaku.util.text.Template;
 import com.kuuhaku.util.text.Uwuifier;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
@@ -28,8 +29,6 @@ import java.text.DecimalFormatSymbols;
 import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.Locale;
-import java.util.MissingResourceException;
-import java.util.ResourceBundle;
 
 public enum I18N {
 	PT(ZoneId.of("GMT-3"), "🇧🇷"),
@@ -79,23 +78,8 @@ public enum I18N {
 			}
 		}
 
-		String out = Main.getCacheManager().computeLocale(parent.name() + "-" + key, (k, v) -> {
-			if (v != null) return v;
-
-			try {
-				String message = ResourceBundle.getBundle("locale/lang", parent.locale).getString(key);
-				String icon;
-				try {
-					icon = ResourceBundle.getBundle("locale/lang", parent.locale).getString("icon/" + key.split("/")[0]);
-				} catch (MissingResourceException e) {
-					icon = "";
-				}
-
-				return icon.isBlank() ? message : icon + " | " + message;
-			} catch (MissingResourceException e) {
-				return key;
-			}
-		}).formatted(args);
+		Template tpl = Main.getLocaleManager().getTemplate(parent, key);
+		String out = tpl == null ? key.formatted(args) : tpl.format(args);
 
 		if (isUwu()) {
 			return Uwuifier.INSTANCE.uwu(parent, out);
@@ -104,6 +88,10 @@ public enum I18N {
 		return out;
 	}
 
+	public Locale getLocale() {
+		return locale;
+	}
+
 	public ZoneId getZone() {
 		return zone;
 	}
@@ -22,6 +22,7 @@ import com.kuuhaku.Constants;
 import com.kuuhaku.Main;
 import com.kuuhaku.util.IO;
 
+import java.awt.image.BufferedImage;
 public enum Quality {
 	NORMAL, FINE, POLISHED, FLAWLESS;
 
@@ -33,6 +34,10 @@ public enum Quality {
 		});
 	}
 
+	public BufferedImage getOverlay() {
+		return Main.getCacheManager().computeImage("quality_" + name(), k -> IO.imageFromBytes(getOverlayBytes()));
+	}
+
 	public static Quality get(double quality) {
 		return values()[(int) Math.min(quality * (values().length - 1) / 18, values().length - 1)];
 	}
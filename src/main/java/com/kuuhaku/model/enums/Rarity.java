@@ -25,6 +25,7 @@ import com.kuuhaku.model.persistent.shiro.Card;
 import com.kuuhaku.util.Graph;
 import com.kuuhaku.util.IO;
 
+import java.awt.image.BufferedImage;
 import java.awt.*;
 import java.util.Arrays;
 import java.util.List;
@@ -112,6 +113,10 @@ public enum Rarity {
 		});
 	}
 
+	public BufferedImage getFrame() {
+		return Main.getCacheManager().computeImage("frame_" + name(), k -> IO.imageFromBytes(getFrameBytes()));
+	}
+
 	public List<Card> getCards() {
 		return DAO.queryAll(Card.class, "SELECT c FROM Card c WHERE c.anime.visible = TRUE AND c.rarity = ?1", this);
 	}
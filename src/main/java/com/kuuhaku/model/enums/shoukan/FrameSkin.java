@@ -192,7 +192,7 @@ public enum FrameSkin {
 		Graphics2D g2d = canvas.createGraphics();
 
 		if (cover != null) {
-			g2d.drawImage(style.getCover().drawCardNoBorder(), 15, 16, 195, 318, null);
+			g2d.drawImage(style.getCover().getImage(), 15, 16, 195, 318, null);
 		}
 
 		g2d.drawImage(back, 0, 0, null);
@@ -140,6 +140,7 @@ public class Hero extends DAO<Hero> implements Actor {
 		File f = new File(parent, id + ".png");
 		img = Graph.scaleAndCenterImage(Graph.toColorSpace(img, BufferedImage.TYPE_INT_ARGB), 225, 350);
 		Main.getCacheManager().getResourceCache().invalidate("H:" + id);
+		Main.getCacheManager().getImageCache().asMap().keySet().removeIf(k -> k.startsWith("card_H:" + id));
 
 		try {
 			ImageIO.write(img, "png", f);
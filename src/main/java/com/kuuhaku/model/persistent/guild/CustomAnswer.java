@@ -18,6 +18,7 @@
 
 package com.kuuhaku.model.persistent.guild;
 
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.model.persistent.converter.JSONArrayConverter;
 import com.kuuhaku.model.records.id.CustomAnswerId;
@@ -110,6 +111,16 @@ public class CustomAnswer extends DAO<CustomAnswer> {
 		return settings;
 	}
 
+	@Override
+	public void afterSave() {
+		Main.getCacheManager().getCustomAnswerCache().invalidate(id.gid());
+	}
+
+	@Override
+	public void afterDelete() {
+		Main.getCacheManager().getCustomAnswerCache().invalidate(id.gid());
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
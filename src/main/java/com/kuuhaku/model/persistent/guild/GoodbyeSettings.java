@@ -18,6 +18,7 @@
 
 package com.kuuhaku.model.persistent.guild;
 
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.model.persistent.converter.ChannelConverter;
 import com.kuuhaku.model.persistent.javatype.ChannelJavaType;
@@ -87,4 +88,14 @@ public class GoodbyeSettings extends DAO<GoodbyeSettings> {
 	public void setChannel(TextChannelImpl channel) {
 		this.channel = channel;
 	}
+
+	@Override
+	public void afterSave() {
+		Main.getCacheManager().getGuildConfigCache().invalidate(gid);
+	}
+
+	@Override
+	public void afterDelete() {
+		Main.getCacheManager().getGuildConfigCache().invalidate(gid);
+	}
 }
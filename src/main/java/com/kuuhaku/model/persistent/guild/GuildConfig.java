@@ -19,6 +19,7 @@
 package com.kuuhaku.model.persistent.guild;
 
 import com.kuuhaku.Constants;
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.interfaces.AutoMake;
 import com.kuuhaku.model.enums.GuildFeature;
@@ -164,4 +165,14 @@ public class GuildConfig extends DAO<GuildConfig> implements AutoMake<GuildConfi
 	public List<Profile> getProfiles() {
 		return DAO.queryAll(Profile.class, "SELECT p FROM Profile p WHERE p.id.gid = ?1 ORDER BY p.xp DESC", gid);
 	}
+
+	@Override
+	public void afterSave() {
+		Main.getCacheManager().getGuildConfigCache().invalidate(gid);
+	}
+
+	@Override
+	public void afterDelete() {
+		Main.getCacheManager().getGuildConfigCache().invalidate(gid);
+	}
 }
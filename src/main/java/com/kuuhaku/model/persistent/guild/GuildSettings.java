@@ -18,6 +18,7 @@
 
 package com.kuuhaku.model.persistent.guild;
 
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.model.enums.AutoModType;
 import com.kuuhaku.model.enums.Category;
@@ -263,4 +264,16 @@ public class GuildSettings extends DAO<GuildSettings> {
 	public Map<AutoModType, String> getAutoModEntries() {
 		return automodEntries;
 	}
+
+	@Override
+	public void afterSave() {
+		Main.getCacheManager().getGuildConfigCache().invalidate(gid);
+		Main.getCacheManager().getCustomAnswerCache().invalidate(gid);
+	}
+
+	@Override
+	public void afterDelete() {
+		Main.getCacheManager().getGuildConfigCache().invalidate(gid);
+		Main.getCacheManager().getCustomAnswerCache().invalidate(gid);
+	}
 }
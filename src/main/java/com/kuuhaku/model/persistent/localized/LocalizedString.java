@@ -18,6 +18,7 @@
 
 package com.kuuhaku.model.persistent.localized;
 
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.model.enums.I18N;
 import com.kuuhaku.model.records.id.LocalizedId;
@@ -58,10 +59,20 @@ public class LocalizedString extends DAO<LocalizedString> implements Serializabl
 	public static String get(I18N locale, String key, String def) {
 		if (key == null) return def;
 
-		LocalizedString ls = DAO.find(LocalizedString.class, new LocalizedId(key.toLowerCase(), locale));
-		if (ls == null) return def;
+		String value = Main.getLocaleManager().getLocalized(locale, key.toLowerCase());
+		if (value == null) return def;
 
-		return ls.getValue();
+		return value;
+	}
+
+	@Override
+	public void afterSave() {
+		Main.getLocaleManager().invalidate();
+	}
+
+	@Override
+	public void afterDelete() {
+		Main.getLocaleManager().invalidate();
 	}
 
 	@Override
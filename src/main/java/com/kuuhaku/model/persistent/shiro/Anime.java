@@ -18,6 +18,7 @@
 
 package com.kuuhaku.model.persistent.shiro;
 
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import jakarta.persistence.*;
 import org.hibernate.annotations.Cache;
@@ -74,6 +75,18 @@ public class Anime extends DAO<Anime> implements Serializable {
 		return visible;
 	}
 
+	@Override
+	public void afterSave() {
+		Main.getWeightManager().invalidate();
+		Main.getSuggestionManager().invalidate();
+	}
+
+	@Override
+	public void afterDelete() {
+		Main.getWeightManager().invalidate();
+		Main.getSuggestionManager().invalidate();
+	}
+
 	@Override
 	public String toString() {
 		if (!visible) return "???";
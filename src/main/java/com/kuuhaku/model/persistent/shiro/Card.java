@@ -32,19 +32,16 @@ import com.kuuhaku.util.Graph;
 import com.kuuhaku.util.IO;
 import com.kuuhaku.util.Utils;
 import jakarta.persistence.*;
-import okio.Buffer;
 import org.apache.commons.io.FileUtils;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Fetch;
 import org.hibernate.annotations.FetchMode;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.Serializable;
 import java.util.Objects;
 
@@ -96,89 +93,86 @@ public class Card extends DAO<Card> implements Serializable {
 	}
 
 	public BufferedImage drawCard(boolean chrome) {
-		try {
-			try (Buffer buf = new Buffer(); InputStream is = buf.inputStream()) {
-				buf.write(getImageBytes());
-				BufferedImage card = ImageIO.read(is);
-
-				buf.clear();
-				buf.write(rarity.getFrameBytes());
-				BufferedImage frame = ImageIO.read(is);
-
-				BufferedImage canvas = new BufferedImage(frame.getWidth(), frame.getHeight(), BufferedImage.TYPE_INT_ARGB);
-				Graphics2D g2d = canvas.createGraphics();
-				g2d.setRenderingHints(Constants.HD_HINTS);
-
-				if (chrome) {
-					chrome(card, false);
-					chrome(frame, true);
-				}
+		return Graph.copy(Main.getCacheManager().computeImage(getImageKey() + "/frame" + (chrome ? "/chrome" : ""), k -> {
+			BufferedImage card = getArt(chrome);
+			BufferedImage frame = rarity.getFrame();
+			if (card == null || frame == null) return null;
+
+			BufferedImage canvas = new BufferedImage(frame.getWidth(), frame.getHeight(), BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g2d = canvas.createGraphics();
+			g2d.setRenderingHints(Constants.HD_HINTS);
+
+			if (chrome) {
+				frame = Graph.copy(frame);
+				chrome(frame, true);
+			}
 
-				g2d.drawImage(card, 15, 15, null);
-				g2d.drawImage(frame, 0, 0, null);
+			g2d.drawImage(card, 15, 15, null);
+			g2d.drawImage(frame, 0, 0, null);
 
-				g2d.dispose();
+			g2d.dispose();
 
-				return canvas;
-			}
-		} catch (IOException e) {
-			Constants.LOGGER.error(e, e);
-			return null;
-		}
+			return canvas;
+		}));
 	}
 
 	public BufferedImage drawCardNoBorder() {
-		try {
-			byte[] cardBytes = getImageBytes();
-			assert cardBytes != null;
-
-			try (Buffer buf = new Buffer(); InputStream is = buf.inputStream()) {
-				buf.write(cardBytes);
-				return ImageIO.read(is);
-			}
-		} catch (IOException e) {
-			return null;
-		}
+		return Graph.copy(getImage());
 	}
 
 	public BufferedImage drawCardNoBorder(boolean chrome) {
-		try {
-			byte[] cardBytes = getImageBytes();
-			assert cardBytes != null;
+		return Graph.copy(getArt(chrome));
+	}
 
-			try (Buffer buf = new Buffer(); InputStream is = buf.inputStream()) {
-				buf.write(cardBytes);
-				BufferedImage img = ImageIO.read(is);
+	public BufferedImage getImage() {
+		return Main.getCacheManager().computeImage(getImageKey(), k -> IO.imageFromBytes(getImageBytes()));
+	}
 
-				if (chrome) {
-					chrome(img, false);
-				}
+	public BufferedImage getArt(boolean chrome) {
+		return getArt(chrome, 0);
+	}
 
-				return img;
+	/**
+	 * Returns the card art with the requested transforms applied, memoised in the image cache.
+	 * The returned image is shared and must not be modified, use {@link #drawCardNoBorder(boolean)}
+	 * when a private copy is needed.
+	 */
+	public BufferedImage getArt(boolean chrome, int hue) {
+		int deg = Math.floorMod(hue, 360);
+		if (!chrome && deg == 0) return getImage();
+
+		String key = getImageKey() + (chrome ? "/chrome" : "") + (deg != 0 ? "/hue" + deg : "");
+		return Main.getCacheManager().computeImage(key, k -> {
+			BufferedImage img = Graph.copy(getImage());
+			if (img == null) return null;
+
+			if (chrome) {
+				chrome(img, false);
 			}
-		} catch (IOException e) {
-			return null;
-		}
-	}
 
-	public void chrome(BufferedImage bi, boolean border) {
-		Graph.forEachPixel(bi, (x, y, rgb) -> {
-			int[] color = Graph.unpackRGB(rgb);
-			int alpha = color[0];
-			float[] hsv;
-			if (border) {
-				hsv = Color.RGBtoHSB(color[1], color[2], color[3], null);
-				hsv[0] = ((hsv[0] * 360 + 180) % 360) / 360;
-			} else {
-				hsv = Color.RGBtoHSB(color[1], color[3], color[2], null);
-				hsv[0] = ((hsv[0] * 360 + 42) % 360) / 360;
+			if (deg != 0) {
+				Graph.forEachPixel(img, rgb -> Graph.rotate(rgb, deg));
 			}
 
-			color = Graph.unpackRGB(Color.getHSBColor(hsv[0], hsv[1], hsv[2]).getRGB());
-			return Graph.packRGB(alpha, color[1], color[2], color[3]);
+			return img;
 		});
 	}
 
+	public String getImageKey() {
+		return "card_" + id;
+	}
+
+	public void chrome(BufferedImage bi, boolean border) {
+		if (border) {
+			Graph.forEachPixel(bi, rgb -> Graph.rotateHue(rgb, 180));
+		} else {
+			Graph.forEachPixel(bi, rgb -> {
+				int swapped = (rgb & 0xFFFF0000) | (rgb & 0xFF) << 8 | (rgb >> 8) & 0xFF;
+				return Graph.rotateHue(swapped, 42);
+			});
+		}
+	}
+
 	private byte[] getImageBytes() {
 		String path;
 		switch (rarity) {
@@ -229,6 +223,18 @@ public class Card extends DAO<Card> implements Serializable {
 		return getName();
 	}
 
+	@Override
+	public void afterSave() {
+		Main.getWeightManager().invalidate();
+		Main.getSuggestionManager().invalidate();
+	}
+
+	@Override
+	public void afterDelete() {
+		Main.getWeightManager().invalidate();
+		Main.getSuggestionManager().invalidate();
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
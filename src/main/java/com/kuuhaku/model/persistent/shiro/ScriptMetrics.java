@@ -20,6 +20,7 @@ package com.kuuhaku.model.persistent.shiro;
 
 import com.kuuhaku.controller.DAO;
 import jakarta.persistence.*;
+import org.apache.commons.codec.digest.DigestUtils;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -36,8 +37,11 @@ public class ScriptMetrics extends DAO<ScriptMetrics> {
 	@Column(name = "issuer", nullable = false)
 	private String issuer;
 
-	@Column(name = "script", nullable = false, columnDefinition = "TEXT")
-	private String script;
+	@Column(name = "script_hash", length = 64)
+	private String hash;
+
+	@Transient
+	private transient String script;
 
 	@Column(name = "run_time", nullable = false)
 	private int runTime;
@@ -62,6 +66,14 @@ public class ScriptMetrics extends DAO<ScriptMetrics> {
 		return issuer;
 	}
 
+	public String getHash() {
+		if (hash == null && script != null) {
+			hash = DigestUtils.sha256Hex(script);
+		}
+
+		return hash;
+	}
+
 	public String getScript() {
 		return script;
 	}
@@ -0,0 +1,62 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.model.persistent.shiro;
+
+import com.kuuhaku.controller.DAO;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.util.Objects;
+
+@Entity
+@Table(name = "script_source")
+public class ScriptSource extends DAO<ScriptSource> {
+	@Id
+	@Column(name = "hash", nullable = false, length = 64)
+	private String hash;
+
+	@Column(name = "script", nullable = false, columnDefinition = "TEXT")
+	private String script;
+
+	public ScriptSource() {
+	}
+
+	public String getHash() {
+		return hash;
+	}
+
+	public String getScript() {
+		return script;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		ScriptSource that = (ScriptSource) o;
+		return Objects.equals(hash, that.hash);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(hash);
+	}
+}
@@ -260,6 +260,8 @@ public class CardAttributes implements Serializable, Cloneable {
 		CardAttributes clone = (CardAttributes) super.clone();
 		clone.tags = new JSONArray(tags);
 		clone.descriptions = new HashSet<>(descriptions);
+		clone.lock = EnumSet.copyOf(lock);
+		clone.effects = new HashSet<>(effects);
 
 		return clone;
 	}
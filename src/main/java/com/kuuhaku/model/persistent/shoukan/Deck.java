@@ -166,10 +166,44 @@ public class Deck extends DAO<Deck> {
 				.toList();
 	}
 
+	/**
+	 * Fetches every card entry of this deck in one query: senshi and evogear in their styling order, then
+	 * fields.
+	 */
+	public List<DeckEntry> getEntries() {
+		if (account == null) return List.of();
+
+		return DAO.queryAllUnmapped("""
+						SELECT x.type, x.card_id, x.id
+						FROM (
+						     SELECT 'SENSHI' AS type, d.card_id, sc.id, 0 AS part, row_number() OVER (%s) AS pos
+						     FROM senshi d
+						     INNER JOIN stashed_card sc ON sc.card_id = d.card_id
+						     WHERE sc.kawaipon_uid = ?1
+						       AND sc.deck_id = ?2
+						     UNION ALL
+						     SELECT 'EVOGEAR', d.card_id, sc.id, 1, row_number() OVER (%s)
+						     FROM evogear d
+						     INNER JOIN stashed_card sc ON sc.card_id = d.card_id
+						     WHERE sc.kawaipon_uid = ?1
+						       AND sc.deck_id = ?2
+						     UNION ALL
+						     SELECT 'FIELD', d.card_id, sc.id, 2, row_number() OVER ()
+						     FROM field d
+						     INNER JOIN stashed_card sc ON sc.card_id = d.card_id
+						     WHERE sc.kawaipon_uid = ?1
+						       AND sc.deck_id = ?2
+						     ) x
+						ORDER BY x.part, x.pos
+						""".formatted(styling.getSenshiOrder(), styling.getEvogearOrder()), account.getUid(), id).stream()
+				.map(o -> Utils.map(DeckEntry.class, o))
+				.toList();
+	}
+
 	public List<Senshi> getSenshi() {
 		if (senshi == null) {
-			senshi = getSenshiRaw().stream()
-					.map(de -> (Senshi) de.card())
+			senshi = DeckEntry.load(getSenshiRaw()).stream()
+					.map(d -> (Senshi) d)
 					.toList();
 		}
 
@@ -221,8 +255,8 @@ public class Deck extends DAO<Deck> {
 
 	public List<Evogear> getEvogear() {
 		if (evogear == null) {
-			evogear = getEvogearRaw().stream()
-					.map(de -> (Evogear) de.card())
+			evogear = DeckEntry.load(getEvogearRaw()).stream()
+					.map(d -> (Evogear) d)
 					.toList();
 		}
 
@@ -307,8 +341,8 @@ public class Deck extends DAO<Deck> {
 
 	public List<Field> getFields() {
 		if (field == null) {
-			field = getFieldsRaw().stream()
-					.map(de -> (Field) de.card())
+			field = DeckEntry.load(getFieldsRaw()).stream()
+					.map(d -> (Field) d)
 					.toList();
 		}
 
@@ -374,7 +408,7 @@ public class Deck extends DAO<Deck> {
 			g.setComposite(BlendComposite.Color);
 			g.fillRect(0, 0, bi.getWidth(), bi.getHeight());
 		});
-		Graph.applyMask(bi, IO.getResourceAsImage("shoukan/mask/deck_mask.png"), 0, true);
+		Graph.applyMask(bi, IO.getSharedResourceAsImage("shoukan/mask/deck_mask.png"), 0, true);
 
 		MultiProcessor.with(Executors.newVirtualThreadPerTaskExecutor(), new ArrayList<Consumer<Graphics2D>>())
 				.addTask(renderData(locale))
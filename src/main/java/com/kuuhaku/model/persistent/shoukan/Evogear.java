@@ -19,6 +19,7 @@
 package com.kuuhaku.model.persistent.shoukan;
 
 import com.kuuhaku.Constants;
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.exceptions.ActivationException;
 import com.kuuhaku.exceptions.TargetException;
@@ -667,6 +668,14 @@ public class Evogear extends DAO<Evogear> implements EffectHolder<Evogear> {
 		state = 0b1;
 	}
 
+	@Override
+	public List<Object> renderKey(I18N locale, Deck deck) {
+		return Arrays.asList(
+				EffectHolder.super.renderKey(locale, deck),
+				stats.getWrite(), getCharms().toString(), hasFlag(Flag.EMPOWERED), tier, getTier()
+		);
+	}
+
 	@Override
 	public BufferedImage render(I18N locale, Deck deck) {
 		if (hand == null) {
@@ -688,14 +697,14 @@ public class Evogear extends DAO<Evogear> implements EffectHolder<Evogear> {
 				}
 			} else {
 				String desc = getDescription(locale);
-				BufferedImage img = card.drawCardNoBorder(Utils.getOr(() -> stashRef.isChrome(), false));
+				BufferedImage img = card.getArt(Utils.getOr(() -> stashRef.isChrome(), false));
 
 				g1.setClip(deck.getFrame().getBoundary());
 				g1.drawImage(img, 0, 0, null);
 				g1.setClip(null);
 
 				g1.drawImage(deck.getFrame().getFront(!desc.isEmpty()), 0, 0, null);
-				g1.drawImage(IO.getResourceAsImage("shoukan/icons/tier_" + tier + ".png"), 190, 12, null);
+				g1.drawImage(IO.getSharedResourceAsImage("shoukan/icons/tier_" + tier + ".png"), 190, 12, null);
 
 				g1.setFont(FONT);
 				g1.setColor(deck.getFrame().getPrimaryColor());
@@ -737,7 +746,7 @@ public class Evogear extends DAO<Evogear> implements EffectHolder<Evogear> {
 							if (icons.size() == 1) {
 								g.drawImage(icons.getFirst(), 0, 0, null);
 							} else {
-								BufferedImage mask = IO.getResourceAsImage("shoukan/charm/mask.png");
+								BufferedImage mask = IO.getSharedResourceAsImage("shoukan/charm/mask.png");
 								assert mask != null;
 
 								for (int i = 0; i < icons.size(); i++) {
@@ -745,7 +754,7 @@ public class Evogear extends DAO<Evogear> implements EffectHolder<Evogear> {
 									Graph.applyMask(icon, mask, i, true);
 									g.drawImage(icon, 0, 0, null);
 								}
-								g.drawImage(IO.getResourceAsImage("shoukan/charm/div.png"), 0, 0, null);
+								g.drawImage(IO.getSharedResourceAsImage("shoukan/charm/div.png"), 0, 0, null);
 							}
 						});
 					}
@@ -761,17 +770,17 @@ public class Evogear extends DAO<Evogear> implements EffectHolder<Evogear> {
 					String path = "shoukan/frames/state/" + (legacy ? "old" : "new");
 
 					if (hasFlag(Flag.EMPOWERED)) {
-						BufferedImage ovr = IO.getResourceAsImage(path + "/empowered.png");
+						BufferedImage ovr = IO.getSharedResourceAsImage(path + "/empowered.png");
 						g2d.drawImage(ovr, 0, 0, null);
 					}
 
 					if (isEthereal()) {
-						BufferedImage ovr = IO.getResourceAsImage(path + "/ethereal.png");
+						BufferedImage ovr = IO.getSharedResourceAsImage(path + "/ethereal.png");
 						g2d.drawImage(ovr, 0, 0, null);
 					}
 
 					if (isManipulated()) {
-						BufferedImage ovr = IO.getResourceAsImage("shoukan/states/locked.png");
+						BufferedImage ovr = IO.getSharedResourceAsImage("shoukan/states/locked.png");
 						g2d.drawImage(ovr, 15, 15, null);
 					}
 				}
@@ -797,6 +806,16 @@ public class Evogear extends DAO<Evogear> implements EffectHolder<Evogear> {
 		return out;
 	}
 
+	@Override
+	public void afterSave() {
+		Main.getWeightManager().invalidate();
+	}
+
+	@Override
+	public void afterDelete() {
+		Main.getWeightManager().invalidate();
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -837,10 +856,7 @@ public class Evogear extends DAO<Evogear> implements EffectHolder<Evogear> {
 	}
 
 	public static Evogear getRandom(RandomGenerator rng) {
-		List<String> ids = DAO.queryAllNative(String.class, "SELECT card_id FROM evogear WHERE tier > 0 ORDER BY card_id");
-		if (ids.isEmpty()) return null;
-
-		return DAO.find(Evogear.class, Utils.getRandomEntry(rng, ids));
+		return Main.getCatalogManager().getRandomEvogear(rng);
 	}
 
 	public static Evogear getRandom(RandomGenerator rng, String... filters) {
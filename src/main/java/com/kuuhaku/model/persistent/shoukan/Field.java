@@ -49,6 +49,7 @@ import org.hibernate.type.SqlTypes;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.awt.image.RescaleOp;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -265,6 +266,11 @@ public class Field extends DAO<Field> implements Drawable<Field> {
 		state = 0b1;
 	}
 
+	@Override
+	public List<Object> renderKey(I18N locale, Deck deck) {
+		return Arrays.asList(Drawable.super.renderKey(locale, deck), type, getModifiers().toString());
+	}
+
 	@Override
 	public BufferedImage render(I18N locale, Deck deck) {
 		if (hand == null) {
@@ -285,7 +291,7 @@ public class Field extends DAO<Field> implements Drawable<Field> {
 					op.filter(out, out);
 				}
 			} else {
-				BufferedImage img = getVanity().drawCardNoBorder(Utils.getOr(() -> stashRef.isChrome(), false));
+				BufferedImage img = getVanity().getArt(Utils.getOr(() -> stashRef.isChrome(), false));
 
 				g1.setClip(deck.getFrame().getBoundary());
 				g1.drawImage(img, 0, 0, null);
@@ -338,12 +344,12 @@ public class Field extends DAO<Field> implements Drawable<Field> {
 					String path = "shoukan/frames/state/" + (legacy ? "old" : "new");
 
 					if (isEthereal()) {
-						BufferedImage ovr = IO.getResourceAsImage(path + "/ethereal.png");
+						BufferedImage ovr = IO.getSharedResourceAsImage(path + "/ethereal.png");
 						g2d.drawImage(ovr, 0, 0, null);
 					}
 
 					if (isManipulated()) {
-						BufferedImage ovr = IO.getResourceAsImage("shoukan/states/locked.png");
+						BufferedImage ovr = IO.getSharedResourceAsImage("shoukan/states/locked.png");
 						g2d.drawImage(ovr, 15, 15, null);
 					}
 				}
@@ -356,9 +362,7 @@ public class Field extends DAO<Field> implements Drawable<Field> {
 	}
 
 	public BufferedImage renderBackground() {
-		byte[] bytes = Main.getCacheManager().computeResource("field-" + id, (k, v) -> {
-			if (v != null && v.length > 0) return v;
-
+		return Main.getCacheManager().computeImage("field-" + id, k -> {
 			BufferedImage bi = IO.getResourceAsImage("shoukan/arenas/" + id + ".jpg");
 			if (bi == null) {
 				bi = IO.getResourceAsImage("shoukan/arenas/DEFAULT.jpg");
@@ -367,18 +371,26 @@ public class Field extends DAO<Field> implements Drawable<Field> {
 			Graphics2D g2d = bi.createGraphics();
 			g2d.setRenderingHints(Constants.SD_HINTS);
 
-			BufferedImage aux = IO.getImage(Shoukan.SKIN_PATH + "middle.png");
+			BufferedImage aux = IO.getSharedImage(Shoukan.SKIN_PATH + "middle.png");
 			g2d.drawImage(aux, bi.getWidth() / 2 - aux.getWidth() / 2, bi.getHeight() / 2 - aux.getHeight() / 2, null);
 
-			aux = IO.getResourceAsImage("shoukan/overlay/middle.png");
+			aux = IO.getSharedResourceAsImage("shoukan/overlay/middle.png");
 			g2d.drawImage(aux, bi.getWidth() / 2 - aux.getWidth() / 2, bi.getHeight() / 2 - aux.getHeight() / 2, null);
 
 			g2d.dispose();
 
-			return IO.getBytes(bi);
+			return bi;
 		});
+	}
+
+	@Override
+	public void afterSave() {
+		Main.getWeightManager().invalidate();
+	}
 
-		return IO.imageFromBytes(bytes);
+	@Override
+	public void afterDelete() {
+		Main.getWeightManager().invalidate();
 	}
 
 	@Override
@@ -412,10 +424,7 @@ public class Field extends DAO<Field> implements Drawable<Field> {
 	}
 
 	public static Field getRandom(RandomGenerator rng) {
-		List<String> ids = DAO.queryAllNative(String.class, "SELECT card_id FROM field WHERE NOT effect ORDER BY card_id");
-		if (ids.isEmpty()) return null;
-
-		return DAO.find(Field.class, Utils.getRandomEntry(rng, ids));
+		return Main.getCatalogManager().getRandomField(rng);
 	}
 
 	public static Field getRandom(RandomGenerator rng, String... filters) {
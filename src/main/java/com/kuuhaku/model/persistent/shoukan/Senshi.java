@@ -19,6 +19,7 @@
 package com.kuuhaku.model.persistent.shoukan;
 
 import com.kuuhaku.Constants;
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.exceptions.ActivationException;
 import com.kuuhaku.exceptions.SelectionException;
@@ -1531,6 +1532,19 @@ public class Senshi extends DAO<Senshi> implements EffectHolder<Senshi> {
 		state = (state & 0b1000) | 0b1;
 	}
 
+	@Override
+	public List<Object> renderKey(I18N locale, Deck deck) {
+		Senshi disguise = stats.getDisguise();
+
+		return Arrays.asList(
+				EffectHolder.super.renderKey(locale, deck),
+				disguise == null ? null : disguise.renderKey(locale, deck),
+				hueOffset, stats.getWrite(), isSealed(), isSupporting(), isDefending(), isBlinded(),
+				hasFlag(Flag.HIDE_STATS), hasFlag(Flag.EMPOWERED), getFieldMult(),
+				getRemainingStasis(), getRemainingStun(), getRemainingSleep(), getRemainingBerserk(), getRemainingTaunt()
+		);
+	}
+
 	@Override
 	public BufferedImage render(I18N locale, Deck deck) {
 		if (hand == null) {
@@ -1556,10 +1570,9 @@ public class Senshi extends DAO<Senshi> implements EffectHolder<Senshi> {
 
 				BufferedImage img;
 				if (hueOffset != 0) {
-					img = card.getVanity().drawCardNoBorder();
-					Graph.forEachPixel(img, (x, y, rgb) -> Graph.rotate(rgb, hueOffset));
+					img = card.getVanity().getArt(false, hueOffset);
 				} else {
-					img = card.getVanity().drawCardNoBorder(Utils.getOr(() -> stashRef.isChrome(), false));
+					img = card.getVanity().getArt(Utils.getOr(() -> stashRef.isChrome(), false));
 				}
 
 				g1.setClip(deck.getFrame().getBoundary());
@@ -1611,26 +1624,26 @@ public class Senshi extends DAO<Senshi> implements EffectHolder<Senshi> {
 					if (mult != 1) {
 						BufferedImage indicator = null;
 						if (mult > 1) {
-							indicator = IO.getResourceAsImage(path + "/buffed.png");
+							indicator = IO.getSharedResourceAsImage(path + "/buffed.png");
 						} else if (mult < 1) {
-							indicator = IO.getResourceAsImage(path + "/nerfed.png");
+							indicator = IO.getSharedResourceAsImage(path + "/nerfed.png");
 						}
 
 						g2d.drawImage(indicator, 0, 0, null);
 					}
 
 					if (hasFlag(Flag.EMPOWERED)) {
-						BufferedImage ovr = IO.getResourceAsImage(path + "/empowered.png");
+						BufferedImage ovr = IO.getSharedResourceAsImage(path + "/empowered.png");
 						g2d.drawImage(ovr, 0, 0, null);
 					}
 
 					if (isEthereal()) {
-						BufferedImage ovr = IO.getResourceAsImage(path + "/ethereal.png");
+						BufferedImage ovr = IO.getSharedResourceAsImage(path + "/ethereal.png");
 						g2d.drawImage(ovr, 0, 0, null);
 					}
 
 					if (isManipulated()) {
-						BufferedImage ovr = IO.getResourceAsImage("shoukan/states/locked.png");
+						BufferedImage ovr = IO.getSharedResourceAsImage("shoukan/states/locked.png");
 						g2d.drawImage(ovr, 15, 15, null);
 					}
 				}
@@ -1650,7 +1663,7 @@ public class Senshi extends DAO<Senshi> implements EffectHolder<Senshi> {
 
 				if (time > 0) {
 					over = true;
-					BufferedImage overlay = IO.getResourceAsImage("shoukan/states/" + states[i] + ".png");
+					BufferedImage overlay = IO.getSharedResourceAsImage("shoukan/states/" + states[i] + ".png");
 					g1.drawImage(overlay, 0, 0, null);
 
 					String str = locale.get("str/turns", time);
@@ -1668,7 +1681,7 @@ public class Senshi extends DAO<Senshi> implements EffectHolder<Senshi> {
 			}
 
 			if (!over && !isFlipped() && isDefending()) {
-				g1.drawImage(IO.getResourceAsImage("shoukan/states/defense.png"), 0, 0, null);
+				g1.drawImage(IO.getSharedResourceAsImage("shoukan/states/defense.png"), 0, 0, null);
 			}
 		});
 
@@ -1717,10 +1730,7 @@ public class Senshi extends DAO<Senshi> implements EffectHolder<Senshi> {
 	}
 
 	public static Senshi getRandom(RandomGenerator rng) {
-		List<String> ids = DAO.queryAllNative(String.class, "SELECT card_id FROM senshi WHERE NOT has(tags, 'FUSION') ORDER BY card_id");
-		if (ids.isEmpty()) return null;
-
-		return DAO.find(Senshi.class, Utils.getRandomEntry(rng, ids));
+		return Main.getCatalogManager().getRandomSenshi(rng);
 	}
 
 	public static Senshi getRandom(RandomGenerator rng, String... filters) {
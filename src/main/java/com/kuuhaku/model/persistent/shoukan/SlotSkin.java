@@ -19,6 +19,7 @@
 package com.kuuhaku.model.persistent.shoukan;
 
 import com.kuuhaku.Constants;
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.game.Shoukan;
 import com.kuuhaku.model.enums.Currency;
@@ -92,21 +93,24 @@ public class SlotSkin extends DAO<SlotSkin> {
 
 	public BufferedImage getImage(Side side, boolean legacy) {
 		String s = side.name().toLowerCase();
-		BufferedImage overlay = IO.getResourceAsImage("shoukan/overlay/" + s + (legacy ? "_legacy" : "") + ".png");
 
-		BufferedImage bi = new BufferedImage(overlay.getWidth(), overlay.getHeight(), BufferedImage.TYPE_INT_ARGB);
-		Graphics2D g2d = bi.createGraphics();
-		g2d.setRenderingHints(Constants.SD_HINTS);
+		return Main.getCacheManager().computeImage("skin_" + id + "_" + s + (legacy ? "_legacy" : ""), k -> {
+			BufferedImage overlay = IO.getSharedResourceAsImage("shoukan/overlay/" + s + (legacy ? "_legacy" : "") + ".png");
 
-		BufferedImage theme = IO.getImage(Shoukan.SKIN_PATH + id.toLowerCase() + "_" + s + ".png");
-		Graph.applyMask(theme, IO.getResourceAsImage("shoukan/mask/slot_" + s + (legacy ? "_legacy" : "") + "_mask.png"), 0);
+			BufferedImage bi = new BufferedImage(overlay.getWidth(), overlay.getHeight(), BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g2d = bi.createGraphics();
+			g2d.setRenderingHints(Constants.SD_HINTS);
 
-		g2d.drawImage(theme, 5, 5, null);
-		g2d.drawImage(overlay, 0, 0, null);
+			BufferedImage theme = IO.getImage(Shoukan.SKIN_PATH + id.toLowerCase() + "_" + s + ".png");
+			Graph.applyMask(theme, IO.getSharedResourceAsImage("shoukan/mask/slot_" + s + (legacy ? "_legacy" : "") + "_mask.png"), 0);
 
-		g2d.dispose();
+			g2d.drawImage(theme, 5, 5, null);
+			g2d.drawImage(overlay, 0, 0, null);
 
-		return bi;
+			g2d.dispose();
+
+			return bi;
+		});
 	}
 
 	public List<Title> getTitles() {
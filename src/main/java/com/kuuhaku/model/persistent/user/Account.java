@@ -46,6 +46,7 @@ import org.hibernate.annotations.Fetch;
 import org.hibernate.annotations.FetchMode;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
+import org.intellij.lang.annotations.Language;
 
 import java.awt.*;
 import java.time.DayOfWeek;
@@ -65,6 +66,12 @@ import static jakarta.persistence.CascadeType.ALL;
 @Entity
 @Table(name = "account", indexes = @Index(columnList = "balance DESC"))
 public class Account extends DAO<Account> implements AutoMake<Account>, Blacklistable {
+	@Language("PostgreSQL")
+	private static final String INSERT_TRANSACTION = """
+			INSERT INTO transaction (account_uid, date, input, reason, value, currency) 
+			VALUES (?1, current_timestamp AT TIME ZONE 'BRT', ?2, ?3, ?4, ?5)
+			""";
+
 	@Id
 	@Column(name = "uid", nullable = false)
 	private String uid;
@@ -210,32 +217,53 @@ public class Account extends DAO<Account> implements AutoMake<Account>, Blacklis
 		if (value <= 0) return;
 
 		apply(getClass(), uid, a -> {
-			long liquid = value;
-			if (a.getDebit() > 0) {
-				long deducted = Math.min(liquid, a.getDebit());
-				a.setDebit(a.getDebit() - deducted);
-				liquid -= deducted;
-			}
-
-			a.setBalance(a.getBalance() + liquid);
+			a.credit(value);
 			a.addTransaction(value, true, reason, Currency.CR);
 		});
 	}
 
+	public void addCR(EntityManager em, long value, String reason) {
+		if (value <= 0) return;
+
+		credit(value);
+		addTransaction(em, value, true, reason, Currency.CR);
+	}
+
 	public void consumeCR(long value, String reason) {
 		if (value <= 0) return;
 
 		apply(getClass(), uid, a -> {
-			a.setBalance(a.getBalance() - value);
-			if (a.getBalance() < 0) {
-				a.setDebit(-a.getBalance() + a.getDebit());
-				a.setBalance(0);
-			}
-
+			a.debit(value);
 			a.addTransaction(value, false, reason, Currency.CR);
 		});
 	}
 
+	public void consumeCR(EntityManager em, long value, String reason) {
+		if (value <= 0) return;
+
+		debit(value);
+		addTransaction(em, value, false, reason, Currency.CR);
+	}
+
+	private void credit(long value) {
+		long liquid = value;
+		if (debit > 0) {
+			long deducted = Math.min(liquid, debit);
+			debit -= deducted;
+			liquid -= deducted;
+		}
+
+		balance += liquid;
+	}
+
+	private void debit(long value) {
+		balance -= value;
+		if (balance < 0) {
+			debit += -balance;
+			balance = 0;
+		}
+	}
+
 	public void transfer(long value, String uid) {
 		if (value <= 0) return;
 
@@ -354,10 +382,17 @@ public class Account extends DAO<Account> implements AutoMake<Account>, Blacklis
 	}
 
 	public void addTransaction(long value, boolean input, String reason, Currency currency) {
-		DAO.applyNative(Transaction.class, """
-				INSERT INTO transaction (account_uid, date, input, reason, value, currency) 
-				VALUES (?1, current_timestamp AT TIME ZONE 'BRT', ?2, ?3, ?4, ?5)
-				""", uid, input, reason, value, currency.name());
+		DAO.applyNative(Transaction.class, INSERT_TRANSACTION, uid, input, reason, value, currency.name());
+	}
+
+	public void addTransaction(EntityManager em, long value, boolean input, String reason, Currency currency) {
+		em.createNativeQuery(INSERT_TRANSACTION)
+				.setParameter(1, uid)
+				.setParameter(2, input)
+				.setParameter(3, reason)
+				.setParameter(4, value)
+				.setParameter(5, currency.name())
+				.executeUpdate();
 	}
 
 	public DynamicProperty getDynamicProperty(String id) {
@@ -387,24 +422,19 @@ public class Account extends DAO<Account> implements AutoMake<Account>, Blacklis
 		return titles;
 	}
 
-	public synchronized Title checkTitles(I18N locale) {
-		List<Title> titles = DAO.queryAll(Title.class, """
-				SELECT t
-				FROM Title t
-				LEFT JOIN AccountTitle at ON at.title.id = t.id AND at.account.uid = ?1
-				WHERE at IS NULL
-				AND COALESCE(t.condition, '') <> ''
-				""", uid
-		);
+	public synchronized List<Title> checkTitles(I18N locale, Collection<String> candidates) {
+		List<Title> out = new ArrayList<>();
+		for (String id : candidates) {
+			if (hasTitle(id)) continue;
 
-		for (Title title : titles) {
-			if (title.check(this, locale)) {
+			Title title = DAO.find(Title.class, id);
+			if (title != null && title.check(this, locale)) {
 				this.titles.add(new AccountTitle(this, title));
-				return title;
+				out.add(title);
 			}
 		}
 
-		return null;
+		return out;
 	}
 
 	public boolean hasTitle(String title) {
@@ -638,15 +668,7 @@ public class Account extends DAO<Account> implements AutoMake<Account>, Blacklis
 	}
 
 	public int getRanking() {
-		return DAO.queryNative(Integer.class, """
-				SELECT x.rank
-				FROM (
-				     SELECT p.uid
-				          , rank() OVER (ORDER BY p.xp DESC)
-				     FROM profile p
-				     ) x
-				WHERE x.uid = ?1
-				""", uid);
+		return Main.getLeaderboardManager().getGlobalRank(uid);
 	}
 
 	public int getHighestLevel() {
@@ -672,6 +694,18 @@ public class Account extends DAO<Account> implements AutoMake<Account>, Blacklis
 		return locale.get("currency/cr", balance) + " | " + locale.get("currency/gem", gems);
 	}
 
+	@Override
+	public void afterSave() {
+		Main.getCacheManager().getAccountCache().invalidate(uid);
+		Main.getLeaderboardManager().updateAccount(uid, balance, gems, getItemCount("SPOOKY_CANDY"), settings == null || settings.isPrivate());
+	}
+
+	@Override
+	public void afterDelete() {
+		Main.getCacheManager().getAccountCache().invalidate(uid);
+		Main.getLeaderboardManager().removeAccount(uid);
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
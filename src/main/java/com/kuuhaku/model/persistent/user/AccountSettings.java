@@ -18,6 +18,7 @@
 
 package com.kuuhaku.model.persistent.user;
 
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.model.enums.ProfileEffect;
 import com.kuuhaku.model.persistent.converter.ColorConverter;
@@ -159,4 +160,15 @@ public class AccountSettings extends DAO<AccountSettings> {
 	public void setPrivate(boolean privt) {
 		this.privt = privt;
 	}
+
+	@Override
+	public void afterSave() {
+		Main.getCacheManager().getAccountCache().invalidate(uid);
+		Main.getLeaderboardManager().setHidden(uid, privt);
+	}
+
+	@Override
+	public void afterDelete() {
+		Main.getCacheManager().getAccountCache().invalidate(uid);
+	}
 }
@@ -18,6 +18,7 @@
 
 package com.kuuhaku.model.persistent.user;
 
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.model.records.id.DynamicPropertyId;
 import jakarta.persistence.*;
@@ -80,6 +81,13 @@ public class DynamicProperty extends DAO<DynamicProperty> {
 				ON CONFLICT (id, uid) DO UPDATE
 				SET value = ?3
 				""", key, uid, value);
+
+		Main.getTitleManager().notify(uid, key);
+	}
+
+	@Override
+	public void afterSave() {
+		Main.getTitleManager().notify(id.uid(), id.id());
 	}
 
 	@Override
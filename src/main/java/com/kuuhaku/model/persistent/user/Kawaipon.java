@@ -18,6 +18,7 @@
 
 package com.kuuhaku.model.persistent.user;
 
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.interfaces.AutoMake;
 import com.kuuhaku.model.enums.Rarity;
@@ -303,6 +304,16 @@ public class Kawaipon extends DAO<Kawaipon> implements AutoMake<Kawaipon> {
 		favExpiration = ZonedDateTime.now(ZoneId.of("GMT-3")).plusDays(3);
 	}
 
+	@Override
+	public void afterSave() {
+		Main.getWeightManager().invalidateFavorite(uid);
+	}
+
+	@Override
+	public void afterDelete() {
+		Main.getWeightManager().invalidateFavorite(uid);
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
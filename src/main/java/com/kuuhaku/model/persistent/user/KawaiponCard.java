@@ -19,20 +19,18 @@
 package com.kuuhaku.model.persistent.user;
 
 import com.kuuhaku.Constants;
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.model.enums.Quality;
 import com.kuuhaku.model.persistent.shiro.Card;
+import com.kuuhaku.util.Graph;
 import com.kuuhaku.util.Utils;
 import jakarta.persistence.*;
-import okio.Buffer;
 import org.hibernate.annotations.Fetch;
 import org.hibernate.annotations.FetchMode;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -138,24 +136,29 @@ public class KawaiponCard extends DAO<KawaiponCard> {
 		Quality q = Quality.get(getQuality());
 
 		if (q.ordinal() > 0) {
-			try {
-				try (Buffer buf = new Buffer(); InputStream is = buf.inputStream()) {
-					buf.write(q.getOverlayBytes());
-					BufferedImage img = ImageIO.read(is);
-
-					Graphics2D g2d = bi.createGraphics();
-					g2d.setRenderingHints(Constants.HD_HINTS);
-
-					if (isChrome()) {
-						card.chrome(img, true);
+			BufferedImage img;
+			if (isChrome()) {
+				img = Main.getCacheManager().computeImage("quality_" + q.name() + "/chrome", k -> {
+					BufferedImage ovr = Graph.copy(q.getOverlay());
+					if (ovr != null) {
+						card.chrome(ovr, true);
 					}
 
-					g2d.drawImage(img, 0, 0, null);
-					g2d.dispose();
-				}
-			} catch (IOException e) {
-				throw new RuntimeException("Error when generating card", e);
+					return ovr;
+				});
+			} else {
+				img = q.getOverlay();
+			}
+
+			if (img == null) {
+				throw new RuntimeException("Error when generating card");
 			}
+
+			Graphics2D g2d = bi.createGraphics();
+			g2d.setRenderingHints(Constants.HD_HINTS);
+
+			g2d.drawImage(img, 0, 0, null);
+			g2d.dispose();
 		}
 
 		return bi;
@@ -166,6 +169,10 @@ public class KawaiponCard extends DAO<KawaiponCard> {
 		if (details != null) {
 			details.save();
 		}
+
+		if (kawaipon != null) {
+			Main.getWeightManager().invalidateFavorite(kawaipon.getUid());
+		}
 	}
 
 	@Override
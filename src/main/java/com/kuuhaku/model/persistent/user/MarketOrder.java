@@ -18,7 +18,9 @@
 
 package com.kuuhaku.model.persistent.user;
 
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
+import com.kuuhaku.manager.MarketManager;
 import com.kuuhaku.model.persistent.shiro.Card;
 import jakarta.persistence.*;
 import org.hibernate.annotations.Fetch;
@@ -73,15 +75,28 @@ public class MarketOrder extends DAO<MarketOrder> {
 	}
 
 	public StashedCard search() {
-		return DAO.query(StashedCard.class, """
-				SELECT sc
-				FROM StashedCard sc
-				WHERE sc.card = ?2
-				  AND sc.kawaipon.uid <> ?1
-				  AND sc.price IS NOT NULL
-				  AND sc.price BETWEEN 1 AND ?3
-				ORDER BY sc.price
-				""", kawaipon.getUid(), card, buyout);
+		MarketManager book = Main.getMarketManager();
+		while (true) {
+			int offer = book.findOffer(card.getId(), kawaipon.getUid(), buyout);
+			if (offer == -1) return null;
+
+			StashedCard sc = DAO.query(StashedCard.class, "SELECT sc FROM StashedCard sc WHERE sc.price > 0 AND sc.id = ?1", offer);
+			if (sc != null) return sc;
+
+			book.remove(offer);
+		}
+	}
+
+	@Override
+	public void afterSave() {
+		if (id == 0) return;
+
+		Main.getMarketManager().update(this);
+	}
+
+	@Override
+	public void afterDelete() {
+		Main.getMarketManager().removeOrder(id);
 	}
 
 	@Override
@@ -98,13 +113,15 @@ public class MarketOrder extends DAO<MarketOrder> {
 	}
 
 	public static MarketOrder search(StashedCard sc) {
-		return DAO.query(MarketOrder.class, """
-				SELECT mo
-				FROM MarketOrder mo
-				WHERE mo.card = ?2
-				  AND mo.kawaipon.uid <> ?1
-				  AND mo.buyout >= ?3
-				ORDER BY mo.buyout DESC
-				""", sc.getKawaipon().getUid(), sc.getCard(), sc.getPrice());
+		MarketManager book = Main.getMarketManager();
+		while (true) {
+			int order = book.findOrder(sc.getCard().getId(), sc.getKawaipon().getUid(), sc.getPrice());
+			if (order == -1) return null;
+
+			MarketOrder mo = DAO.find(MarketOrder.class, order);
+			if (mo != null) return mo;
+
+			book.removeOrder(order);
+		}
 	}
 }
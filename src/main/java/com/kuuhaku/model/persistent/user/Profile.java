@@ -252,16 +252,7 @@ public class Profile extends DAO<Profile> implements AutoMake<Profile>, Blacklis
 	}
 
 	public int getRanking() {
-		return DAO.queryNative(Integer.class, """
-				SELECT x.rank
-				FROM (
-				     SELECT p.uid
-				          , rank() OVER (ORDER BY p.xp DESC)
-				     FROM profile p
-				     WHERE p.gid = ?2
-				     ) x
-				WHERE x.uid = ?1
-				""", id.uid(), id.gid());
+		return Main.getLeaderboardManager().getGuildRank(id.uid(), id.gid());
 	}
 
 	public RichCustomEmoji getLevelEmote() {
@@ -272,7 +263,7 @@ public class Profile extends DAO<Profile> implements AutoMake<Profile>, Blacklis
 	}
 
 	public BufferedImage render(I18N locale) {
-		BufferedImage mask = IO.getResourceAsImage("assets/masks/profile_mask.png");
+		BufferedImage mask = IO.getSharedResourceAsImage("assets/masks/profile_mask.png");
 		BufferedImage overlay = IO.getResourceAsImage("assets/profile_overlay.png");
 
 		AccountSettings settings = account.getSettings();
@@ -292,12 +283,12 @@ public class Profile extends DAO<Profile> implements AutoMake<Profile>, Blacklis
 		if (g != null) {
 			Member m = g.getMemberById(id.uid());
 			if (m != null) {
-				avatar = IO.getImage(m.getEffectiveAvatar().getUrl(256));
+				avatar = IO.getSharedImage(m.getEffectiveAvatar().getUrl(256));
 			}
 		}
 
 		if (avatar == null) {
-			avatar = IO.getImage(account.getUser().getEffectiveAvatar().getUrl(256));
+			avatar = IO.getSharedImage(account.getUser().getEffectiveAvatar().getUrl(256));
 		}
 
 		g2d.drawImage(avatar, -23, 56, 150, 150, null);
@@ -424,7 +415,7 @@ public class Profile extends DAO<Profile> implements AutoMake<Profile>, Blacklis
 		Graph.applyMask(overlay, mask, 1);
 		g2d.drawImage(overlay, 0, 0, null);
 
-		BufferedImage emote = IO.getImage(getLevelEmote().getImageUrl());
+		BufferedImage emote = IO.getSharedImage(getLevelEmote().getImageUrl());
 		g2d.drawImage(emote, 6, -3, 81, 81, null);
 
 		g2d.setColor(Color.GRAY);
@@ -484,6 +475,16 @@ public class Profile extends DAO<Profile> implements AutoMake<Profile>, Blacklis
 		xp += queued.getFirst();
 	}
 
+	@Override
+	public void afterSave() {
+		Main.getLeaderboardManager().updateProfile(id.uid(), id.gid(), xp);
+	}
+
+	@Override
+	public void afterDelete() {
+		Main.getLeaderboardManager().removeProfile(id.uid(), id.gid());
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -18,6 +18,7 @@
 
 package com.kuuhaku.model.persistent.user;
 
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.interfaces.shoukan.Drawable;
 import com.kuuhaku.model.common.Market;
@@ -202,6 +203,7 @@ public class StashedCard extends DAO<StashedCard> {
 
 	@Override
 	public void afterSave() {
+		Main.getMarketManager().update(this);
 		if (price > 0) {
 			MarketOrder mo = MarketOrder.search(this);
 			if (mo != null) {
@@ -213,6 +215,15 @@ public class StashedCard extends DAO<StashedCard> {
 		if (details != null) {
 			details.save();
 		}
+
+		if (kawaipon != null) {
+			Main.getWeightManager().invalidateFavorite(kawaipon.getUid());
+		}
+	}
+
+	@Override
+	public void afterDelete() {
+		Main.getMarketManager().remove(id);
 	}
 
 	@Override
@@ -19,6 +19,7 @@
 package com.kuuhaku.model.persistent.user;
 
 import com.kuuhaku.Constants;
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.model.enums.I18N;
 import com.kuuhaku.model.enums.Rarity;
@@ -32,6 +33,8 @@ import org.hibernate.annotations.FetchMode;
 import org.intellij.lang.annotations.Language;
 
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static jakarta.persistence.CascadeType.ALL;
 
@@ -40,6 +43,9 @@ import static jakarta.persistence.CascadeType.ALL;
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "title")
 public class Title extends DAO<Title> {
+	private static final Pattern DEPENDENCY = Pattern.compile("\\bacc\\s*\\.\\s*(?:getDynamicProperty|getDynValue)\\(\\s*[\"']([\\w-]+)[\"']\\s*\\)");
+	private static final Pattern OTHER_STATE = Pattern.compile("\\bacc\\b|\\b[A-Z]\\w*\\s*\\.");
+
 	@Id
 	@Column(name = "id", nullable = false)
 	private String id;
@@ -100,6 +106,27 @@ public class Title extends DAO<Title> {
 		return Utils.getOr(acc.getDynamicProperty(tracker).getValue(), "N/A");
 	}
 
+	/**
+	 * Dynamic properties this title's condition reads, taken from the literal IDs passed to
+	 * {@code acc.getDynamicProperty}/{@code acc.getDynValue}. An empty set means the dependencies are unknown,
+	 * which is also the case when the condition reads anything else from the account or from static state.
+	 */
+	public Set<String> getDependencies() {
+		if (condition == null) return Set.of();
+
+		Set<String> out = new HashSet<>();
+		Matcher m = DEPENDENCY.matcher(condition);
+		while (m.find()) {
+			out.add(m.group(1));
+		}
+
+		if (OTHER_STATE.matcher(m.replaceAll("")).find()) {
+			return Set.of();
+		}
+
+		return out;
+	}
+
 	public boolean isUnlockable() {
 		return unlockable;
 	}
@@ -108,6 +135,16 @@ public class Title extends DAO<Title> {
 		return getInfo(locale).getName();
 	}
 
+	@Override
+	public void afterSave() {
+		Main.getTitleManager().invalidate();
+	}
+
+	@Override
+	public void afterDelete() {
+		Main.getTitleManager().invalidate();
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -23,6 +23,7 @@ import com.kuuhaku.exceptions.PassiveItemException;
 import com.kuuhaku.model.enums.Currency;
 import com.kuuhaku.model.enums.I18N;
 import com.kuuhaku.model.persistent.localized.LocalizedItem;
+import com.kuuhaku.util.SyntaxParser;
 import com.kuuhaku.util.Utils;
 import com.ygimenez.json.JSONObject;
 import jakarta.persistence.*;
@@ -143,6 +144,13 @@ public class UserItem extends DAO<UserItem> {
 				.findAny().orElseThrow();
 	}
 
+	@Override
+	public void beforeSave() {
+		if (syntax != null) {
+			SyntaxParser.validate(new String[]{syntax}, null);
+		}
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
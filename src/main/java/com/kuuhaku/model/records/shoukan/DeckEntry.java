@@ -18,22 +18,25 @@
 
 package com.kuuhaku.model.records.shoukan;
 
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.interfaces.shoukan.Drawable;
 import com.kuuhaku.model.enums.CardType;
-import com.kuuhaku.model.persistent.shoukan.Evogear;
-import com.kuuhaku.model.persistent.shoukan.Field;
-import com.kuuhaku.model.persistent.shoukan.Senshi;
 import com.kuuhaku.model.persistent.user.StashedCard;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public record DeckEntry(CardType type, String id, int stashId) {
 	public Drawable<?> card() {
-		Drawable<?> out = switch (type) {
-			case KAWAIPON, SENSHI -> DAO.find(Senshi.class, id);
-			case EVOGEAR -> DAO.find(Evogear.class, id);
-			case FIELD -> DAO.find(Field.class, id);
-		};
-		out.setStashRef(stashEntry());
+		return card(stashEntry());
+	}
+
+	public Drawable<?> card(StashedCard ref) {
+		Drawable<?> out = Main.getCatalogManager().getCard(type, id);
+		out.setStashRef(ref);
 
 		return out;
 	}
@@ -41,4 +44,24 @@ public record DeckEntry(CardType type, String id, int stashId) {
 	public StashedCard stashEntry() {
 		return DAO.find(StashedCard.class, stashId);
 	}
+
+	/**
+	 * Resolves a list of entries at once, fetching all of their stash rows in a single query.
+	 */
+	public static List<Drawable<?>> load(List<DeckEntry> entries) {
+		if (entries.isEmpty()) return List.of();
+
+		Map<Integer, StashedCard> refs = new HashMap<>();
+		List<Integer> ids = entries.stream().map(DeckEntry::stashId).toList();
+		for (StashedCard sc : DAO.queryAll(StashedCard.class, "SELECT sc FROM StashedCard sc WHERE sc.id IN ?1", ids)) {
+			refs.put(sc.getId(), sc);
+		}
+
+		List<Drawable<?>> out = new ArrayList<>(entries.size());
+		for (DeckEntry de : entries) {
+			out.add(de.card(refs.get(de.stashId())));
+		}
+
+		return out;
+	}
 }
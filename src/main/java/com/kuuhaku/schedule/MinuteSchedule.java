@@ -18,12 +18,17 @@
 
 package com.kuuhaku.schedule;
 
+import com.kuuhaku.Main;
 import com.kuuhaku.controller.DAO;
 import com.kuuhaku.interfaces.PreInitialize;
 import com.kuuhaku.interfaces.annotations.Schedule;
+import com.kuuhaku.manager.LeaderboardManager;
+import com.kuuhaku.model.persistent.guild.GuildConfig;
+import com.kuuhaku.model.persistent.user.Account;
 import com.kuuhaku.model.persistent.user.Profile;
 import com.kuuhaku.model.persistent.user.Transaction;
 import com.ygimenez.json.JSONArray;
+import com.ygimenez.json.JSONObject;
 import kotlin.Pair;
 
 import java.util.Iterator;
@@ -33,10 +38,13 @@ import java.util.concurrent.ConcurrentHashMap;
 @Schedule("* * * * *")
 public class MinuteSchedule implements Runnable, PreInitialize {
 	public static final Map<String, Pair<Integer, Long>> XP_TO_ADD = new ConcurrentHashMap<>();
+	public static final Map<String, String> GUILD_NAMES = new ConcurrentHashMap<>();
+	public static final Map<String, String> ACCOUNT_NAMES = new ConcurrentHashMap<>();
 
 	@Override
 	public void run() {
 		JSONArray ja = new JSONArray();
+		LeaderboardManager lb = Main.getLeaderboardManager();
 		Iterator<Map.Entry<String, Pair<Integer, Long>>> it = XP_TO_ADD.entrySet().iterator();
 		while (it.hasNext()) {
 			Map.Entry<String, Pair<Integer, Long>> e = it.next();
@@ -48,6 +56,7 @@ public class MinuteSchedule implements Runnable, PreInitialize {
 					"gid", keys[1],
 					"xp", e.getValue().getFirst()
 			));
+			lb.addXp(keys[0], keys[1], e.getValue().getFirst());
 
 			it.remove();
 		}
@@ -59,5 +68,41 @@ public class MinuteSchedule implements Runnable, PreInitialize {
 				WHERE uid = vals ->> 'uid'
 				  AND gid = vals ->> 'gid'
 				""", ja.toString());
+
+		if (!GUILD_NAMES.isEmpty()) {
+			JSONObject names = drain(GUILD_NAMES);
+			DAO.applyNative(GuildConfig.class, """
+					UPDATE guild_config
+					SET name = vals.value
+					FROM jsonb_each_text(cast(?1 AS JSONB)) AS vals
+					WHERE gid = vals.key
+					""", names.toString());
+
+			Main.getCacheManager().getGuildConfigCache().invalidateAll(names.keySet());
+		}
+
+		if (!ACCOUNT_NAMES.isEmpty()) {
+			JSONObject names = drain(ACCOUNT_NAMES);
+			DAO.applyNative(Account.class, """
+					UPDATE account
+					SET name = vals.value
+					FROM jsonb_each_text(cast(?1 AS JSONB)) AS vals
+					WHERE uid = vals.key
+					""", names.toString());
+
+			Main.getCacheManager().getAccountCache().invalidateAll(names.keySet());
+		}
+	}
+
+	private static JSONObject drain(Map<String, String> names) {
+		JSONObject jo = new JSONObject();
+		Iterator<Map.Entry<String, String>> it = names.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<String, String> e = it.next();
+			jo.put(e.getKey(), e.getValue());
+			it.remove();
+		}
+
+		return jo;
 	}
 }
@@ -0,0 +1,60 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.util;
+
+import com.kuuhaku.Constants;
+import org.reflections.Reflections;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Annotated classes listed at build time by the {@code generateClassIndex} task, so boot doesn't need to scan
+ * the classpath.
+ */
+public abstract class ClassIndex {
+	public static Set<Class<?>> load(String index, String pkg, Class<? extends Annotation> annotation) {
+		ClassLoader loader = ClassIndex.class.getClassLoader();
+
+		try (InputStream is = loader.getResourceAsStream("META-INF/index/" + index)) {
+			if (is == null) {
+				Constants.LOGGER.warn("Class index {} not found, scanning {} instead", index, pkg);
+				return Set.copyOf(new Reflections(pkg).getTypesAnnotatedWith(annotation));
+			}
+
+			Set<Class<?>> out = new HashSet<>();
+			for (String name : new String(is.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+				if (name.isBlank()) continue;
+
+				Class<?> klass = Class.forName(name.strip(), false, loader);
+				if (klass.isAnnotationPresent(annotation)) {
+					out.add(klass);
+				}
+			}
+
+			return Set.copyOf(out);
+		} catch (IOException | ClassNotFoundException e) {
+			throw new IllegalStateException("Failed to load class index " + index, e);
+		}
+	}
+}
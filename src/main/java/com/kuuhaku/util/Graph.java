@@ -22,9 +22,7 @@ import com.kuuhaku.Constants;
 import com.kuuhaku.exceptions.InvalidValueException;
 import com.kuuhaku.model.common.MultiProcessor;
 import com.trickl.palette.Palette;
-import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.function.TriFunction;
 import org.apache.logging.log4j.util.TriConsumer;
 import org.jdesktop.swingx.graphics.ColorUtilities;
 
@@ -32,17 +30,27 @@ import java.awt.*;
 import java.awt.font.TextLayout;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
 import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 
 public abstract class Graph {
+	private static final int BAND_SIZE = 1 << 14;
+
+	private interface IntBiConsumer {
+		void accept(int from, int to);
+	}
+
 	public static Rectangle getStringBounds(Graphics2D g2d, String text) {
 		return new TextLayout(text, g2d.getFont(), g2d.getFontRenderContext()).getBounds().getBounds();
 	}
@@ -308,26 +316,72 @@ public abstract class Graph {
 		return out;
 	}
 
-	public static void forEachPixel(BufferedImage bi, TriFunction<Integer, Integer, Integer, Integer> act) {
+	public static BufferedImage copy(BufferedImage in) {
+		if (in == null) return null;
+
+		int type = in.getType();
+		if (type == BufferedImage.TYPE_CUSTOM) {
+			return toColorSpace(in, BufferedImage.TYPE_INT_ARGB);
+		}
+
+		if (isPlainPacked(in) && in.getRaster().getDataBuffer() instanceof DataBufferInt src) {
+			BufferedImage out = new BufferedImage(in.getWidth(), in.getHeight(), type);
+			int[] dst = ((DataBufferInt) out.getRaster().getDataBuffer()).getData();
+			System.arraycopy(src.getData(), 0, dst, 0, dst.length);
+
+			return out;
+		}
+
+		return toColorSpace(in, type);
+	}
+
+	/**
+	 * Whether the image's pixels are exactly its data buffer, one int per pixel, row after row, with no offset.
+	 */
+	private static boolean isPlainPacked(BufferedImage bi) {
+		WritableRaster raster = bi.getRaster();
+		if (!(raster.getSampleModel() instanceof SinglePixelPackedSampleModel sm)) return false;
+		else if (raster.getSampleModelTranslateX() != 0 || raster.getSampleModelTranslateY() != 0) return false;
+
+		DataBuffer buf = raster.getDataBuffer();
+		return sm.getScanlineStride() == bi.getWidth()
+			   && buf.getNumBanks() == 1 && buf.getOffset() == 0
+			   && buf.getSize() == bi.getWidth() * bi.getHeight();
+	}
+
+	public static void forEachPixel(BufferedImage bi, IntUnaryOperator op) {
 		int width = bi.getWidth();
-		int[] pixels = bi.getRGB(0, 0, width, bi.getHeight(), null, 0, width);
-		List<Integer> indexes = IntStream.range(0, pixels.length)
-				.boxed()
-				.toList();
+		int height = bi.getHeight();
 
-		MultiProcessor.with(Executors.newVirtualThreadPerTaskExecutor(), ListUtils.partition(indexes, 8))
-				.process(idx -> {
-					for (Integer i : idx) {
-						int x = i % width;
-						int y = i / width;
+		int[] pixels;
+		boolean direct = (bi.getType() == BufferedImage.TYPE_INT_ARGB || bi.getType() == BufferedImage.TYPE_INT_RGB) && isPlainPacked(bi);
+		if (direct) {
+			pixels = ((DataBufferInt) bi.getRaster().getDataBuffer()).getData();
+		} else {
+			pixels = bi.getRGB(0, 0, width, height, null, 0, width);
+		}
 
-						pixels[i] = act.apply(x, y, pixels[i]);
-					}
+		forEachBand(width, height, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				pixels[i] = op.applyAsInt(pixels[i]);
+			}
+		});
 
-					return null;
-				});
+		if (!direct) {
+			bi.setRGB(0, 0, width, height, pixels, 0, width);
+		}
+	}
+
+	private static void forEachBand(int width, int height, IntBiConsumer act) {
+		int rows = Math.max(1, BAND_SIZE / Math.max(width, 1));
+		int bands = (height + rows - 1) / rows;
+		if (bands <= 1) {
+			act.accept(0, width * height);
+			return;
+		}
 
-		bi.setRGB(0, 0, width, bi.getHeight(), pixels, 0, width);
+		IntStream.range(0, bands).parallel()
+				.forEach(b -> act.accept(b * rows * width, Math.min(b * rows + rows, height) * width));
 	}
 
 	public static int[] unpackRGB(int rgb) {
@@ -354,25 +408,32 @@ public abstract class Graph {
 	public static void applyMask(BufferedImage source, BufferedImage mask, int channel, boolean hasAlpha) {
 		if (source == null) return;
 
-		BufferedImage newMask = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_ARGB);
-		Graphics2D g2d = newMask.createGraphics();
-		g2d.setRenderingHints(Constants.SD_HINTS);
+		int[] mskData;
+		if (mask != null && mask.getType() == BufferedImage.TYPE_INT_ARGB && mask.getWidth() == source.getWidth() && mask.getHeight() == source.getHeight() && isPlainPacked(mask)) {
+			mskData = ((DataBufferInt) mask.getRaster().getDataBuffer()).getData();
+		} else {
+			BufferedImage newMask = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g2d = newMask.createGraphics();
+			g2d.setRenderingHints(Constants.SD_HINTS);
 
-		g2d.drawImage(mask, 0, 0, null);
-		g2d.dispose();
+			g2d.drawImage(mask, 0, 0, null);
+			g2d.dispose();
+
+			mskData = ((DataBufferInt) newMask.getRaster().getDataBuffer()).getData();
+		}
 
 		int[] srcData = ((DataBufferInt) source.getRaster().getDataBuffer()).getData();
-		int[] mskData = ((DataBufferInt) newMask.getRaster().getDataBuffer()).getData();
-		for (int i = 0; i < srcData.length; i++) {
-			int fac;
-			if (hasAlpha) {
-				fac = Math.min((srcData[i] >> 24) & 0xFF, (mskData[i] >> (24 - 8 * (channel + 1))) & 0xFF);
-			} else {
-				fac = (mskData[i] >> (24 - 8 * (channel + 1))) & 0xFF;
-			}
+		int shift = 24 - 8 * (channel + 1);
+		forEachBand(source.getWidth(), source.getHeight(), (from, to) -> {
+			for (int i = from; i < to; i++) {
+				int fac = (mskData[i] >> shift) & 0xFF;
+				if (hasAlpha) {
+					fac = Math.min((srcData[i] >> 24) & 0xFF, fac);
+				}
 
-			srcData[i] = (srcData[i] & 0xFFFFFF) | (fac << 24);
-		}
+				srcData[i] = (srcData[i] & 0xFFFFFF) | (fac << 24);
+			}
+		});
 	}
 
 	public static void overlay(BufferedImage source, BufferedImage overlay) {
@@ -403,7 +464,7 @@ public abstract class Graph {
 	}
 
 	public static Color getColor(String url) {
-		BufferedImage icon = IO.getImage(url);
+		BufferedImage icon = IO.getSharedImage(url);
 
 		return getColor(icon);
 	}
@@ -500,12 +561,82 @@ public abstract class Graph {
 	}
 
 	public static int rotate(int color, int deg) {
-		int[] rgb = unpackRGB(color);
-
-		float[] hsv = Color.RGBtoHSB(rgb[1], rgb[2], rgb[3], null);
-		hsv[0] = ((hsv[0] * 360 + deg) % 360) / 360;
+		return rotateHue(color, deg) | 0xFF000000;
+	}
+
+	/**
+	 * Same as {@link #rotate(int, int)}, but keeps the alpha channel and doesn't allocate
+	 * intermediate arrays, making it suitable as a {@link #forEachPixel} kernel.
+	 */
+	public static int rotateHue(int argb, int deg) {
+		int r = (argb >> 16) & 0xFF;
+		int g = (argb >> 8) & 0xFF;
+		int b = argb & 0xFF;
+
+		int max = Math.max(r, Math.max(g, b));
+		int min = Math.min(r, Math.min(g, b));
+		if (max == min) return argb;
+
+		float bri = max / 255f;
+		float sat = (max - min) / (float) max;
+
+		float rc = (max - r) / (float) (max - min);
+		float gc = (max - g) / (float) (max - min);
+		float bc = (max - b) / (float) (max - min);
+
+		float hue;
+		if (r == max) hue = bc - gc;
+		else if (g == max) hue = 2 + rc - bc;
+		else hue = 4 + gc - rc;
+
+		hue /= 6;
+		if (hue < 0) hue += 1;
+		hue = ((hue * 360 + deg) % 360) / 360;
+
+		float h = (hue - (float) Math.floor(hue)) * 6;
+		float f = h - (float) Math.floor(h);
+		float p = bri * (1 - sat);
+		float q = bri * (1 - sat * f);
+		float t = bri * (1 - sat * (1 - f));
+
+		float nr, ng, nb;
+		switch ((int) h) {
+			case 0 -> {
+				nr = bri;
+				ng = t;
+				nb = p;
+			}
+			case 1 -> {
+				nr = q;
+				ng = bri;
+				nb = p;
+			}
+			case 2 -> {
+				nr = p;
+				ng = bri;
+				nb = t;
+			}
+			case 3 -> {
+				nr = p;
+				ng = q;
+				nb = bri;
+			}
+			case 4 -> {
+				nr = t;
+				ng = p;
+				nb = bri;
+			}
+			default -> {
+				nr = bri;
+				ng = p;
+				nb = q;
+			}
+		}
 
-		return Color.HSBtoRGB(hsv[0], hsv[1], hsv[2]);
+		return (argb & 0xFF000000)
+			   | (int) (nr * 255 + 0.5f) << 16
+			   | (int) (ng * 255 + 0.5f) << 8
+			   | (int) (nb * 255 + 0.5f);
 	}
 
 	public static String abbreviate(Graphics2D g2d, String text, int width) {
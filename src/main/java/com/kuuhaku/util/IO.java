@@ -58,18 +58,24 @@ public abstract class IO {
 	}
 
 	public static BufferedImage getResourceAsImage(String path) {
-		byte[] bytes = Main.getCacheManager().computeResource(path, (k, v) -> {
-			if (v != null && v.length > 0) return v;
+		return Graph.copy(getSharedResourceAsImage(path));
+	}
 
-			try (InputStream is = IO.class.getClassLoader().getResourceAsStream(path)) {
-				if (is == null) return new byte[0];
-				else return IOUtils.toByteArray(is);
-			} catch (IOException e) {
-				return new byte[0];
-			}
-		});
+	public static BufferedImage getSharedResourceAsImage(String path) {
+		return Main.getCacheManager().computeImage(path, k -> {
+			byte[] bytes = Main.getCacheManager().computeResource(path, (key, v) -> {
+				if (v != null && v.length > 0) return v;
 
-		return imageFromBytes(bytes);
+				try (InputStream is = IO.class.getClassLoader().getResourceAsStream(path)) {
+					if (is == null) return new byte[0];
+					else return IOUtils.toByteArray(is);
+				} catch (IOException e) {
+					return new byte[0];
+				}
+			});
+
+			return imageFromBytes(bytes);
+		});
 	}
 
 	public static File getResourceAsFile(String path) {
@@ -100,7 +106,11 @@ public abstract class IO {
 	}
 
 	public static BufferedImage getImage(String url) {
-		return imageFromBytes(getImageBytes(url));
+		return Graph.copy(getSharedImage(url));
+	}
+
+	public static BufferedImage getSharedImage(String url) {
+		return Main.getCacheManager().computeImage(url, k -> imageFromBytes(getImageBytes(url)));
 	}
 
 	public static byte[] getBytes(BufferedImage image) {
@@ -22,7 +22,7 @@ import java.awt.image.BufferedImage;
 
 public abstract class ImageFilters {
 	public static void grayscale(BufferedImage in) {
-		Graph.forEachPixel(in, (x, y, rgb) -> {
+		Graph.forEachPixel(in, rgb -> {
 			int luma = (int) (Calc.luminance(rgb) * 255);
 
 			return Graph.packRGB((rgb >> 24) & 0xFF, luma, luma, luma);
@@ -30,6 +30,6 @@ public abstract class ImageFilters {
 	}
 
 	public static void silhouette(BufferedImage in) {
-		Graph.forEachPixel(in, (x, y, rgb) -> rgb & 0xFF000000);
+		Graph.forEachPixel(in, rgb -> rgb & 0xFF000000);
 	}
 }
@@ -0,0 +1,111 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.util;
+
+import com.kuuhaku.Main;
+import com.kuuhaku.model.common.RandomList;
+
+import java.util.Arrays;
+
+/**
+ * Exact outcome probabilities for {@link RandomList} draws, including {@link Utils#luckyRoll} re-rolls.
+ */
+public abstract class Odds {
+	/**
+	 * Probability of drawing each entry once from a pool with the given weights.
+	 */
+	public static double[] of(String pool, double[] weights, double mult) {
+		return of(pool, weights, mult, 1, -1);
+	}
+
+	/**
+	 * Probability of each entry being the outcome of a lucky roll with {@code rolls} attempts, where the lowest
+	 * weight wins (ties keep the earliest roll) and the favorite entry (-1 for none) always wins once rolled.
+	 */
+	public static double[] of(String pool, double[] weights, double mult, int rolls, int favorite) {
+		String key = pool + "/" + Arrays.toString(weights) + "/" + mult + "/" + rolls + "/" + favorite;
+
+		return Main.getCacheManager().computeOdds(key, k -> compute(weights, mult, rolls, favorite)).clone();
+	}
+
+	public static double[] compute(double[] weights, double mult, int rolls, int favorite) {
+		int n = weights.length;
+		double[] out = new double[n];
+		if (n == 0) return out;
+
+		double[] prob = RandomList.skew(weights, mult);
+		double total = 0;
+		for (double p : prob) {
+			total += p;
+		}
+
+		for (int i = 0; i < n; i++) {
+			prob[i] /= total;
+		}
+
+		if (rolls <= 1) return prob;
+
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> Double.compare(weights[b], weights[a]));
+
+		double gt = 0;
+		for (int i = 0; i < n; ) {
+			int j = i;
+			double same = 0;
+			while (j < n && weights[order[j]] == weights[order[i]]) {
+				if (order[j] != favorite) {
+					same += prob[order[j]];
+				}
+				j++;
+			}
+
+			double ge = gt + same;
+			double chain = 0;
+			for (int r = 0; r < rolls; r++) {
+				chain += Math.pow(gt, r) * Math.pow(ge, rolls - 1 - r);
+			}
+
+			for (int k = i; k < j; k++) {
+				int idx = order[k];
+				if (idx != favorite) {
+					out[idx] = prob[idx] * chain;
+				}
+			}
+
+			gt = ge;
+			i = j;
+		}
+
+		if (favorite >= 0 && favorite < n) {
+			out[favorite] = 1 - Math.pow(1 - prob[favorite], rolls);
+		}
+
+		return out;
+	}
+
+	/**
+	 * Probability of an outcome with chance {@code p} showing up at least once in {@code draws} draws.
+	 */
+	public static double atLeastOnce(double p, int draws) {
+		return 1 - Math.pow(1 - p, draws);
+	}
+}
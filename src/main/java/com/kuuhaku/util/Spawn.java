@@ -18,14 +18,14 @@
 
 package com.kuuhaku.util;
 
-import com.kuuhaku.controller.DAO;
+import com.kuuhaku.Main;
+import com.kuuhaku.manager.WeightManager;
 import com.kuuhaku.model.common.FixedSizeDeque;
 import com.kuuhaku.model.common.RandomList;
 import com.kuuhaku.model.common.SingleUseReference;
 import com.kuuhaku.model.common.drop.*;
 import com.kuuhaku.model.enums.I18N;
 import com.kuuhaku.model.enums.Rarity;
-import com.kuuhaku.model.persistent.shiro.Anime;
 import com.kuuhaku.model.persistent.shiro.Card;
 import com.kuuhaku.model.persistent.user.KawaiponCard;
 import com.kuuhaku.model.records.GuildBuff;
@@ -37,7 +37,11 @@ import org.shredzone.commons.suncalc.MoonIllumination;
 
 import java.time.LocalDate;
 import java.util.Calendar;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 public abstract class Spawn {
@@ -48,13 +52,26 @@ public abstract class Spawn {
 			.variableExpiration()
 			.build();
 
-	private static Pair<Integer, MoonIllumination> illum = null;
+	private static volatile Pair<Integer, MoonIllumination> illum = null;
 
-	private static final FixedSizeDeque<Anime> lastAnimes = new FixedSizeDeque<>(3);
-	private static final FixedSizeDeque<Card> lastCards = new FixedSizeDeque<>(15);
+	private static final Set<String> rolling = ConcurrentHashMap.newKeySet();
 
-	public synchronized static KawaiponCard getKawaipon(I18N locale, GuildBuff gb, GuildMessageChannel channel, User u) {
+	private static final FixedSizeDeque<String> lastAnimes = new FixedSizeDeque<>(3);
+	private static final FixedSizeDeque<String> lastCards = new FixedSizeDeque<>(15);
+
+	public static KawaiponCard getKawaipon(I18N locale, GuildBuff gb, GuildMessageChannel channel, User u) {
 		if (u == null || spawnedCards.containsKey(channel.getId())) return null;
+		else if (!rolling.add(channel.getId())) return null;
+
+		try {
+			return rollKawaipon(gb, channel, u);
+		} finally {
+			rolling.remove(channel.getId());
+		}
+	}
+
+	private static KawaiponCard rollKawaipon(GuildBuff gb, GuildMessageChannel channel, User u) {
+		if (spawnedCards.containsKey(channel.getId())) return null;
 
 		double dropRate = 8 * (1.2 * Math.pow(Math.E, -0.001 * Math.min(channel.getGuild().getMemberCount(), 1000))) * (1 + gb.card()) * getQuantityMult();
 		double rarityBonus = 1 * (1 + gb.rarity()) * getRarityMult();
@@ -63,42 +80,36 @@ public abstract class Spawn {
 		if (Calc.chance(dropRate)) {
 			RandomList<Rarity> rarities = new RandomList<>(rarityBonus);
 			for (Rarity r : Rarity.getActualRarities()) {
-				rarities.add(r, DAO.queryNative(Integer.class, "SELECT get_weight('KAWAIPON', ?1)", r.getIndex()));
+				rarities.add(r, WeightManager.getWeight("KAWAIPON", r.getIndex()));
 			}
 
 			Rarity rarity = rarities.get();
-			List<Anime> animes = DAO.queryAll(Anime.class, """
-							SELECT c.anime
-							FROM Card c
-							WHERE c.anime.visible = TRUE
-							AND (?1 = 0 OR c.anime.id NOT IN ?2)
-							AND (?3 = 0 OR c.id NOT IN ?4)
-							AND c.rarity = ?5
-							""",
-					lastAnimes.size(), lastAnimes.stream().map(Anime::getId).toList(),
-					lastCards.size(), lastCards.stream().map(Card::getId).toList(),
-					rarity
-			);
-
-			Anime anime;
-			if (animes.isEmpty()) {
-				anime = lastAnimes.removeFirst();
-			} else {
-				anime = Utils.getRandomEntry(animes);
+			WeightManager weights = Main.getWeightManager();
+
+			String anime;
+			synchronized (lastAnimes) {
+				List<String> animes = weights.getSpawnAnimes(rarity, lastAnimes, lastCards);
+				if (animes.isEmpty()) {
+					anime = lastAnimes.pollFirst();
+					if (anime == null) return null;
+				} else {
+					anime = Utils.getRandomEntry(animes);
+				}
+				lastAnimes.add(anime);
 			}
-			lastAnimes.add(anime);
 
 			RandomList<Card> cards = new RandomList<>(rarityBonus);
-			for (Card c : anime.getCards()) {
-				if (c.getRarity().getIndex() <= 0) continue;
-
-				cards.add(c, DAO.queryNative(Integer.class, "SELECT get_weight(?1, ?2)", c.getId(), u.getId()));
+			for (Card c : weights.getSpawnCards(anime)) {
+				cards.add(c, weights.getWeight(c.getId(), u.getId()));
 			}
 
 			Card chosen = cards.get();
 			if (chosen == null) return null;
 
-			lastCards.add(chosen);
+			synchronized (lastAnimes) {
+				lastCards.add(chosen.getId());
+			}
+
 			card = new KawaiponCard(chosen, Calc.chance(0.1 * rarityBonus));
 			spawnedCards.put(
 					channel.getId(),
@@ -110,8 +121,19 @@ public abstract class Spawn {
 		return card;
 	}
 
-	public synchronized static Drop getDrop(I18N locale, GuildBuff gb, GuildMessageChannel channel, User u) {
+	public static Drop getDrop(I18N locale, GuildBuff gb, GuildMessageChannel channel, User u) {
 		if (u == null || spawnedDrops.containsKey(channel.getId())) return null;
+		else if (!rolling.add("drop_" + channel.getId())) return null;
+
+		try {
+			return rollDrop(gb, channel);
+		} finally {
+			rolling.remove("drop_" + channel.getId());
+		}
+	}
+
+	private static Drop rollDrop(GuildBuff gb, GuildMessageChannel channel) {
+		if (spawnedDrops.containsKey(channel.getId())) return null;
 
 		double dropRate = 10 * (1.2 * Math.pow(Math.E, -0.001 * Math.min(channel.getGuild().getMemberCount(), 1000))) * (1 + gb.drop()) * getQuantityMult();
 		double rarityBonus = 1 * (1 + gb.rarity()) * getRarityMult();
@@ -120,7 +142,7 @@ public abstract class Spawn {
 		if (Calc.chance(dropRate)) {
 			RandomList<Rarity> rarities = new RandomList<>(rarityBonus);
 			for (Rarity r : Rarity.getActualRarities()) {
-				rarities.add(r, DAO.queryNative(Integer.class, "SELECT get_weight('KAWAIPON', ?1)", r.getIndex()));
+				rarities.add(r, WeightManager.getWeight("KAWAIPON", r.getIndex()));
 			}
 
 			Rarity rarity = rarities.get();
@@ -144,6 +166,27 @@ public abstract class Spawn {
 		return drop;
 	}
 
+	/**
+	 * Exact chance of each rarity being picked when a card spawns, for the given guild buff.
+	 */
+	public static Map<Rarity, Double> getRarityOdds(GuildBuff gb) {
+		double rarityBonus = 1 * (1 + gb.rarity()) * getRarityMult();
+
+		Rarity[] rarities = Rarity.getActualRarities();
+		double[] weights = new double[rarities.length];
+		for (int i = 0; i < weights.length; i++) {
+			weights[i] = WeightManager.getWeight("KAWAIPON", rarities[i].getIndex());
+		}
+
+		double[] odds = Odds.of("spawn", weights, rarityBonus);
+		Map<Rarity, Double> out = new EnumMap<>(Rarity.class);
+		for (int i = 0; i < odds.length; i++) {
+			out.put(rarities[i], odds[i]);
+		}
+
+		return out;
+	}
+
 	public static SingleUseReference<KawaiponCard> getSpawnedCard(GuildMessageChannel channel) {
 		return spawnedCards.getOrDefault(channel.getId(), new SingleUseReference<>(null));
 	}
@@ -153,13 +196,18 @@ public abstract class Spawn {
 	}
 
 	public static Pair<Integer, MoonIllumination> getIllumination() {
-		LocalDate now = LocalDate.now();
-		if (illum == null || illum.getFirst() != now.getDayOfYear()) {
-			MoonIllumination mi = MoonIllumination.compute().midnight().execute();
-			illum = new Pair<>(now.getDayOfYear(), mi);
-		}
+		int today = LocalDate.now().getDayOfYear();
+		Pair<Integer, MoonIllumination> out = illum;
+		if (out != null && out.getFirst() == today) return out;
+
+		synchronized (Spawn.class) {
+			if (illum == null || illum.getFirst() != today) {
+				MoonIllumination mi = MoonIllumination.compute().midnight().execute();
+				illum = new Pair<>(today, mi);
+			}
 
-		return illum;
+			return illum;
+		}
 	}
 
 	/*
@@ -27,84 +27,94 @@ import com.kuuhaku.model.records.FailedSyntax;
 import com.ygimenez.json.JSONArray;
 import com.ygimenez.json.JSONObject;
 import org.apache.commons.lang3.StringUtils;
-import org.intellij.lang.annotations.Language;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 public abstract class SyntaxParser {
 	private static final Pattern ARGUMENT_PATTERN = Pattern.compile("^<(?<name>[a-z]\\w*):(?<type>[a-z]+)(?<required>:[r])?>(?:\\[(?<options>[^\\[\\]]+)+])?$", Pattern.CASE_INSENSITIVE);
+	private static final Pattern SEPARATOR = Pattern.compile(" +");
+	private static final Map<Class<?>, Grammar> GRAMMARS = new ConcurrentHashMap<>();
+	private static final Grammar NONE = new Grammar(new Signature[0], false);
+
+	/**
+	 * A signature parameter, either a literal word or a typed argument with its matcher already resolved.
+	 */
+	private record Param(String literal, String name, Syntax.Type type, boolean required, Pattern pattern, List<String> options) {
+	}
+
+	private record Signature(String source, Param[] params) {
+	}
+
+	private record Grammar(Signature[] signatures, boolean allowEmpty) {
+	}
 
 	public static JSONObject parse(I18N locale, Executable command, String input) throws InvalidSyntaxException {
-		Syntax annot = command.getClass().getDeclaredAnnotation(Syntax.class);
-		if (annot == null) return new JSONObject();
+		Grammar grammar = compile(command.getClass());
+		if (grammar == NONE) return new JSONObject();
 
-		return parse(locale, annot.value(), annot.patterns(), annot.allowEmpty(), input);
+		return parse(locale, grammar, input);
 	}
 
 	public static JSONObject parse(I18N locale, String[] syntaxes, SigPattern[] patterns, boolean allowEmpty, String input) throws InvalidSyntaxException {
+		return parse(locale, compile(syntaxes, patterns, allowEmpty), input);
+	}
+
+	/**
+	 * Compiles the syntaxes without parsing anything, so invalid {@code custom} patterns are reported when they are
+	 * declared instead of silently never matching.
+	 */
+	public static void validate(String[] syntaxes, SigPattern[] patterns) throws PatternSyntaxException {
+		compile(syntaxes, patterns, false);
+	}
+
+	private static JSONObject parse(I18N locale, Grammar grammar, String input) throws InvalidSyntaxException {
 		JSONObject out = new JSONObject();
 		List<FailedSyntax> failed = new ArrayList<>();
+		String[] tokens = SEPARATOR.split(input);
 
 		List<String> supplied = new ArrayList<>();
-		for (String sig : syntaxes) {
-			List<String> args = new ArrayList<>(List.of(input.split(" +")));
-			String[] params = sig.split(" +");
+		for (Signature sig : grammar.signatures()) {
+			Param[] params = sig.params();
 			String[] failOpts = {};
 
-			int i = 0;
+			int pos = 0;
 			int matches = 0;
 			boolean fail = false;
-			for (String param : params) {
-				i++;
-				JSONObject groups = Utils.extractNamedGroups(param, ARGUMENT_PATTERN);
-				if (groups.isEmpty()) {
-					String s = args.removeFirst();
-					s = StringUtils.stripAccents(s);
-
-					if (s.equalsIgnoreCase(param)) {
+			for (Param param : params) {
+				if (param.literal() != null) {
+					if (pos >= tokens.length) throw new NoSuchElementException();
+					String s = StringUtils.stripAccents(tokens[pos++]);
+
+					if (s.equalsIgnoreCase(param.literal())) {
 						supplied.add(s);
 						matches++;
 					} else {
 						fail = true;
-						supplied.add(param);
+						supplied.add(param.literal());
 					}
 					continue;
 				}
 
-				String name = groups.getString("name");
-				boolean required = groups.has("required");
+				String name = param.name();
+				boolean required = param.required();
 				String wrap = required ? "[%s]" : "%s";
+				boolean empty = pos >= tokens.length;
 
-				if (args.isEmpty() && required) {
+				if (empty && required) {
 					fail = true;
 					supplied.add(wrap.formatted("> " + locale.get("syntax/" + name) + " <"));
 					continue;
 				}
 
-				Syntax.Type type = groups.getEnum(Syntax.Type.class, "type");
+				Syntax.Type type = param.type();
 				if (type == Syntax.Type.TEXT) {
-					if (!args.isEmpty()) {
-						if (out.has(name)) {
-							JSONArray arr;
-							if (out.get(name) instanceof List<?> ls) {
-								arr = new JSONArray(ls);
-							} else {
-								arr = new JSONArray();
-								Object curr = out.get(name);
-								arr.add(curr);
-							}
-							arr.add(String.join(" ", args));
-
-							out.put(name, arr);
-						} else {
-							out.put(name, String.join(" ", args));
-						}
-
-						args.clear();
+					if (!empty) {
+						append(out, name, String.join(" ", Arrays.copyOfRange(tokens, pos, tokens.length)));
+						pos = tokens.length;
 						matches++;
 					} else if (required) {
 						fail = true;
@@ -114,30 +124,18 @@ public abstract class SyntaxParser {
 					String token = null;
 					List<String> opts = List.of();
 
-					if (!args.isEmpty()) {
+					if (!empty) {
 						if (!fail) {
-							String arg = args.getFirst();
+							String arg = tokens[pos];
 
 							if (type == Syntax.Type.CUSTOM) {
-								@Language("RegExp") String opt = groups.getString("options", "");
-								@Language("RegExp") String pattern = opt;
-								if (patterns != null) {
-									pattern = "^" + Arrays.stream(patterns).parallel()
-											.filter(p -> p.id().equals(opt))
-											.map(SigPattern::value)
-											.findAny().orElse(opt);
-								}
-
-								if (Utils.match(arg, pattern)) {
+								if (param.pattern() != null && param.pattern().matcher(arg).matches()) {
 									token = arg;
 								}
 							} else {
-								opts = Arrays.stream(groups.getString("options", "").split(","))
-										.filter(s -> !s.isBlank())
-										.map(String::toLowerCase)
-										.toList();
+								opts = param.options();
 
-								if (Utils.match(arg, type.getPattern())) {
+								if (param.pattern().matcher(arg).matches()) {
 									token = arg;
 									if (!opts.isEmpty() && !opts.contains(token.toLowerCase())) {
 										token = null;
@@ -147,7 +145,7 @@ public abstract class SyntaxParser {
 						}
 
 						if (token != null) {
-							args.removeFirst();
+							pos++;
 							token = StringUtils.stripAccents(token);
 
 							if (type.validate(token)) {
@@ -156,22 +154,7 @@ public abstract class SyntaxParser {
 									case USER, ROLE -> token = token.replaceAll("[<@!>]", "");
 								}
 
-								if (out.has(name)) {
-									JSONArray arr;
-									if (out.get(name) instanceof List<?> ls) {
-										arr = new JSONArray(ls);
-									} else {
-										arr = new JSONArray();
-										Object curr = out.get(name);
-										arr.add(curr);
-									}
-									arr.add(token);
-
-									out.put(name, arr);
-								} else {
-									out.put(name, token);
-								}
-
+								append(out, name, token);
 								supplied.add(token);
 								matches++;
 							}
@@ -200,9 +183,9 @@ public abstract class SyntaxParser {
 			}
 		}
 
-		if (allowEmpty) return new JSONObject();
+		if (grammar.allowEmpty()) return new JSONObject();
 		else {
-			int argLength = input.split(" +").length;
+			int argLength = tokens.length;
 			FailedSyntax first = failed.stream().max(
 					Comparator.comparingInt(FailedSyntax::matches)
 							.thenComparing(fs -> fs.numArgs() - argLength, Comparator.reverseOrder())
@@ -211,24 +194,46 @@ public abstract class SyntaxParser {
 		}
 	}
 
+	private static void append(JSONObject out, String name, String value) {
+		if (out.has(name)) {
+			JSONArray arr;
+			if (out.get(name) instanceof List<?> ls) {
+				arr = new JSONArray(ls);
+			} else {
+				arr = new JSONArray();
+				Object curr = out.get(name);
+				arr.add(curr);
+			}
+			arr.add(value);
+
+			out.put(name, arr);
+		} else {
+			out.put(name, value);
+		}
+	}
+
 	public static List<String> extract(I18N locale, Executable command) {
 		if (command == null) return List.of();
 
-		Syntax annot = command.getClass().getDeclaredAnnotation(Syntax.class);
-		if (annot == null) return List.of();
+		Grammar grammar = compile(command.getClass());
+		if (grammar == NONE) return List.of();
 
-		return extract(locale, annot.value(), annot.allowEmpty());
+		return extract(locale, grammar);
 	}
 
 	public static List<String> extract(I18N locale, String[] syntaxes, boolean allowEmpty) {
-		List<String> out = new ArrayList<>();
 		if (syntaxes == null) return List.of("%1$s%2$s");
 
-		if (allowEmpty) {
+		return extract(locale, compile(syntaxes, null, allowEmpty));
+	}
+
+	private static List<String> extract(I18N locale, Grammar grammar) {
+		List<String> out = new ArrayList<>();
+		if (grammar.allowEmpty()) {
 			out.add("%1$s%2$s");
 		} else {
-			for (String sig : syntaxes) {
-				if (!Utils.regex(sig, ":r>").find()) {
+			for (Signature sig : grammar.signatures()) {
+				if (!sig.source().contains(":r>")) {
 					out.add("%1$s%2$s");
 					break;
 				}
@@ -236,41 +241,30 @@ public abstract class SyntaxParser {
 		}
 
 		List<String> supplied = new ArrayList<>();
-		for (String sig : syntaxes) {
-			String[] args = sig.split(" +");
+		for (Signature sig : grammar.signatures()) {
+			Param[] params = sig.params();
 
 			supplied.add("%1$s%2$s");
-			for (String arg : args) {
-				JSONObject groups = Utils.extractNamedGroups(arg, ARGUMENT_PATTERN);
-				if (groups.isEmpty()) {
-					supplied.add(arg);
+			for (Param param : params) {
+				if (param.literal() != null) {
+					supplied.add(param.literal());
 					continue;
 				}
 
-				String name = groups.getString("name");
-				String type = groups.getString("type");
-				String opt = groups.getString("options");
-				boolean required = groups.has("required");
 				String wrap = "%s";
-
-				if (!opt.isBlank() && !type.equalsIgnoreCase(Syntax.Type.CUSTOM.name())) {
-					List<String> opts = Arrays.stream(groups.getString("options", "").split(","))
-							.filter(s -> !s.isBlank())
-							.map(String::toLowerCase)
-							.toList();
-
-					wrap = String.join("|", opts);
+				if (!param.options().isEmpty()) {
+					wrap = String.join("|", param.options());
 				}
 
-				if (type.equalsIgnoreCase(Syntax.Type.TEXT.name()) && supplied.size() < args.length - 1) {
+				if (param.type() == Syntax.Type.TEXT && supplied.size() < params.length - 1) {
 					wrap = "\"" + wrap + "\"";
 				}
 
-				if (required) {
+				if (param.required()) {
 					wrap = "[" + wrap + "]";
 				}
 
-				supplied.add(wrap.formatted(locale.get("syntax/" + name)));
+				supplied.add(wrap.formatted(locale.get("syntax/" + param.name())));
 			}
 
 			out.add(String.join(" ", supplied));
@@ -279,4 +273,61 @@ public abstract class SyntaxParser {
 
 		return out;
 	}
+
+	private static Grammar compile(Class<?> klass) {
+		return GRAMMARS.computeIfAbsent(klass, k -> {
+			Syntax annot = k.getDeclaredAnnotation(Syntax.class);
+			if (annot == null) return NONE;
+
+			return compile(annot.value(), annot.patterns(), annot.allowEmpty());
+		});
+	}
+
+	private static Grammar compile(String[] syntaxes, SigPattern[] patterns, boolean allowEmpty) {
+		Signature[] sigs = new Signature[syntaxes.length];
+		for (int i = 0; i < syntaxes.length; i++) {
+			String[] parts = SEPARATOR.split(syntaxes[i]);
+
+			Param[] params = new Param[parts.length];
+			for (int j = 0; j < parts.length; j++) {
+				params[j] = compile(parts[j], patterns);
+			}
+
+			sigs[i] = new Signature(syntaxes[i], params);
+		}
+
+		return new Grammar(sigs, allowEmpty);
+	}
+
+	private static Param compile(String param, SigPattern[] patterns) {
+		Matcher m = ARGUMENT_PATTERN.matcher(param);
+		if (!m.matches()) {
+			return new Param(param, null, null, false, null, List.of());
+		}
+
+		Syntax.Type type = Syntax.Type.valueOf(m.group("type").toUpperCase());
+		String opt = Utils.getOr(m.group("options"), "");
+
+		Pattern pattern = null;
+		List<String> options = List.of();
+		if (type == Syntax.Type.CUSTOM) {
+			String regex = opt;
+			if (patterns != null) {
+				regex = "^" + Arrays.stream(patterns)
+						.filter(p -> p.id().equals(opt))
+						.map(SigPattern::value)
+						.findFirst().orElse(opt);
+			}
+
+			pattern = Pattern.compile(regex, Pattern.MULTILINE);
+		} else {
+			pattern = type.getPattern();
+			options = Arrays.stream(opt.split(","))
+					.filter(s -> !s.isBlank())
+					.map(String::toLowerCase)
+					.toList();
+		}
+
+		return new Param(null, m.group("name"), type, m.group("required") != null, pattern, options);
+	}
 }
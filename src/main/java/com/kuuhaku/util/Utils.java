@@ -836,6 +836,10 @@ public abstract class Utils {
 		return match;
 	}
 
+	public static String didYouMeanCard(String word) {
+		return Main.getSuggestionManager().suggestCard(word);
+	}
+
 	public static String didYouMean(String word, @Language("PostgreSQL") String query, Object... params) {
 		return DAO.queryNative(String.class, """
 				SELECT x."value"
@@ -1007,7 +1011,7 @@ public abstract class Utils {
 				return script.run();
 			} finally {
 				int runtime = Math.toIntExact(Duration.between(start, Instant.now()).toMillis());
-				new ScriptMetrics(issuer, code, runtime).save();
+				Main.getMetricsManager().offer(new ScriptMetrics(issuer, code, runtime));
 			}
 		}
 	}
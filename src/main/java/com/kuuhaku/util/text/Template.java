@@ -0,0 +1,148 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.util.text;
+
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.List;
+import java.util.Locale;
+import java.util.MissingFormatArgumentException;
+
+/**
+ * A format string split once into literal and argument segments.
+ * <br>
+ * Only {@code %s}, {@code %S}, their indexed forms and {@code %%} are handled here, any other specifier makes
+ * the template defer to {@link String#formatted}, as does any {@link Formattable} argument.
+ */
+public final class Template {
+	private final String source;
+	private final String[] literals;
+	private final String[] specs;
+	private final int[] indexes;
+	private final boolean[] upper;
+	private final boolean fallback;
+
+	private Template(String source, String[] literals, String[] specs, int[] indexes, boolean[] upper, boolean fallback) {
+		this.source = source;
+		this.literals = literals;
+		this.specs = specs;
+		this.indexes = indexes;
+		this.upper = upper;
+		this.fallback = fallback;
+	}
+
+	public static Template of(String source) {
+		List<String> literals = new ArrayList<>();
+		List<String> specs = new ArrayList<>();
+		List<Integer> indexes = new ArrayList<>();
+		List<Boolean> upper = new ArrayList<>();
+
+		StringBuilder sb = new StringBuilder();
+		int ordinary = 0;
+		int i = 0;
+		while (i < source.length()) {
+			char c = source.charAt(i);
+			if (c != '%') {
+				sb.append(c);
+				i++;
+				continue;
+			}
+
+			int start = i++;
+			if (i < source.length() && source.charAt(i) == '%') {
+				sb.append('%');
+				i++;
+				continue;
+			}
+
+			int index = 0;
+			int digits = i;
+			while (i < source.length() && Character.isDigit(source.charAt(i))) {
+				index = index * 10 + (source.charAt(i++) - '0');
+			}
+
+			if (i > digits) {
+				if (index == 0 || i >= source.length() || source.charAt(i) != '$') {
+					return new Template(source, null, null, null, null, true);
+				}
+
+				i++;
+			} else {
+				index = ++ordinary;
+			}
+
+			if (i >= source.length() || (source.charAt(i) != 's' && source.charAt(i) != 'S')) {
+				return new Template(source, null, null, null, null, true);
+			}
+
+			upper.add(source.charAt(i++) == 'S');
+			indexes.add(index - 1);
+			specs.add(source.substring(start, i));
+			literals.add(sb.toString());
+			sb.setLength(0);
+		}
+		literals.add(sb.toString());
+
+		boolean[] up = new boolean[upper.size()];
+		for (int j = 0; j < up.length; j++) {
+			up[j] = upper.get(j);
+		}
+
+		return new Template(
+				source,
+				literals.toArray(String[]::new),
+				specs.toArray(String[]::new),
+				indexes.stream().mapToInt(Integer::intValue).toArray(),
+				up, false
+		);
+	}
+
+	public String getSource() {
+		return source;
+	}
+
+	public String format(Object... args) {
+		if (fallback) return source.formatted(args);
+		else if (indexes.length == 0) return literals[0];
+
+		StringBuilder sb = new StringBuilder(source.length() + indexes.length * 16);
+		for (int i = 0; i < indexes.length; i++) {
+			sb.append(literals[i]);
+
+			int idx = indexes[i];
+			if (idx >= args.length) {
+				throw new MissingFormatArgumentException(specs[i]);
+			}
+
+			Object arg = args[idx];
+			if (arg instanceof Formattable) return source.formatted(args);
+
+			String val = String.valueOf(arg);
+			sb.append(upper[i] ? val.toUpperCase(Locale.getDefault(Locale.Category.FORMAT)) : val);
+		}
+		sb.append(literals[indexes.length]);
+
+		return sb.toString();
+	}
+
+	@Override
+	public String toString() {
+		return source;
+	}
+}
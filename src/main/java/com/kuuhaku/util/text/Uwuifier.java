@@ -25,6 +25,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.validator.routines.UrlValidator;
 
 import java.util.List;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 public class Uwuifier {
@@ -43,13 +44,17 @@ public class Uwuifier {
             "str/uwu_screech", "str/uwu_stare", "str/uwu_hug",
             "str/uwu_smile"
     };
-    private static final List<Pair<String, String>> exp = List.of(
-            Pair.of("[rl]", "w"),
-            Pair.of("[RL]", "W"),
-            Pair.of("n([AEIOUaeiou])", "ny$1"),
-            Pair.of("N([AEIOUaeiou])", "Ny$1"),
-            Pair.of("ove", "uv")
+    private static final List<Pair<Pattern, String>> exp = List.of(
+            Pair.of(Pattern.compile("[rl]"), "w"),
+            Pair.of(Pattern.compile("[RL]"), "W"),
+            Pair.of(Pattern.compile("n([AEIOUaeiou])"), "ny$1"),
+            Pair.of(Pattern.compile("N([AEIOUaeiou])"), "Ny$1"),
+            Pair.of(Pattern.compile("ove"), "uv")
     );
+    private static final Pattern WORD_SPLIT = Pattern.compile("(?<=\\S) +");
+    private static final Pattern SKIPPED = Pattern.compile(":.+:|<.+>|\\{.+}|`.+`");
+    private static final Pattern PUNCTUATION = Pattern.compile("[!?.]");
+    private static final Pattern SPACE = Pattern.compile(" ([A-z])");
 
     private final double faceFac;
     private final double actionFac;
@@ -72,23 +77,21 @@ public class Uwuifier {
     public String uwu(I18N locale, String text) {
         return text.lines()
                 .map(l -> {
-                    String[] words = l.split("(?<=\\S) +");
+                    String[] words = WORD_SPLIT.split(l);
                     for (int j = 0; j < words.length; j++) {
                         String word = words[j];
                         if (UrlValidator.getInstance().isValid(word) || word.contains("://")) continue;
-                        else if (word.matches(":.+:|<.+>|\\{.+}|`.+`")) continue;
+                        else if (SKIPPED.matcher(word).matches()) continue;
 
-                        for (Pair<String, String> p : exp) {
-                            word = word.replaceAll(p.getLeft(), p.getRight());
+                        for (Pair<Pattern, String> p : exp) {
+                            word = p.getLeft().matcher(word).replaceAll(p.getRight());
                         }
 
-                        words[j] = word.replaceAll("[!?.]", Utils.getRandomEntry(punctuation));
+                        words[j] = PUNCTUATION.matcher(word).replaceAll(Utils.getRandomEntry(punctuation));
                     }
 
-                    String out = String.join(" ", words);
-                    while (Utils.regex(out, " [A-z]").find()) {
-                        out = out.replaceFirst(" ([A-z])", replaceSpace(locale.getParent()));
-                    }
+                    String out = SPACE.matcher(String.join(" ", words))
+                            .replaceAll(m -> replaceSpace(locale.getParent()));
 
                     return out.replace("§", " ");
                 })
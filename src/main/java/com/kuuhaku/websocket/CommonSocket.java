@@ -36,9 +36,7 @@ import com.kuuhaku.model.persistent.shiro.Card;
 import com.kuuhaku.model.persistent.shoukan.Deck;
 import com.kuuhaku.model.persistent.shoukan.Evogear;
 import com.kuuhaku.model.persistent.shoukan.Field;
-import com.kuuhaku.model.persistent.shoukan.Senshi;
 import com.kuuhaku.model.persistent.user.Account;
-import com.kuuhaku.util.Bit32;
 import com.kuuhaku.util.IO;
 import com.kuuhaku.util.Utils;
 import com.ygimenez.json.JSONObject;
@@ -59,17 +57,22 @@ import java.net.URISyntaxException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.HexFormat;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 public class CommonSocket extends WebSocketClient {
 	private static final ScheduledExecutorService RECON = Executors.newSingleThreadScheduledExecutor();
+	private static final DeliverablePool POOL = new DeliverablePool();
 	private static final String TOKEN = DAO.queryNative(String.class, "SELECT token FROM access_token WHERE bearer = 'shiro'");
 	private int retry = 0;
 
+	static {
+		RECON.scheduleAtFixedRate(POOL::report, 1, 1, TimeUnit.MINUTES);
+	}
+
 	public CommonSocket(String address) throws URISyntaxException {
 		super(new URI(address));
 	}
@@ -167,91 +170,110 @@ public class CommonSocket extends WebSocketClient {
 		);
 
 		byte[] key = HexFormat.of().parseHex(payload.getString("key"));
-		switch (payload.getString("channel").toLowerCase()) {
+		String channel = payload.getString("channel").toLowerCase();
+		I18N locale = payload.getEnum(I18N.class, "locale");
+
+		CompletableFuture<byte[]> task = switch (channel) {
 			case "shoukan" -> {
 				String id = payload.getString("card");
-				List<CardType> types = List.copyOf(Bit32.toEnumSet(CardType.class, DAO.queryNative(Integer.class, "SELECT get_type(?1)", id)));
-				if (types.isEmpty()) {
-					deliver(key, new byte[0]);
-					return;
-				}
-
-				Drawable<?> d = switch (types.getLast()) {
-					case EVOGEAR -> DAO.find(Evogear.class, id);
-					case FIELD -> DAO.find(Field.class, id);
-					default -> DAO.find(Senshi.class, id);
-				};
+				FrameSkin frame = payload.getEnum(FrameSkin.class, "frame");
 
-				Deck dk = new Deck();
-				dk.getStyling().setFrame(payload.getEnum(FrameSkin.class, "frame"));
-
-				deliver(key, IO.getBytes(d.render(payload.getEnum(I18N.class, "locale"), dk), "png"));
+				String content = String.join(":", channel, id, String.valueOf(frame), String.valueOf(locale));
+				yield POOL.submit(content, () -> renderCard(id, frame, locale, content));
 			}
 			case "card_info" -> {
 				String id = payload.getString("card");
-				I18N locale = payload.getEnum(I18N.class, "locale");
-				Card c = DAO.find(Card.class, id);
-
-				JSONObject out = JSONObject.of(
-						Map.entry("id", id),
-						Map.entry("name", c.getName()),
-						Map.entry("rarity", locale.get("rarity/" + c.getRarity()))
-				);
-
-				List<CardType> types = List.copyOf(Bit32.toEnumSet(CardType.class, DAO.queryNative(Integer.class, "SELECT get_type(?1)", id)));
-				if (!types.isEmpty()) {
-					CardType type = types.getLast();
-					Drawable<?> d = switch (type) {
-						case EVOGEAR -> c.asEvogear();
-						case FIELD -> c.asField();
-						default -> c.asSenshi();
-					};
-
-					out.put("shoukan", JSONObject.of(
-							Map.entry("type_id", type.name()),
-							Map.entry("type", locale.get("type/" + type)),
-							Map.entry("tags", d.getTags(locale)),
-							Map.entry("tier", d instanceof Evogear e ? e.getTier() : 0),
-							Map.entry("field", d instanceof Field f ? JSONObject.of(
-									Map.entry("type", f.getType().name()),
-									Map.entry("description", locale.get("field/" + f.getType() + "_desc")),
-									Map.entry("modifiers", f.getModifiers())
-							) : new JSONObject()),
-							Map.entry("description", d instanceof EffectHolder<?> eh ? JSONObject.of(
-									Map.entry("raw", eh.getBase().getDescription(locale)),
-									Map.entry("parsed_md", eh.getReadableDescription(locale)),
-									Map.entry("parsed_html", MDTool.markdown2Html(eh.getReadableDescription(locale))),
-									Map.entry("display", eh.getDescription(locale))
-							) : new JSONObject()),
-							Map.entry("cost", JSONObject.of(
-									Map.entry("mana", d.getMPCost()),
-									Map.entry("life", d.getHPCost()),
-									Map.entry("sacrifices", d.getSCCost())
-							)),
-							Map.entry("attributes", JSONObject.of(
-									Map.entry("attack", d.getDmg()),
-									Map.entry("defense", d.getDfs()),
-									Map.entry("dodge", d.getDodge()),
-									Map.entry("block", d.getParry())
-							))
-					));
-				}
 
-				deliver(key, out.toString());
+				String content = String.join(":", channel, id, String.valueOf(locale));
+				yield POOL.submit(content, () -> getCardInfo(id, locale).getBytes(StandardCharsets.UTF_8));
 			}
 			case "i18n" -> {
-				I18N locale = payload.getEnum(I18N.class, "locale");
 				if (locale == null) {
 					deliver(key, payload.getString("key"));
-					return;
+					yield null;
 				}
 
-				deliver(key, locale.get(
-						payload.getString("str"),
-						(Object[]) payload.getString("params").split(",")
-				));
+				String str = payload.getString("str");
+				String params = payload.getString("params");
+
+				String content = String.join(":", channel, locale.name(), str, params);
+				yield POOL.submit(content, () -> locale.get(str, (Object[]) params.split(",")).getBytes(StandardCharsets.UTF_8));
+			}
+			default -> null;
+		};
+
+		if (task == null) return;
+		task.whenComplete((content, t) -> {
+			try {
+				if (t != null) {
+					Constants.LOGGER.error("Failed to process {} deliverable", channel, t);
+					deliver(key, new byte[0]);
+				} else {
+					deliver(key, content);
+				}
+			} catch (WebsocketNotConnectedException ignore) {
 			}
+		});
+	}
+
+	private byte[] renderCard(String id, FrameSkin frame, I18N locale, String content) {
+		CardType type = Main.getCatalogManager().getType(id);
+		if (type == null) return new byte[0];
+
+		return POOL.render(content, () -> {
+			Drawable<?> d = Main.getCatalogManager().getCard(type, id);
+
+			Deck dk = new Deck();
+			dk.getStyling().setFrame(frame);
+
+			return IO.getBytes(d.render(locale, dk), "png");
+		});
+	}
+
+	private String getCardInfo(String id, I18N locale) {
+		Card c = DAO.find(Card.class, id);
+
+		JSONObject out = JSONObject.of(
+				Map.entry("id", id),
+				Map.entry("name", c.getName()),
+				Map.entry("rarity", locale.get("rarity/" + c.getRarity()))
+		);
+
+		CardType type = Main.getCatalogManager().getType(id);
+		if (type != null) {
+			Drawable<?> d = Main.getCatalogManager().getCard(type, id);
+
+			out.put("shoukan", JSONObject.of(
+					Map.entry("type_id", type.name()),
+					Map.entry("type", locale.get("type/" + type)),
+					Map.entry("tags", d.getTags(locale)),
+					Map.entry("tier", d instanceof Evogear e ? e.getTier() : 0),
+					Map.entry("field", d instanceof Field f ? JSONObject.of(
+							Map.entry("type", f.getType().name()),
+							Map.entry("description", locale.get("field/" + f.getType() + "_desc")),
+							Map.entry("modifiers", f.getModifiers())
+					) : new JSONObject()),
+					Map.entry("description", d instanceof EffectHolder<?> eh ? JSONObject.of(
+							Map.entry("raw", eh.getBase().getDescription(locale)),
+							Map.entry("parsed_md", eh.getReadableDescription(locale)),
+							Map.entry("parsed_html", MDTool.markdown2Html(eh.getReadableDescription(locale))),
+							Map.entry("display", eh.getDescription(locale))
+					) : new JSONObject()),
+					Map.entry("cost", JSONObject.of(
+							Map.entry("mana", d.getMPCost()),
+							Map.entry("life", d.getHPCost()),
+							Map.entry("sacrifices", d.getSCCost())
+					)),
+					Map.entry("attributes", JSONObject.of(
+							Map.entry("attack", d.getDmg()),
+							Map.entry("defense", d.getDfs()),
+							Map.entry("dodge", d.getDodge()),
+							Map.entry("block", d.getParry())
+					))
+			));
 		}
+
+		return out.toString();
 	}
 
 	@Override
@@ -0,0 +1,145 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.websocket;
+
+import com.kuuhaku.Constants;
+import com.kuuhaku.Main;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded worker pool for socket deliverables.
+ * <p>
+ * Identical requests in flight share a single computation. Once the queue is full the socket thread runs the
+ * task itself, which stops it from reading further messages until workers catch up.
+ */
+public class DeliverablePool {
+	private static final int QUEUE_SIZE = 256;
+
+	private final ThreadPoolExecutor exec;
+	private final Map<String, CompletableFuture<byte[]>> inflight = new ConcurrentHashMap<>();
+
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder deduplicated = new LongAdder();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder renders = new LongAdder();
+	private final LongAdder renderTime = new LongAdder();
+	private final AtomicLong maxRenderTime = new AtomicLong();
+
+	public DeliverablePool() {
+		int threads = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+		exec = new ThreadPoolExecutor(
+				threads, threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(QUEUE_SIZE),
+				Thread.ofPlatform().name("deliverable-", 0).daemon().factory(),
+				new ThreadPoolExecutor.CallerRunsPolicy()
+		);
+	}
+
+	/**
+	 * Runs a task on the pool, or joins the execution of an identical one if it's still in flight.
+	 *
+	 * @param key  Identifies the deliverable's content, not the request
+	 * @param task Produces the deliverable
+	 */
+	public CompletableFuture<byte[]> submit(String key, Supplier<byte[]> task) {
+		requests.increment();
+
+		CompletableFuture<byte[]> created = new CompletableFuture<>();
+		CompletableFuture<byte[]> running = inflight.putIfAbsent(key, created);
+		if (running != null) {
+			deduplicated.increment();
+			return running;
+		}
+
+		try {
+			exec.execute(() -> {
+				try {
+					created.complete(task.get());
+				} catch (Throwable t) {
+					created.completeExceptionally(t);
+				} finally {
+					inflight.remove(key, created);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			inflight.remove(key, created);
+			created.completeExceptionally(e);
+		}
+
+		return created;
+	}
+
+	/**
+	 * Returns a cached render for the key, rendering and caching it if needed.
+	 */
+	public byte[] render(String key, Supplier<byte[]> renderer) {
+		byte[] png = Main.getCacheManager().getRender(key);
+		if (png != null) {
+			hits.increment();
+			return png;
+		}
+
+		long start = System.nanoTime();
+		png = renderer.get();
+
+		long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		renders.increment();
+		renderTime.add(time);
+		maxRenderTime.accumulateAndGet(time, Math::max);
+
+		Main.getCacheManager().putRender(key, png);
+		return png;
+	}
+
+	public int getQueueDepth() {
+		return exec.getQueue().size();
+	}
+
+	public int getInFlight() {
+		return inflight.size();
+	}
+
+	public double getHitRate() {
+		long h = hits.sum();
+		long total = h + renders.sum();
+
+		return total == 0 ? 0 : (double) h / total;
+	}
+
+	public void report() {
+		long req = requests.sumThenReset();
+		if (req == 0) return;
+
+		long h = hits.sumThenReset();
+		long count = renders.sumThenReset();
+		long time = renderTime.sumThenReset();
+		long max = maxRenderTime.getAndSet(0);
+
+		Constants.LOGGER.info("Deliverables: {} requests ({} deduplicated), {} queued, {}% render cache hits, {} renders averaging {}ms (max {}ms)",
+				req, deduplicated.sumThenReset(), getQueueDepth(),
+				h + count == 0 ? 0 : h * 100 / (h + count),
+				count, count == 0 ? 0 : time / count, max
+		);
+	}
+}
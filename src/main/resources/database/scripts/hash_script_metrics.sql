@@ -0,0 +1,45 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+DO
+$body$
+BEGIN
+    IF EXISTS(
+        SELECT 1
+        FROM information_schema.columns
+        WHERE table_schema = current_schema()
+          AND table_name = 'script_metrics'
+          AND column_name = 'script'
+    ) THEN
+        INSERT INTO script_source (hash, script)
+        SELECT DISTINCT ON (x.hash) x.hash, x.script
+        FROM (
+             SELECT encode(sha256(convert_to(script, 'UTF8')), 'hex') AS hash
+                  , script
+             FROM script_metrics
+             ) x
+        ON CONFLICT DO NOTHING;
+
+        UPDATE script_metrics
+        SET script_hash = encode(sha256(convert_to(script, 'UTF8')), 'hex')
+        WHERE script_hash IS NULL;
+
+        ALTER TABLE script_metrics DROP COLUMN script;
+    END IF;
+END
+$body$;
@@ -0,0 +1,171 @@
+/*
+ * This file is part of Shiro J Bot.
+ * Copyright (C) 2019-2023  Yago Gimenez (KuuHaKu)
+ *
+ * Shiro J Bot is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Shiro J Bot is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Shiro J Bot.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.kuuhaku.manager;
+
+import com.kuuhaku.model.enums.CardType;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the order book the way {@link com.kuuhaku.model.common.Market#buy} and
+ * {@link com.kuuhaku.model.persistent.user.MarketOrder#search()} do, with an in-memory ledger standing in for the
+ * database: claim the offer, settle (which, like the row-locked transaction, refuses offers already sold), release,
+ * and re-list it if the sale didn't go through.
+ */
+public class MarketManagerTest {
+	private static final String CARD = "CARD";
+	private static final int OFFERS = 500;
+	private static final int BUYERS = 8;
+
+	private static MarketManager newBook() {
+		return new MarketManager(card -> new Object[]{card, "ANIME", "COMMON", false, null, false});
+	}
+
+	private static void list(MarketManager book, int id, int price) {
+		book.update(id, CARD, CardType.KAWAIPON, "seller" + (id % 10), price, false, true);
+	}
+
+	@Test
+	public void concurrentBuyersNeverShareAnOffer() throws Exception {
+		MarketManager book = newBook();
+		Map<Integer, Integer> prices = new ConcurrentHashMap<>();
+		for (int i = 1; i <= OFFERS; i++) {
+			prices.put(i, 1 + i % 50);
+			list(book, i, prices.get(i));
+		}
+
+		Map<Integer, String> sold = new ConcurrentHashMap<>();
+		Map<Integer, AtomicInteger> selling = new ConcurrentHashMap<>();
+		AtomicInteger overlaps = new AtomicInteger();
+
+		ExecutorService exec = Executors.newFixedThreadPool(BUYERS + 1);
+		List<Future<?>> tasks = new ArrayList<>();
+		for (int t = 0; t < BUYERS; t++) {
+			String buyer = "buyer" + t;
+			tasks.add(exec.submit(() -> {
+				ThreadLocalRandom rng = ThreadLocalRandom.current();
+				while (sold.size() < OFFERS) {
+					int id = book.findOffer(CARD, buyer, Integer.MAX_VALUE);
+					if (id == -1 || !book.claim(id)) {
+						Thread.onSpinWait();
+						continue;
+					}
+
+					AtomicInteger inFlight = selling.computeIfAbsent(id, k -> new AtomicInteger());
+					if (inFlight.incrementAndGet() > 1) {
+						overlaps.incrementAndGet();
+					}
+
+					LockSupport.parkNanos(rng.nextInt(20_000));
+					boolean settled = rng.nextInt(5) != 0 && sold.putIfAbsent(id, buyer) == null;
+
+					inFlight.decrementAndGet();
+					book.release(id);
+					if (!settled && !sold.containsKey(id)) {
+						list(book, id, prices.get(id));
+					}
+				}
+			}));
+		}
+
+		tasks.add(exec.submit(() -> {
+			while (sold.size() < OFFERS) {
+				book.beginRebuild();
+
+				List<Object[]> rows = new ArrayList<>();
+				for (int id = 1; id <= OFFERS; id++) {
+					if (!sold.containsKey(id)) {
+						rows.add(new Object[]{id, CARD, "KAWAIPON", "seller" + (id % 10), prices.get(id), true, false});
+					}
+				}
+
+				Set<Integer> stale = book.load(List.<Object[]>of(new Object[]{CARD, "ANIME", "COMMON", false, null, false}), rows, List.of());
+				for (int id : stale) {
+					if (!sold.containsKey(id)) {
+						list(book, id, prices.get(id));
+					}
+				}
+			}
+		}));
+
+		exec.shutdown();
+		assertTrue(exec.awaitTermination(1, TimeUnit.MINUTES), "Market stress test timed out");
+		for (Future<?> f : tasks) {
+			f.get();
+		}
+
+		assertEquals(0, overlaps.get(), "Two sales of the same offer were in progress at once");
+		assertEquals(OFFERS, sold.size());
+	}
+
+	@Test
+	public void rebuildSkipsOffersClaimedMidSale() {
+		MarketManager book = newBook();
+		list(book, 1, 10);
+		list(book, 2, 20);
+
+		List<Object[]> cards = List.<Object[]>of(new Object[]{CARD, "ANIME", "COMMON", false, null, false});
+		List<Object[]> rows = List.of(
+				new Object[]{1, CARD, "KAWAIPON", "seller1", 10, true, false},
+				new Object[]{2, CARD, "KAWAIPON", "seller2", 20, true, false}
+		);
+
+		book.beginRebuild();
+		assertTrue(book.claim(1));
+		assertEquals(Set.of(), book.load(cards, rows, List.of()));
+		assertEquals(2, book.findOffer(CARD, "buyer", 100));
+
+		list(book, 1, 10);
+		assertEquals(2, book.findOffer(CARD, "buyer", 100), "A claimed offer was listed again");
+
+		book.release(1);
+		assertEquals(Set.of(), book.load(cards, rows.subList(1, 2), List.of()));
+
+		book.beginRebuild();
+		assertTrue(book.claim(2));
+		book.release(2);
+		assertEquals(Set.of(2), book.load(cards, rows, List.of()));
+		assertEquals(1, book.findOffer(CARD, "buyer", 100));
+	}
+
+	@Test
+	public void findOfferFallsBackToTheNextOffer() {
+		MarketManager book = newBook();
+		list(book, 1, 10);
+		list(book, 2, 20);
+		list(book, 3, 30);
+
+		assertEquals(1, book.findOffer(CARD, "buyer", 25));
+		assertEquals(2, book.findOffer(CARD, "seller1", 25));
+
+		book.remove(1);
+		assertEquals(2, book.findOffer(CARD, "buyer", 25));
+
+		assertTrue(book.claim(2));
+		assertFalse(book.claim(2));
+		assertEquals(-1, book.findOffer(CARD, "buyer", 25));
+		assertEquals(3, book.findOffer(CARD, "buyer", 30));
+	}
+}